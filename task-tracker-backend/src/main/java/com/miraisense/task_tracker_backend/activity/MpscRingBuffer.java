@@ -0,0 +1,90 @@
+package com.miraisense.task_tracker_backend.activity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue.
+ * <p>
+ * Each slot carries a sequence number: a producer claims slot {@code p} by advancing the tail
+ * with a CAS when the slot's sequence equals {@code p}, stores the element, then publishes it by
+ * setting the sequence to {@code p + 1}. The consumer takes the slot once it sees {@code p + 1}
+ * and hands it back for the next lap by setting {@code p + capacity}. Producers never wait: when
+ * the buffer is full {@link #offer} returns false.
+ */
+final class MpscRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // written by the consumer thread only
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Safe to call from any thread; returns false if the buffer is full.
+     */
+    boolean offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long distance = sequences.get(slot) - position;
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (distance < 0) {
+                return false; // the consumer has not freed this slot yet
+            }
+            // distance > 0: another producer claimed the slot, retry with the new tail
+        }
+    }
+
+    /**
+     * Moves up to {@code max} elements into {@code into}; consumer thread only.
+     *
+     * @return the number of elements moved
+     */
+    int drainTo(List<T> into, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) head & mask;
+            if (sequences.get(slot) != head + 1) {
+                break; // empty, or the producer of this slot has not published yet
+            }
+            into.add(elements.get(slot));
+            elements.lazySet(slot, null);
+            sequences.set(slot, head + capacity());
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Approximate number of elements waiting.
+     */
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.miraisense.task_tracker_backend.activity;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a task's audit trail, as queued for the writer.
+ */
+record TaskActivity(Long taskId, Long userId, Long actorId, Action action, String changedFields, LocalDateTime occurredAt) {
+
+    enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
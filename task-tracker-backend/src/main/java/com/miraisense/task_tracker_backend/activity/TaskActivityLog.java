@@ -0,0 +1,200 @@
+package com.miraisense.task_tracker_backend.activity;
+
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Writes the {@code task_activity} audit trail.
+ * <p>
+ * After a task change commits, the request thread only appends an entry to a lock-free ring
+ * buffer; a scheduled writer drains it and inserts the entries in JDBC batches. The trail
+ * therefore lags task writes by up to {@code app.activity.flush-interval-ms}, and entries still
+ * buffered when the process dies are lost. When the buffer is full (the database is down or
+ * too slow) new entries are dropped and counted in {@code task.activity.dropped}, rather than
+ * slowing down or failing the task write. Each batch is split by the users' shards.
+ * <p>
+ * Entries a shard rejects are set aside and retried on the following flushes, up to
+ * {@code app.activity.max-attempts}, after which they are dropped (and counted) too. The other
+ * shards' entries keep being written meanwhile; draining only pauses while a buffer's worth of
+ * entries awaits retry.
+ */
+@Slf4j
+@Component
+public class TaskActivityLog {
+
+    private static final String INSERT = "INSERT INTO task_activity "
+            + "(task_id, user_id, actor_id, action, changed_fields, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final MpscRingBuffer<TaskActivity> buffer;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Counter dropped;
+    private final Counter written;
+
+    // Writer thread only: entries that failed to insert, by the shard they are for
+    private final Map<String, Unwritten> unwritten = new LinkedHashMap<>();
+
+    public TaskActivityLog(JdbcTemplate jdbcTemplate,
+            ShardRouter shardRouter,
+            MeterRegistry meterRegistry,
+            @Value("${app.activity.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${app.activity.batch-size:500}") int batchSize,
+            @Value("${app.activity.max-attempts:60}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.buffer = new MpscRingBuffer<>(Integer.highestOneBit(Math.max(2, bufferCapacity - 1)) << 1);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.dropped = meterRegistry.counter("task.activity.dropped");
+        this.written = meterRegistry.counter("task.activity.written");
+        Gauge.builder("task.activity.pending", buffer, MpscRingBuffer::size)
+                .description("Task activity entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskActivity activity = new TaskActivity(event.taskId(), event.userId(), event.actorId(),
+                TaskActivity.Action.valueOf(event.type().name()),
+                changedFields(event.previous(), event.current()), LocalDateTime.now());
+        if (!buffer.offer(activity)) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        retryUnwritten();
+        List<TaskActivity> batch = new ArrayList<>(Math.min(batchSize, buffer.capacity()));
+        // Entries awaiting retry are held in memory too: no more than the buffer would hold
+        while (unwrittenCount() < buffer.capacity() && buffer.drainTo(batch, batchSize) > 0) {
+            write(batch).forEach((shard, failed) ->
+                    unwritten.computeIfAbsent(shard, s -> new Unwritten()).activities.addAll(failed));
+            batch = new ArrayList<>(batch.size());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // One more attempt for each shard's set-aside entries, dropping those out of attempts
+    private void retryUnwritten() {
+        Iterator<Map.Entry<String, Unwritten>> shards = unwritten.entrySet().iterator();
+        while (shards.hasNext()) {
+            Map.Entry<String, Unwritten> entry = shards.next();
+            Unwritten retry = entry.getValue();
+            List<TaskActivity> failed = new ArrayList<>();
+            write(retry.activities).values().forEach(failed::addAll);
+            if (failed.isEmpty()) {
+                shards.remove();
+            } else if (++retry.attempts >= maxAttempts) {
+                shards.remove();
+                dropped.increment(failed.size());
+                log.error("Dropped {} task activity entries for shard {} after {} attempts",
+                        failed.size(), entry.getKey(), retry.attempts);
+            } else {
+                retry.activities.clear();
+                retry.activities.addAll(failed);
+            }
+        }
+    }
+
+    private int unwrittenCount() {
+        int count = 0;
+        for (Unwritten retry : unwritten.values()) {
+            count += retry.activities.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the entries that could not be written, by shard (the batch under "" if routing failed)
+     */
+    private Map<String, List<TaskActivity>> write(List<TaskActivity> batch) {
+        Map<String, List<TaskActivity>> failed = new LinkedHashMap<>();
+        int[] inserted = new int[1];
+        try {
+            shardRouter.groupByShard(batch, TaskActivity::userId).forEach((shard, activities) -> {
+                try {
+                    shardRouter.runOn(shard, () -> insert(activities));
+                    written.increment(activities.size());
+                    inserted[0] += activities.size();
+                } catch (RuntimeException e) {
+                    log.warn("Could not write {} task activity entries to shard {}, will retry: {}",
+                            activities.size(), shard, e.getMessage());
+                    failed.put(shard, activities);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not route {} task activity entries, will retry: {}", batch.size(), e.getMessage());
+            return Map.of("", batch);
+        }
+        log.debug("Wrote {} task activity entries", inserted[0]);
+        return failed;
+    }
+
+    private void insert(List<TaskActivity> activities) {
+        jdbcTemplate.batchUpdate(INSERT, activities, activities.size(), (ps, activity) -> {
+            ps.setLong(1, activity.taskId());
+            ps.setLong(2, activity.userId());
+            ps.setLong(3, activity.actorId());
+            ps.setString(4, activity.action().name());
+            ps.setString(5, activity.changedFields());
+            ps.setTimestamp(6, Timestamp.valueOf(activity.occurredAt()));
+        });
+    }
+
+    // Entries a shard failed to take, and how many flushes have retried them
+    private static final class Unwritten {
+        final List<TaskActivity> activities = new ArrayList<>();
+        int attempts;
+    }
+
+    private static String changedFields(TaskResponseDTO previous, TaskResponseDTO current) {
+        if (previous == null || current == null) {
+            return null;
+        }
+        StringJoiner fields = new StringJoiner(",");
+        if (!Objects.equals(previous.getTitle(), current.getTitle())) {
+            fields.add("title");
+        }
+        if (!Objects.equals(previous.getDescription(), current.getDescription())) {
+            fields.add("description");
+        }
+        if (previous.getStatus() != current.getStatus()) {
+            fields.add("status");
+        }
+        if (!Objects.equals(previous.getDueDate(), current.getDueDate())) {
+            fields.add("dueDate");
+        }
+        if (!Objects.equals(previous.getTags(), current.getTags())) {
+            fields.add("tags");
+        }
+        return fields.length() > 0 ? fields.toString() : null;
+    }
+}
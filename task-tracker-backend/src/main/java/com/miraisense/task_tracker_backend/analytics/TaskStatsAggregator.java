@@ -0,0 +1,150 @@
+package com.miraisense.task_tracker_backend.analytics;
+
+import com.miraisense.task_tracker_backend.event.TaskLifecycleEvent;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains {@code task_daily_stats} incrementally.
+ * <p>
+ * Lifecycle events are folded into per-(user, day) deltas in memory after the originating
+ * transaction commits; a scheduled flush writes all pending deltas as one JDBC batch of additive
+ * upserts (one per shard). Rollups therefore lag task writes by up to
+ * {@code app.analytics.flush-interval-ms}, and the request path never touches the rollup table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskStatsAggregator {
+
+    private static final String UPSERT = "INSERT INTO task_daily_stats "
+            + "(user_id, stats_date, created_count, completed_count, timed_completed_count, time_to_done_seconds) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "created_count = created_count + VALUES(created_count), "
+            + "completed_count = completed_count + VALUES(completed_count), "
+            + "timed_completed_count = timed_completed_count + VALUES(timed_completed_count), "
+            + "time_to_done_seconds = time_to_done_seconds + VALUES(time_to_done_seconds)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    private final Map<DayKey, DailyDelta> pending = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        switch (event.transition()) {
+            case CREATED -> {
+                if (event.createdAt() != null) {
+                    record(event.userId(), event.createdAt(), new DailyDelta(event.count(), 0, 0, 0));
+                }
+            }
+            case COMPLETED -> record(event.userId(), event.completedAt(), completion(event, 1));
+            case REOPENED -> {
+                // Undo the completion on the day it was counted; unknown for legacy tasks
+                if (event.completedAt() != null) {
+                    record(event.userId(), event.completedAt(), completion(event, -1));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // remove() is atomic per key, so deltas merged while flushing land in a fresh entry
+        List<Map.Entry<DayKey, DailyDelta>> batch = new ArrayList<>(pending.size());
+        for (DayKey key : pending.keySet()) {
+            DailyDelta delta = pending.remove(key);
+            if (delta != null && !delta.isEmpty()) {
+                batch.add(Map.entry(key, delta));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Map.Entry<DayKey, DailyDelta>>> byShard;
+        try {
+            byShard = shardRouter.groupByShard(batch, entry -> entry.getKey().userId());
+        } catch (RuntimeException e) {
+            retry(batch, e);
+            return;
+        }
+        byShard.forEach((shard, entries) -> {
+            try {
+                shardRouter.runOn(shard, () -> upsert(entries));
+                log.debug("Flushed {} task daily stats deltas", entries.size());
+            } catch (RuntimeException e) {
+                retry(entries, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void upsert(List<Map.Entry<DayKey, DailyDelta>> batch) {
+        jdbcTemplate.batchUpdate(UPSERT, batch, batch.size(), (ps, entry) -> {
+            DailyDelta delta = entry.getValue();
+            ps.setLong(1, entry.getKey().userId());
+            ps.setDate(2, Date.valueOf(entry.getKey().day()));
+            ps.setInt(3, delta.created());
+            ps.setInt(4, delta.completed());
+            ps.setInt(5, delta.timedCompleted());
+            ps.setLong(6, delta.timeToDoneSeconds());
+        });
+    }
+
+    // Keep the deltas for the next flush rather than losing them
+    private void retry(List<Map.Entry<DayKey, DailyDelta>> batch, RuntimeException e) {
+        batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), DailyDelta::plus));
+        log.warn("Could not flush {} task daily stats deltas, will retry: {}", batch.size(), e.getMessage());
+    }
+
+    private void record(Long userId, LocalDateTime at, DailyDelta delta) {
+        pending.merge(new DayKey(userId, at.toLocalDate()), delta, DailyDelta::plus);
+    }
+
+    private static DailyDelta completion(TaskLifecycleEvent event, int direction) {
+        int sign = direction * event.count();
+        if (event.createdAt() == null) {
+            return new DailyDelta(0, sign, 0, 0);
+        }
+        long seconds = Math.max(0, Duration.between(event.createdAt(), event.completedAt()).getSeconds());
+        return new DailyDelta(0, sign, sign, sign * seconds);
+    }
+
+    private record DayKey(Long userId, LocalDate day) {
+    }
+
+    private record DailyDelta(int created, int completed, int timedCompleted, long timeToDoneSeconds) {
+
+        DailyDelta plus(DailyDelta other) {
+            return new DailyDelta(created + other.created, completed + other.completed,
+                    timedCompleted + other.timedCompleted, timeToDoneSeconds + other.timeToDoneSeconds);
+        }
+
+        boolean isEmpty() {
+            return created == 0 && completed == 0 && timedCompleted == 0 && timeToDoneSeconds == 0;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.miraisense.task_tracker_backend.archive;
+
+import com.miraisense.task_tracker_backend.cache.TaskDataVersions;
+import com.miraisense.task_tracker_backend.event.TasksBulkChangedEvent;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+import static com.miraisense.task_tracker_backend.config.SchedulingConfig.BULK_SCHEDULER;
+
+/**
+ * Moves tasks that have been DONE for longer than {@code app.archive.after} from {@code tasks}
+ * to {@code tasks_archive}, so the hot table (and its indexes) holds open and recent work only,
+ * however much history accumulates. Tasks completed before {@code completed_at} was tracked
+ * qualify by their creation date instead and are archived with no completion date.
+ * <p>
+ * Each batch of {@code batch-size} tasks is moved in its own short transaction: the oldest
+ * completed tasks are locked with {@code FOR UPDATE SKIP LOCKED} (instances archiving
+ * concurrently take different rows), copied with their tags, deleted from {@code tasks}, and the
+ * owners' data versions are bumped. Only standalone personal tasks are archived: subtasks,
+ * parents and board tasks stay in {@code tasks}, where the hierarchy and board views expect them.
+ */
+@Slf4j
+@Component
+public class TaskArchiver {
+
+    private static final String SELECT_COLUMNS = "SELECT id, user_id, title, description, due_date, created_at, "
+            + "completed_at FROM tasks WHERE status = 'DONE' ";
+    private static final String STANDALONE = "AND parent_id IS NULL AND child_count = 0 AND board_id IS NULL ";
+    private static final String SELECT_BATCH = SELECT_COLUMNS + "AND completed_at < ? " + STANDALONE
+            + "ORDER BY completed_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    // Completed before completed_at was tracked: dated by creation, archived with a NULL completion
+    private static final String SELECT_LEGACY_BATCH = SELECT_COLUMNS + "AND completed_at IS NULL AND created_at < ? "
+            + STANDALONE + "ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String SELECT_TAGS = "SELECT task_id, tag FROM task_tags WHERE task_id IN (:ids) "
+            + "ORDER BY task_id, tag";
+    private static final String INSERT_ARCHIVED = "INSERT INTO tasks_archive "
+            + "(id, user_id, title, description, due_date, created_at, completed_at, tags, archived_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Tags go with the task (ON DELETE CASCADE)
+    private static final String DELETE_TASKS = "DELETE FROM tasks WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final TaskDataVersions taskDataVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration after;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter archived;
+
+    public TaskArchiver(JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ShardRouter shardRouter,
+            TaskDataVersions taskDataVersions,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.archive.enabled:true}") boolean enabled,
+            @Value("${app.archive.after:90d}") Duration after,
+            @Value("${app.archive.batch-size:500}") int batchSize,
+            @Value("${app.archive.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.taskDataVersions = taskDataVersions;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.after = after;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archived = meterRegistry.counter("task.archive.archived");
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}", scheduler = BULK_SCHEDULER)
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives tasks completed before {@code app.archive.after} ago, on every shard.
+     *
+     * @return the number of tasks archived
+     */
+    public synchronized int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(after);
+        int[] total = new int[1];
+        shardRouter.forEachShard(() -> total[0] += archiveShard(SELECT_BATCH, cutoff)
+                + archiveShard(SELECT_LEGACY_BATCH, cutoff));
+        if (total[0] > 0) {
+            log.info("Archive run: {} tasks completed before {} archived", total[0], cutoff);
+        }
+        return total[0];
+    }
+
+    private int archiveShard(String selectBatch, LocalDateTime cutoff) {
+        int total = 0;
+        for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+            int moved;
+            try {
+                moved = archiveBatch(selectBatch, cutoff);
+            } catch (RuntimeException e) {
+                // The tasks stay in place and are retried on the next run
+                log.warn("Could not archive completed tasks, will retry: {}", e.getMessage());
+                break;
+            }
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveBatch(String selectBatch, LocalDateTime cutoff) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Integer> archivedByUser = transactionTemplate.execute(tx -> {
+            List<Object[]> rows = jdbcTemplate.query(selectBatch, (rs, rowNum) -> new Object[] {
+                    rs.getLong("id"),
+                    rs.getLong("user_id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    rs.getTimestamp("due_date"),
+                    rs.getTimestamp("created_at"),
+                    rs.getTimestamp("completed_at"),
+                    null,
+                    now}, Timestamp.valueOf(cutoff), batchSize);
+            if (rows.isEmpty()) {
+                return Map.<Long, Integer>of();
+            }
+            List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+            MapSqlParameterSource idParams = new MapSqlParameterSource("ids", ids);
+
+            Map<Long, StringJoiner> tags = new HashMap<>();
+            namedJdbcTemplate.query(SELECT_TAGS, idParams, rs -> {
+                tags.computeIfAbsent(rs.getLong("task_id"), id -> new StringJoiner(",")).add(rs.getString("tag"));
+            });
+            for (Object[] row : rows) {
+                StringJoiner taskTags = tags.get((Long) row[0]);
+                row[7] = taskTags != null ? taskTags.toString() : null;
+            }
+            jdbcTemplate.batchUpdate(INSERT_ARCHIVED, rows);
+            namedJdbcTemplate.update(DELETE_TASKS, idParams);
+
+            // In user id order, so concurrent writers take the users' row locks in the same order
+            Map<Long, Integer> byUser = new TreeMap<>();
+            rows.forEach(row -> byUser.merge((Long) row[1], 1, Integer::sum));
+            byUser.keySet().forEach(taskDataVersions::bump);
+            return byUser;
+        });
+
+        int total = 0;
+        for (Map.Entry<Long, Integer> entry : archivedByUser.entrySet()) {
+            // Working sets, filter indexes and reminders drop the archived tasks
+            eventPublisher.publishEvent(new TasksBulkChangedEvent(entry.getKey()));
+            total += entry.getValue();
+        }
+        archived.increment(total);
+        log.debug("Archived {} completed tasks of {} users", total, archivedByUser.size());
+        return total;
+    }
+}
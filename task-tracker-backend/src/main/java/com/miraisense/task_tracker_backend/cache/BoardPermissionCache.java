@@ -0,0 +1,144 @@
+package com.miraisense.task_tracker_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.miraisense.task_tracker_backend.entity.BoardMember;
+import com.miraisense.task_tracker_backend.entity.BoardRole;
+import com.miraisense.task_tracker_backend.event.BoardMembershipChangedEvent;
+import com.miraisense.task_tracker_backend.repository.BoardMemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Each user's board roles (board id to role), so task permission checks and board task lists
+ * need no membership join. Entries are loaded with one indexed lookup and evicted per user, after
+ * the membership change commits, for exactly the users it affected.
+ * <p>
+ * Other instances learn of the change from {@code users.board_roles_changed_at}, stamped in the
+ * membership change's transaction and polled every {@code poll-interval-ms}; an entry stays stale
+ * there for up to that long.
+ * <p>
+ * The cache is registered with the Spring cache manager under its own settings rather than the
+ * global spec: a memory budget weighed by the number of memberships, and a background reload
+ * after {@code refresh-after-write} while readers keep getting the current roles. Concurrent
+ * misses for a user load once.
+ */
+@Slf4j
+@Component
+public class BoardPermissionCache implements CacheManagerCustomizer<CaffeineCacheManager> {
+
+    public static final String CACHE_NAME = "boardPermissions";
+
+    // Map and boxed key overhead, then per membership: map entry, boxed board id
+    private static final int BASE_BYTES = 96;
+    private static final int MEMBERSHIP_BYTES = 64;
+
+    // Re-read window for changes committed late (slow commits, clock skew between instances)
+    private static final long OVERLAP_MILLIS = 30_000;
+
+    private static final String STAMP = "UPDATE users SET board_roles_changed_at = :now WHERE id IN (:ids)";
+    private static final String SELECT_CHANGED = "SELECT id, board_roles_changed_at FROM users "
+            + "WHERE board_roles_changed_at >= ?";
+
+    private final BoardMemberRepository boardMemberRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final LoadingCache<Object, Object> roles;
+    // Nothing is cached before startup, so earlier changes need no eviction
+    private volatile long pollFrom = System.currentTimeMillis();
+    // Stamps already applied, so a change is evicted once rather than on every poll of the overlap
+    private final Map<Long, Long> applied = new HashMap<>();
+
+    // Lazy: the cache manager (and with it this customizer) is created before the JPA repositories
+    public BoardPermissionCache(@Lazy BoardMemberRepository boardMemberRepository,
+            @Lazy JdbcTemplate jdbcTemplate,
+            @Lazy NamedParameterJdbcTemplate namedJdbcTemplate,
+            @Value("${app.cache.board-permissions.max-memory-mb:16}") long maxMemoryMb,
+            @Value("${app.cache.board-permissions.refresh-after-write:1m}") Duration refreshAfterWrite,
+            @Value("${app.cache.board-permissions.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.boardMemberRepository = boardMemberRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.roles = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryMb * 1024 * 1024)
+                .weigher((Object userId, Object userRoles) ->
+                        BASE_BYTES + MEMBERSHIP_BYTES * ((Map<?, ?>) userRoles).size())
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(userId -> load((Long) userId));
+    }
+
+    @Override
+    public void customize(CaffeineCacheManager cacheManager) {
+        cacheManager.registerCustomCache(CACHE_NAME, roles);
+    }
+
+    @Cacheable(cacheNames = CACHE_NAME, key = "#userId", sync = true)
+    public Map<Long, BoardRole> rolesOf(Long userId) {
+        return load(userId);
+    }
+
+    // In the membership change's transaction, so other instances see the stamp with the change
+    @EventListener
+    public void stampMembershipChange(BoardMembershipChangedEvent event) {
+        if (!event.userIds().isEmpty()) {
+            long now = System.currentTimeMillis();
+            namedJdbcTemplate.update(STAMP, new MapSqlParameterSource("now", now).addValue("ids", event.userIds()));
+            // Evicted here after the commit; the poll need not do it again
+            synchronized (this) {
+                event.userIds().forEach(userId -> applied.put(userId, now));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(BoardMembershipChangedEvent event) {
+        roles.invalidateAll(event.userIds());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.board-permissions.poll-interval-ms:2000}")
+    public synchronized void pollChanges() {
+        long from = pollFrom;
+        long now = System.currentTimeMillis();
+        try {
+            List<Long> changed = new ArrayList<>();
+            jdbcTemplate.query(SELECT_CHANGED, rs -> {
+                long userId = rs.getLong("id");
+                long stamp = rs.getLong("board_roles_changed_at");
+                Long previous = applied.put(userId, stamp);
+                if (previous == null || previous != stamp) {
+                    changed.add(userId);
+                }
+            }, from);
+            roles.invalidateAll(changed);
+            pollFrom = Math.max(from, now - OVERLAP_MILLIS);
+            applied.values().removeIf(stamp -> stamp < pollFrom);
+        } catch (RuntimeException e) {
+            log.warn("Board permission change poll failed", e);
+        }
+    }
+
+    private Map<Long, BoardRole> load(Long userId) {
+        return boardMemberRepository.findByIdUserId(userId).stream()
+                .collect(Collectors.toUnmodifiableMap(member -> member.getId().getBoardId(), BoardMember::getRole));
+    }
+}
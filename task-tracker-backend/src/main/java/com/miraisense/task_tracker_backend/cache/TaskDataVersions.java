@@ -0,0 +1,51 @@
+package com.miraisense.task_tracker_backend.cache;
+
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import com.miraisense.task_tracker_backend.exception.ServiceUnavailableException;
+import com.miraisense.task_tracker_backend.repository.UserRepository;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-user data versions ({@code users.tasks_version}): a counter bumped in the same transaction
+ * as every change to the user's tasks, so a copy of the tasks taken at version {@code v} is
+ * current exactly while the database is still at {@code v}.
+ * <p>
+ * Single-task changes are covered by {@link TaskChangedEvent}; writers that bypass the task
+ * service (bulk imports, other services on the same database) call {@link #bump} themselves.
+ * <p>
+ * With sharding, the bump is also the fence against writing to a shard the user is being moved
+ * away from: it fails there, rolling the write back.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskDataVersions {
+
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+
+    public long current(Long userId) {
+        return userRepository.findTasksVersion(userId).orElse(0L);
+    }
+
+    /**
+     * Joins the caller's transaction if there is one.
+     */
+    public void bump(Long userId) {
+        if (userRepository.incrementTasksVersion(userId, shardRouter.currentShard()) == 0 && shardRouter.isEnabled()) {
+            throw new ServiceUnavailableException("Tasks of user " + userId + " are being moved, try again");
+        }
+    }
+
+    // First among the before-commit listeners: the bump takes the user's row lock (see TaskOutbox)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump(event.userId());
+    }
+}
@@ -0,0 +1,364 @@
+package com.miraisense.task_tracker_backend.cache;
+
+import com.miraisense.task_tracker_backend.dto.TaskField;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * All tasks of one user held once, in parallel column arrays ordered by task id.
+ * Any page, sort order or status filter is served from these columns, and single-task
+ * mutations are applied in place.
+ * <p>
+ * {@link #dataVersion()} is the user's {@link TaskDataVersions data version} the columns reflect.
+ * <p>
+ * Not thread-safe; {@link TaskWorkingSetStore} guards each instance with its monitor.
+ */
+final class TaskWorkingSet {
+
+    private static final long NO_DUE_DATE = Long.MIN_VALUE;
+    private static final String[] NO_TAGS = new String[0];
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    // Rough per-task cost of the primitive columns and array references
+    private static final int ROW_BYTES = 8 + 8 + 1 + 3 * 4;
+    private static final int BASE_BYTES = 128;
+
+    private long[] ids;
+    private String[] titles;
+    private String[] descriptions;
+    private byte[] statuses;
+    private long[] dueDates;
+    private String[][] tags;
+    private int size;
+    private long estimatedBytes = BASE_BYTES;
+    private long dataVersion;
+
+    TaskWorkingSet(Collection<TaskResponseDTO> tasks, long dataVersion) {
+        this(tasks.size(), dataVersion);
+        tasks.stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .forEach(task -> set(size++, task));
+    }
+
+    private TaskWorkingSet(int rows, long dataVersion) {
+        int capacity = Math.max(8, rows);
+        ids = new long[capacity];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+        statuses = new byte[capacity];
+        dueDates = new long[capacity];
+        tags = new String[capacity][];
+        this.dataVersion = dataVersion;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long dataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * Called with each single-task change applied, which bumped the version in the database.
+     */
+    void advanceDataVersion() {
+        dataVersion++;
+    }
+
+    /**
+     * Estimated retained heap in bytes, used as the cache weight.
+     */
+    long estimatedBytes() {
+        return estimatedBytes + (long) ids.length * ROW_BYTES;
+    }
+
+    void upsert(TaskResponseDTO task) {
+        int row = Arrays.binarySearch(ids, 0, size, task.getId());
+        if (row >= 0) {
+            estimatedBytes -= rowBytes(row);
+            set(row, task);
+            return;
+        }
+        int insertAt = -row - 1;
+        ensureCapacity(size + 1);
+        int tail = size - insertAt;
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, tail);
+        System.arraycopy(titles, insertAt, titles, insertAt + 1, tail);
+        System.arraycopy(descriptions, insertAt, descriptions, insertAt + 1, tail);
+        System.arraycopy(statuses, insertAt, statuses, insertAt + 1, tail);
+        System.arraycopy(dueDates, insertAt, dueDates, insertAt + 1, tail);
+        System.arraycopy(tags, insertAt, tags, insertAt + 1, tail);
+        size++;
+        set(insertAt, task);
+    }
+
+    void remove(long taskId) {
+        int row = Arrays.binarySearch(ids, 0, size, taskId);
+        if (row < 0) {
+            return;
+        }
+        estimatedBytes -= rowBytes(row);
+        int tail = size - row - 1;
+        System.arraycopy(ids, row + 1, ids, row, tail);
+        System.arraycopy(titles, row + 1, titles, row, tail);
+        System.arraycopy(descriptions, row + 1, descriptions, row, tail);
+        System.arraycopy(statuses, row + 1, statuses, row, tail);
+        System.arraycopy(dueDates, row + 1, dueDates, row, tail);
+        System.arraycopy(tags, row + 1, tags, row, tail);
+        size--;
+        titles[size] = null;
+        descriptions[size] = null;
+        tags[size] = null;
+    }
+
+    Page<TaskResponseDTO> page(TaskStatus status, Pageable pageable, int fields) {
+        int[] rows = new int[size];
+        int matches = 0;
+        for (int row = 0; row < size; row++) {
+            if (status == null || statuses[row] == status.ordinal()) {
+                rows[matches++] = row;
+            }
+        }
+
+        RowComparator comparator = comparator(pageable.getSort());
+        if (comparator != null) {
+            sort(rows, matches, comparator);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), matches);
+        int to = Math.min(from + pageable.getPageSize(), matches);
+        List<TaskResponseDTO> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(toDto(rows[i], fields));
+        }
+        return new PageImpl<>(content, pageable, matches);
+    }
+
+    // --- Snapshot encoding (rows in id order; strings as UTF-8 with a length prefix, -1 for null) ---
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int row = 0; row < size; row++) {
+            out.writeLong(ids[row]);
+            out.writeByte(statuses[row]);
+            out.writeLong(dueDates[row]);
+            writeString(out, titles[row]);
+            writeString(out, descriptions[row]);
+            out.writeShort(tags[row].length);
+            for (String tag : tags[row]) {
+                writeString(out, tag);
+            }
+        }
+    }
+
+    static TaskWorkingSet readFrom(ByteBuffer in, long dataVersion) {
+        int rows = in.getInt();
+        TaskWorkingSet workingSet = new TaskWorkingSet(rows, dataVersion);
+        for (int row = 0; row < rows; row++) {
+            workingSet.ids[row] = in.getLong();
+            workingSet.statuses[row] = in.get();
+            workingSet.dueDates[row] = in.getLong();
+            workingSet.titles[row] = readString(in);
+            workingSet.descriptions[row] = readString(in);
+            int tagCount = in.getShort();
+            String[] rowTags = tagCount == 0 ? NO_TAGS : new String[tagCount];
+            for (int i = 0; i < tagCount; i++) {
+                rowTags[i] = readString(in).intern();
+            }
+            workingSet.tags[row] = rowTags;
+            workingSet.estimatedBytes += workingSet.rowBytes(row);
+            workingSet.size++;
+        }
+        return workingSet;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void set(int row, TaskResponseDTO task) {
+        ids[row] = task.getId();
+        titles[row] = task.getTitle();
+        descriptions[row] = task.getDescription();
+        statuses[row] = (byte) (task.getStatus() != null ? task.getStatus().ordinal() : TaskStatus.TODO.ordinal());
+        dueDates[row] = encode(task.getDueDate());
+        tags[row] = internTags(task.getTags());
+        estimatedBytes += rowBytes(row);
+    }
+
+    private TaskResponseDTO toDto(int row, int fields) {
+        return TaskResponseDTO.builder()
+                .id(ids[row])
+                .title(titles[row])
+                .description(descriptions[row])
+                .status(STATUSES[statuses[row]])
+                .dueDate(decode(dueDates[row]))
+                .tags(TaskField.TAGS.isIn(fields) ? new TreeSet<>(Arrays.asList(tags[row])) : null)
+                .fields(fields)
+                .build();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        dueDates = Arrays.copyOf(dueDates, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+    }
+
+    private long rowBytes(int row) {
+        long bytes = stringBytes(titles[row]) + stringBytes(descriptions[row]);
+        if (tags[row].length > 0) {
+            bytes += 16 + 4L * tags[row].length;
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    private static String[] internTags(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return NO_TAGS;
+        }
+        // Tags are a small, highly repetitive vocabulary
+        String[] interned = new String[values.size()];
+        int i = 0;
+        for (String value : values) {
+            interned[i++] = value.intern();
+        }
+        Arrays.sort(interned);
+        return interned;
+    }
+
+    private static long encode(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_DUE_DATE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime decode(long micros) {
+        if (micros == NO_DUE_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    // --- Sorting over row indexes, without boxing ---
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int left, int right);
+    }
+
+    private RowComparator comparator(Sort sort) {
+        RowComparator combined = null;
+        for (Sort.Order order : sort) {
+            RowComparator next = comparator(order);
+            RowComparator previous = combined;
+            combined = previous == null ? next : (a, b) -> {
+                int result = previous.compare(a, b);
+                return result != 0 ? result : next.compare(a, b);
+            };
+        }
+        if (combined == null) {
+            return null;
+        }
+        RowComparator primary = combined;
+        // Deterministic order for ties
+        return (a, b) -> {
+            int result = primary.compare(a, b);
+            return result != 0 ? result : Long.compare(ids[a], ids[b]);
+        };
+    }
+
+    private RowComparator comparator(Sort.Order order) {
+        RowComparator ascending = switch (order.getProperty()) {
+            case "id" -> (a, b) -> Long.compare(ids[a], ids[b]);
+            case "title" -> (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(titles[a], titles[b]);
+            case "status" -> (a, b) -> Byte.compare(statuses[a], statuses[b]);
+            // NO_DUE_DATE is Long.MIN_VALUE, so tasks without a due date sort like SQL NULLs in MySQL
+            case "dueDate" -> (a, b) -> Long.compare(dueDates[a], dueDates[b]);
+            default -> throw new InvalidRequestException("Cannot sort tasks by '" + order.getProperty() + "'");
+        };
+        return order.isAscending() ? ascending : (a, b) -> ascending.compare(b, a);
+    }
+
+    private static void sort(int[] rows, int length, RowComparator comparator) {
+        int[] buffer = new int[length];
+        mergeSort(rows, buffer, 0, length, comparator);
+    }
+
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, RowComparator comparator) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int value = rows[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(rows[j], value) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid, comparator);
+        mergeSort(rows, buffer, mid, to, comparator);
+        if (comparator.compare(rows[mid - 1], rows[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.miraisense.task_tracker_backend.cache;
+
+/**
+ * Reads a user's working set from the database for {@link TaskWorkingSetStore}, on a miss and
+ * for background refreshes (outside any request transaction).
+ */
+public interface TaskWorkingSetLoader {
+
+    /**
+     * The user's tasks and the data version read before them, or null when the user has more
+     * than {@link TaskWorkingSetStore#maxTasksPerUser()} tasks.
+     */
+    TaskWorkingSetStore.LoadedTasks loadWorkingSet(Long userId);
+}
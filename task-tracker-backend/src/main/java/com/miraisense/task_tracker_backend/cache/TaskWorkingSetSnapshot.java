@@ -0,0 +1,153 @@
+package com.miraisense.task_tracker_backend.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binary file of working sets written on shutdown and memory-mapped on the next startup.
+ * <p>
+ * Layout: header ({@code magic, format, createdAt, count}), then an index of
+ * {@code (userId, dataVersion, offset, length)} per entry, then the entries encoded by
+ * {@link TaskWorkingSet#writeTo}. Opening reads only the header and index; entries are decoded
+ * from the mapping one at a time when {@link #take taken}.
+ */
+final class TaskWorkingSetSnapshot {
+
+    private static final int MAGIC = 0x54575331; // "TWS1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 4 + 4;
+
+    record Entry(long dataVersion, int offset, int length) {
+    }
+
+    private final MappedByteBuffer buffer;
+    private final Map<Long, Entry> entries;
+    private final Instant createdAt;
+
+    private TaskWorkingSetSnapshot(MappedByteBuffer buffer, Map<Long, Entry> entries, Instant createdAt) {
+        this.buffer = buffer;
+        this.entries = entries;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Writes the working sets (in the map's iteration order) to a temporary file and moves it
+     * over {@code path}, so a crash mid-write never leaves a truncated snapshot behind.
+     *
+     * @return the file size in bytes
+     */
+    static long write(Path path, Map<Long, TaskWorkingSet> workingSets) throws IOException {
+        List<Long> userIds = new ArrayList<>(workingSets.size());
+        List<byte[]> encoded = new ArrayList<>(workingSets.size());
+        List<Long> versions = new ArrayList<>(workingSets.size());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long dataBytes = 0;
+        for (Map.Entry<Long, TaskWorkingSet> entry : workingSets.entrySet()) {
+            TaskWorkingSet workingSet = entry.getValue();
+            bytes.reset();
+            synchronized (workingSet) {
+                workingSet.writeTo(new DataOutputStream(bytes));
+                versions.add(workingSet.dataVersion());
+            }
+            userIds.add(entry.getKey());
+            encoded.add(bytes.toByteArray());
+            dataBytes += bytes.size();
+        }
+
+        long total = HEADER_BYTES + (long) INDEX_ENTRY_BYTES * userIds.size() + dataBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot too large: " + total + " bytes");
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            out.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(System.currentTimeMillis()).putInt(userIds.size());
+            int offset = HEADER_BYTES + INDEX_ENTRY_BYTES * userIds.size();
+            for (int i = 0; i < userIds.size(); i++) {
+                out.putLong(userIds.get(i)).putLong(versions.get(i)).putInt(offset).putInt(encoded.get(i).length);
+                offset += encoded.get(i).length;
+            }
+            for (byte[] entry : encoded) {
+                out.put(entry);
+            }
+            out.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return total;
+    }
+
+    /**
+     * Maps the snapshot at {@code path}, or returns null if there is none. The file is deleted once
+     * mapped: the mapping stays readable, and a later crash cannot resurrect an old snapshot.
+     */
+    static TaskWorkingSetSnapshot open(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Unexpected snapshot size: " + channel.size());
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a working-set snapshot (or an older format)");
+            }
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            if (count < 0 || HEADER_BYTES + (long) INDEX_ENTRY_BYTES * count > buffer.capacity()) {
+                throw new IOException("Corrupt snapshot index");
+            }
+            Map<Long, Entry> entries = new ConcurrentHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                long userId = buffer.getLong();
+                Entry entry = new Entry(buffer.getLong(), buffer.getInt(), buffer.getInt());
+                if (entry.offset() < 0 || entry.length() < 0 || (long) entry.offset() + entry.length() > buffer.capacity()) {
+                    throw new IOException("Corrupt snapshot index");
+                }
+                entries.put(userId, entry);
+            }
+            return new TaskWorkingSetSnapshot(buffer, entries, createdAt);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    Instant createdAt() {
+        return createdAt;
+    }
+
+    int pending() {
+        return entries.size();
+    }
+
+    /**
+     * Removes the user's entry; each entry is handed out at most once.
+     */
+    Entry take(long userId) {
+        return entries.remove(userId);
+    }
+
+    TaskWorkingSet decode(Entry entry) {
+        ByteBuffer slice = buffer.slice(entry.offset(), entry.length());
+        return TaskWorkingSet.readFrom(slice, entry.dataVersion());
+    }
+}
@@ -0,0 +1,267 @@
+package com.miraisense.task_tracker_backend.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import com.miraisense.task_tracker_backend.event.TasksBulkChangedEvent;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-user task working sets, bounded by a global memory budget.
+ * <p>
+ * Each user's tasks are loaded once on first access and then kept current by applying
+ * {@link TaskChangedEvent}s in place after commit, instead of evicting on every write.
+ * Entries are weighed by their estimated heap size; the least valuable ones are evicted
+ * when the budget is exceeded. Users with more than {@code max-tasks-per-user} tasks are
+ * not held in memory and are served from the database.
+ * <p>
+ * Changes are applied to the held working set without writing the cache entry, so they do not
+ * postpone its refresh: an entry loaded more than {@code refresh-after-write} ago (changes made by
+ * other instances or the reactive API are not applied here) is reloaded in the background on its
+ * next read, however busy the user is here, and the read is still served from the current copy;
+ * only an entry idle past {@code expire-after-write} makes a reader wait. The weight is updated by
+ * that reload. Concurrent misses for the same user share one load.
+ * <p>
+ * On shutdown the hottest working sets are written to a snapshot file, and the next instance
+ * restores them on first access instead of querying the tasks again. A restored entry is used
+ * only if its data version still matches {@code users.tasks_version}; anything else is discarded.
+ */
+@Slf4j
+@Component
+public class TaskWorkingSetStore {
+
+    private static final TaskWorkingSet OVERSIZED = new TaskWorkingSet(List.of(), -1);
+
+    /**
+     * The user's tasks and the data version read before them.
+     */
+    public record LoadedTasks(long version, List<TaskResponseDTO> tasks) {
+    }
+
+    private final LoadingCache<Long, TaskWorkingSet> workingSets;
+    private final TaskDataVersions taskDataVersions;
+    private final TaskWorkingSetLoader loader;
+    private final ShardRouter shardRouter;
+    private final int maxTasksPerUser;
+    private final long maxWeight;
+    private final boolean snapshotEnabled;
+    private final Path snapshotPath;
+    private final Duration snapshotMaxAge;
+    private final Counter snapshotLoads;
+    private final Counter databaseLoads;
+    private final Counter staleDiscards;
+    private volatile TaskWorkingSetSnapshot snapshot;
+
+    public TaskWorkingSetStore(
+            MeterRegistry meterRegistry,
+            TaskDataVersions taskDataVersions,
+            @Lazy TaskWorkingSetLoader loader,
+            ShardRouter shardRouter,
+            @Value("${app.task-working-set.max-memory-mb:64}") long maxMemoryMb,
+            @Value("${app.task-working-set.max-tasks-per-user:5000}") int maxTasksPerUser,
+            @Value("${app.task-working-set.refresh-after-write:2m}") Duration refreshAfterWrite,
+            @Value("${app.task-working-set.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${app.task-working-set.snapshot.enabled:true}") boolean snapshotEnabled,
+            @Value("${app.task-working-set.snapshot.path:${java.io.tmpdir}/task-tracker/task-working-sets.bin}") Path snapshotPath,
+            @Value("${app.task-working-set.snapshot.max-age:30m}") Duration snapshotMaxAge) {
+        this.taskDataVersions = taskDataVersions;
+        this.loader = loader;
+        this.shardRouter = shardRouter;
+        this.maxTasksPerUser = maxTasksPerUser;
+        this.maxWeight = maxMemoryMb * 1024 * 1024;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotPath = snapshotPath;
+        this.snapshotMaxAge = snapshotMaxAge;
+        this.workingSets = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long userId, TaskWorkingSet workingSet) -> (int) Math.min(Integer.MAX_VALUE,
+                        workingSet.estimatedBytes()))
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(new WorkingSetCacheLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, workingSets, "taskWorkingSets");
+        this.snapshotLoads = meterRegistry.counter("task.working.set.loads", "source", "snapshot");
+        this.databaseLoads = meterRegistry.counter("task.working.set.loads", "source", "database");
+        this.staleDiscards = meterRegistry.counter("task.working.set.snapshot.discarded", "reason", "stale");
+        Gauge.builder("task.working.set.snapshot.pending", this, store -> {
+                    TaskWorkingSetSnapshot current = store.snapshot;
+                    return current != null ? current.pending() : 0;
+                })
+                .description("Working sets in the startup snapshot not yet restored or discarded")
+                .register(meterRegistry);
+    }
+
+    public int maxTasksPerUser() {
+        return maxTasksPerUser;
+    }
+
+    /**
+     * Serves a page from the user's working set, loading it on a miss. Empty when the user has
+     * more than {@link #maxTasksPerUser()} tasks; the caller should then query the database.
+     */
+    public Optional<Page<TaskResponseDTO>> page(Long userId, TaskStatus status, Pageable pageable, int fields) {
+        TaskWorkingSet workingSet = workingSets.get(userId);
+        if (workingSet == OVERSIZED) {
+            return Optional.empty();
+        }
+        synchronized (workingSet) {
+            return Optional.of(workingSet.page(status, pageable, fields));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskWorkingSet workingSet = workingSets.policy().getIfPresentQuietly(event.userId());
+        if (workingSet == null) {
+            // Absent, or a load is in progress: computeIfPresent waits for the load and applies the change to it
+            workingSets.asMap().computeIfPresent(event.userId(),
+                    (userId, loaded) -> apply(loaded, event) ? loaded : null);
+        } else if (!apply(workingSet, event)) {
+            workingSets.invalidate(event.userId());
+        }
+    }
+
+    // False when the working set grew past max-tasks-per-user and must be dropped
+    private boolean apply(TaskWorkingSet workingSet, TaskChangedEvent event) {
+        if (workingSet == OVERSIZED) {
+            return true;
+        }
+        synchronized (workingSet) {
+            if (event.current() != null) {
+                workingSet.upsert(event.current());
+            } else {
+                workingSet.remove(event.taskId());
+            }
+            workingSet.advanceDataVersion();
+            return workingSet.size() <= maxTasksPerUser;
+        }
+    }
+
+    /**
+     * Drops the user's working set so it is reloaded on the next read (used after bulk changes).
+     */
+    public void invalidate(Long userId) {
+        workingSets.invalidate(userId);
+    }
+
+    @EventListener
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @PostConstruct
+    void openSnapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        try {
+            snapshot = TaskWorkingSetSnapshot.open(snapshotPath);
+            if (snapshot != null) {
+                log.info("Opened task working-set snapshot {} with {} users (written {})",
+                        snapshotPath, snapshot.pending(), snapshot.createdAt());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable task working-set snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the hottest working sets, up to the cache's memory budget, for the next instance.
+     */
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        Map<Long, TaskWorkingSet> hottest = new LinkedHashMap<>();
+        workingSets.policy().eviction().ifPresent(eviction -> eviction.hottestWeighted(maxWeight).forEach(
+                (userId, workingSet) -> {
+                    if (workingSet != OVERSIZED) {
+                        hottest.put(userId, workingSet);
+                    }
+                }));
+        if (hottest.isEmpty()) {
+            return;
+        }
+        try {
+            long bytes = TaskWorkingSetSnapshot.write(snapshotPath, hottest);
+            log.info("Wrote task working-set snapshot {} with {} users ({} bytes)", snapshotPath, hottest.size(), bytes);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write task working-set snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private TaskWorkingSet load(Long userId) {
+        LoadedTasks loaded = loader.loadWorkingSet(userId);
+        databaseLoads.increment();
+        return loaded != null ? new TaskWorkingSet(loaded.tasks(), loaded.version()) : OVERSIZED;
+    }
+
+    private TaskWorkingSet restore(Long userId) {
+        TaskWorkingSetSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        if (current.pending() == 0 || current.createdAt().plus(snapshotMaxAge).isBefore(Instant.now())) {
+            snapshot = null; // releases the mapping
+            return null;
+        }
+        TaskWorkingSetSnapshot.Entry entry = current.take(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.dataVersion() != taskDataVersions.current(userId)) {
+            staleDiscards.increment();
+            return null;
+        }
+        snapshotLoads.increment();
+        return current.decode(entry);
+    }
+
+    private final class WorkingSetCacheLoader implements CacheLoader<Long, TaskWorkingSet> {
+
+        @Override
+        public TaskWorkingSet load(Long userId) {
+            TaskWorkingSet restored = restore(userId);
+            return restored != null ? restored : TaskWorkingSetStore.this.load(userId);
+        }
+
+        @Override
+        public TaskWorkingSet reload(Long userId, TaskWorkingSet oldValue) {
+            // Runs in the background, outside the request that routed to the user's shard
+            TaskWorkingSet reloaded = shardRouter.callForUser(userId, () -> TaskWorkingSetStore.this.load(userId));
+            // Keep the current copy if it already has changes the reload did not see
+            if (oldValue != OVERSIZED && reloaded != OVERSIZED && reloaded.dataVersion() < oldValue.dataVersion()) {
+                return oldValue;
+            }
+            return reloaded;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.miraisense.task_tracker_backend.config;
+
+import com.miraisense.task_tracker_backend.monitoring.SqlStatementListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Wraps the pooled DataSource so every statement goes through SqlStatementListener
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment) {
+        long slowQueryThresholdMs = environment.getProperty("app.sql.slow-query-threshold-ms", Long.class, 200L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementListener(slowQueryThresholdMs))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.miraisense.task_tracker_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Two schedulers, so a long bulk pass never delays the frequent jobs. The default one
+ * ({@code spring.task.scheduling.*}) runs the pollers, flushes and the reminder tick; jobs that
+ * can run for minutes (recurrence generation, archiving, rebalancing, token purge) name
+ * {@link #BULK_SCHEDULER} in their {@code @Scheduled}.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String BULK_SCHEDULER = "bulkTaskScheduler";
+
+    // Declared here because any TaskScheduler bean replaces Spring Boot's default one
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(BULK_SCHEDULER)
+    public ThreadPoolTaskScheduler bulkTaskScheduler(
+            @Value("${app.scheduling.bulk.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("bulk-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,62 @@
+package com.miraisense.task_tracker_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.miraisense.task_tracker_backend.monitoring.ServerTimingJackson2CborHttpMessageConverter;
+import com.miraisense.task_tracker_backend.monitoring.ServerTimingJackson2HttpMessageConverter;
+import com.miraisense.task_tracker_backend.monitoring.ServerTimingJackson2SmileHttpMessageConverter;
+import com.miraisense.task_tracker_backend.sharding.ShardRoutingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Each bean replaces Boot's default converter of the same type, keeping its position:
+ * JSON stays first (browsers and {@code Accept: *}{@code /*} get JSON), and CBOR / Smile
+ * are chosen only when the client asks for them in {@code Accept}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ShardRoutingInterceptor shardRoutingInterceptor;
+
+    // Bodies up to this size are buffered to report their serialization time; larger ones stream
+    @Value("${app.server-timing.max-buffered-kb:64}")
+    private int maxBufferedKb;
+
+    // Task endpoints work on the authenticated user's shard (a no-op unless sharding is enabled)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(shardRoutingInterceptor).addPathPatterns("/api/v1/tasks/**");
+    }
+
+    // Replaces Boot's default JSON converter so serialization time shows up in Server-Timing
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ServerTimingJackson2HttpMessageConverter(objectMapper, maxBufferedKb * 1024);
+    }
+
+    // Binary formats for service-to-service calls, built from Boot's builder so date handling etc. match JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new ServerTimingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build(),
+                maxBufferedKb * 1024);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new ServerTimingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build(),
+                maxBufferedKb * 1024);
+    }
+}
@@ -3,9 +3,11 @@ package com.miraisense.task_tracker_backend.controller;
 import com.miraisense.task_tracker_backend.dto.*;
 import com.miraisense.task_tracker_backend.entity.RefreshToken;
 import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import com.miraisense.task_tracker_backend.security.AccessTokenRevocationList;
 import com.miraisense.task_tracker_backend.security.JwtService;
 import com.miraisense.task_tracker_backend.service.RefreshTokenService;
 import com.miraisense.task_tracker_backend.service.UserService;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.Arrays;
 
 @RestController
@@ -26,6 +29,8 @@ public class AuthController {
     private final UserService userService;
     private final RefreshTokenService refreshTokenService;
     private final JwtService jwtService;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+    private final ShardRouter shardRouter;
 
     private static final String REFRESH_TOKEN_COOKIE = "refreshToken";
 
@@ -55,8 +60,10 @@ public class AuthController {
 
         AuthResponseDTO authResponseDTO = userService.login(request);
 
-        // Create refresh token and set it as HttpOnly cookie
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(authResponseDTO.getUserId());
+        // Create refresh token (on the user's shard) and set it as HttpOnly cookie
+        Long userId = authResponseDTO.getUserId();
+        RefreshToken refreshToken = shardRouter.callForUser(userId,
+                () -> refreshTokenService.createRefreshToken(userId));
         addRefreshTokenCookie(response, refreshToken.getToken());
 
         return ResponseEntity.ok(
@@ -76,18 +83,20 @@ public class AuthController {
             throw new AuthenticationException("Refresh token not found. Please login again.");
         }
 
-        // Verify old token & rotate (revoke old, issue new)
-        RefreshToken newRefreshToken = refreshTokenService.verifyAndRotate(refreshTokenValue);
+        // Verify old token & rotate (the family moves on to its next token), on the owner's shard
+        RefreshTokenService.RotatedRefreshToken newRefreshToken = shardRouter.callForUser(
+                refreshTokenService.userIdOf(refreshTokenValue),
+                () -> refreshTokenService.verifyAndRotate(refreshTokenValue));
 
         // Generate new short-lived access token
-        String accessToken = jwtService.generateToken(newRefreshToken.getUser().getEmail());
+        String accessToken = jwtService.generateToken(newRefreshToken.email());
 
         // Set the new refresh token as HttpOnly cookie
-        addRefreshTokenCookie(response, newRefreshToken.getToken());
+        addRefreshTokenCookie(response, newRefreshToken.token());
 
         AuthResponseDTO authResponseDTO = AuthResponseDTO.builder()
-                .userId(newRefreshToken.getUser().getId())
-                .email(newRefreshToken.getUser().getEmail())
+                .userId(newRefreshToken.userId())
+                .email(newRefreshToken.email())
                 .token(accessToken)
                 .build();
 
@@ -105,9 +114,16 @@ public class AuthController {
         String refreshTokenValue = extractRefreshTokenFromCookies(request);
 
         if (refreshTokenValue != null) {
-            // Find the token and revoke all tokens for that user
-            refreshTokenService.findByToken(refreshTokenValue)
-                    .ifPresent(rt -> refreshTokenService.revokeAllUserTokens(rt.getUser().getId()));
+            // Find the token and revoke all tokens for that user (on their shard)...
+            String email = shardRouter.callForUser(refreshTokenService.userIdOf(refreshTokenValue),
+                    () -> refreshTokenService.findByToken(refreshTokenValue).map(rt -> {
+                        refreshTokenService.revokeAllUserTokens(rt.getUser().getId());
+                        return rt.getUser().getEmail();
+                    }).orElse(null));
+            // ...including issued access tokens (recorded on the primary)
+            if (email != null) {
+                accessTokenRevocationList.revokeIssuedBefore(email, Instant.now());
+            }
         }
 
         // Clear the refresh token cookie
@@ -0,0 +1,159 @@
+package com.miraisense.task_tracker_backend.controller;
+
+import com.miraisense.task_tracker_backend.dto.BoardMemberDTO;
+import com.miraisense.task_tracker_backend.dto.BoardMemberRequestDTO;
+import com.miraisense.task_tracker_backend.dto.BoardRequestDTO;
+import com.miraisense.task_tracker_backend.dto.BoardResponseDTO;
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
+import com.miraisense.task_tracker_backend.dto.StandardResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.entity.User;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.service.BoardService;
+import com.miraisense.task_tracker_backend.service.TaskService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Boards span their members' tasks, which sharding spreads over several databases
+@RestController
+@RequestMapping("/api/v1/boards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class BoardController {
+
+        // Due date first, newest first; id keeps offset paging stable
+        private static final Sort BOARD_TASK_ORDER = Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by("id"));
+        // As spring.data.web.pageable.max-page-size
+        private static final int MAX_PAGE_SIZE = 100;
+
+        private final BoardService boardService;
+        private final TaskService taskService;
+
+        @PostMapping
+        public ResponseEntity<StandardResponseDTO<BoardResponseDTO>> createBoard(
+                        @Valid @RequestBody BoardRequestDTO boardRequestDTO,
+                        @AuthenticationPrincipal User principal) {
+                BoardResponseDTO board = boardService.createBoard(boardRequestDTO, principal.getId());
+                return new ResponseEntity<>(
+                                StandardResponseDTO.<BoardResponseDTO>builder()
+                                                .data(board)
+                                                .message("Board created successfully")
+                                                .statusCode(HttpStatus.CREATED.value())
+                                                .build(),
+                                HttpStatus.CREATED);
+        }
+
+        @GetMapping
+        public ResponseEntity<StandardResponseDTO<List<BoardResponseDTO>>> getBoards(
+                        @AuthenticationPrincipal User principal) {
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<List<BoardResponseDTO>>builder()
+                                                .data(boardService.getBoards(principal.getId()))
+                                                .message("Boards retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        @DeleteMapping("/{boardId}")
+        public ResponseEntity<StandardResponseDTO<Void>> deleteBoard(
+                        @PathVariable Long boardId,
+                        @AuthenticationPrincipal User principal) {
+                boardService.deleteBoard(boardId, principal.getId());
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<Void>builder()
+                                                .message("Board deleted successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        // Tasks of every board the user is a member of
+        @GetMapping("/tasks")
+        public ResponseEntity<StandardResponseDTO<PageResponseDTO<TaskResponseDTO>>> getAllBoardTasks(
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "6") int size,
+                        @RequestParam(required = false) TaskStatus status,
+                        @AuthenticationPrincipal User principal) {
+                return boardTasks(null, page, size, status, principal);
+        }
+
+        @GetMapping("/{boardId}/tasks")
+        public ResponseEntity<StandardResponseDTO<PageResponseDTO<TaskResponseDTO>>> getBoardTasks(
+                        @PathVariable Long boardId,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "6") int size,
+                        @RequestParam(required = false) TaskStatus status,
+                        @AuthenticationPrincipal User principal) {
+                return boardTasks(boardId, page, size, status, principal);
+        }
+
+        @GetMapping("/{boardId}/members")
+        public ResponseEntity<StandardResponseDTO<List<BoardMemberDTO>>> getMembers(
+                        @PathVariable Long boardId,
+                        @AuthenticationPrincipal User principal) {
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<List<BoardMemberDTO>>builder()
+                                                .data(boardService.getMembers(boardId, principal.getId()))
+                                                .message("Board members retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        @PutMapping("/{boardId}/members/{userId}")
+        public ResponseEntity<StandardResponseDTO<BoardMemberDTO>> setMember(
+                        @PathVariable Long boardId,
+                        @PathVariable Long userId,
+                        @Valid @RequestBody BoardMemberRequestDTO memberRequestDTO,
+                        @AuthenticationPrincipal User principal) {
+                BoardMemberDTO member = boardService.setMember(boardId, userId, memberRequestDTO.getRole(),
+                                principal.getId());
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<BoardMemberDTO>builder()
+                                                .data(member)
+                                                .message("Board member saved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        @DeleteMapping("/{boardId}/members/{userId}")
+        public ResponseEntity<StandardResponseDTO<Void>> removeMember(
+                        @PathVariable Long boardId,
+                        @PathVariable Long userId,
+                        @AuthenticationPrincipal User principal) {
+                boardService.removeMember(boardId, userId, principal.getId());
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<Void>builder()
+                                                .message("Board member removed successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        private ResponseEntity<StandardResponseDTO<PageResponseDTO<TaskResponseDTO>>> boardTasks(
+                        Long boardId, int page, int size, TaskStatus status, User principal) {
+                PageResponseDTO<TaskResponseDTO> tasksPage = taskService.getBoardTasks(principal.getId(), boardId,
+                                status, pageRequest(page, size));
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<PageResponseDTO<TaskResponseDTO>>builder()
+                                                .data(tasksPage)
+                                                .message("Board tasks retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        // Larger sizes are capped, as Spring caps resolved Pageables, so a page stays bounded in memory
+        private PageRequest pageRequest(int page, int size) {
+                if (page < 0 || size < 1) {
+                        throw new InvalidRequestException("Page must not be negative and size must be at least 1");
+                }
+                return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), BOARD_TASK_ORDER);
+        }
+}
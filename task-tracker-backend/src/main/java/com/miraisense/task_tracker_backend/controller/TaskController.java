@@ -1,27 +1,55 @@
 package com.miraisense.task_tracker_backend.controller;
 
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
 import com.miraisense.task_tracker_backend.dto.StandardResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskActivityDTO;
+import com.miraisense.task_tracker_backend.dto.TaskAnalyticsDTO;
+import com.miraisense.task_tracker_backend.dto.TaskField;
+import com.miraisense.task_tracker_backend.dto.TaskImportResultDTO;
+import com.miraisense.task_tracker_backend.dto.TaskRecurrenceRequestDTO;
+import com.miraisense.task_tracker_backend.dto.TaskRecurrenceResponseDTO;
 import com.miraisense.task_tracker_backend.dto.TaskRequestDTO;
 import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskTreeNodeDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
 import com.miraisense.task_tracker_backend.entity.User;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.service.TaskActivityService;
+import com.miraisense.task_tracker_backend.service.TaskAnalyticsService;
+import com.miraisense.task_tracker_backend.service.TaskImportService;
+import com.miraisense.task_tracker_backend.service.TaskRecurrenceService;
 import com.miraisense.task_tracker_backend.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/tasks")
 @RequiredArgsConstructor
 public class TaskController {
 
+        private static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "status", "dueDate");
+        // As spring.data.web.pageable.max-page-size
+        private static final int MAX_PAGE_SIZE = 100;
+
         private final TaskService taskService;
+        private final TaskImportService taskImportService;
+        private final TaskAnalyticsService taskAnalyticsService;
+        private final TaskActivityService taskActivityService;
+        private final TaskRecurrenceService taskRecurrenceService;
 
         @PostMapping("/{userId}")
         public ResponseEntity<StandardResponseDTO<TaskResponseDTO>> createTask(
@@ -47,41 +75,198 @@ public class TaskController {
                                 HttpStatus.CREATED);
         }
 
+        @PostMapping(value = "/{userId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<StandardResponseDTO<TaskImportResultDTO>> importTasks(
+                        @PathVariable Long userId,
+                        @RequestParam("file") MultipartFile file,
+                        @AuthenticationPrincipal User principal) {
+                // Verify the authenticated user matches the path userId
+                if (!principal.getId().equals(userId)) {
+                        return new ResponseEntity<>(
+                                        StandardResponseDTO.<TaskImportResultDTO>builder()
+                                                        .message("You can only import tasks into your own account")
+                                                        .statusCode(HttpStatus.FORBIDDEN.value())
+                                                        .build(),
+                                        HttpStatus.FORBIDDEN);
+                }
+                // Accepts .csv (header row, tags separated by ';') or .ndjson (one JSON object per line)
+                TaskImportResultDTO result = taskImportService.importTasks(userId, file);
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<TaskImportResultDTO>builder()
+                                                .data(result)
+                                                .message(result.isAborted() ? "Import stopped at a malformed record"
+                                                                : "Import completed")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
         @GetMapping("/user/{userId}")
-        public ResponseEntity<StandardResponseDTO<Page<TaskResponseDTO>>> getAllTasksByUserId(
+        public ResponseEntity<StandardResponseDTO<PageResponseDTO<TaskResponseDTO>>> getAllTasksByUserId(
                         @PathVariable Long userId,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "6") int size,
+                        @RequestParam(required = false) TaskStatus status,
+                        @RequestParam(defaultValue = "dueDate") String sortBy,
+                        @RequestParam(defaultValue = "desc") String direction,
+                        @RequestParam(required = false) String fields,
+                        @RequestParam(defaultValue = "true") boolean includeTotal,
+                        @RequestParam(defaultValue = "false") boolean includeArchived,
                         @AuthenticationPrincipal User principal) {
 
                 // Verify the authenticated user matches the path userId
                 if (!principal.getId().equals(userId)) {
                         return new ResponseEntity<>(
-                                        StandardResponseDTO.<Page<TaskResponseDTO>>builder()
+                                        StandardResponseDTO.<PageResponseDTO<TaskResponseDTO>>builder()
                                                         .message("You can only view your own tasks")
                                                         .statusCode(HttpStatus.FORBIDDEN.value())
                                                         .build(),
                                         HttpStatus.FORBIDDEN);
                 }
+                if (!SORTABLE_FIELDS.contains(sortBy)) {
+                        throw new InvalidRequestException("Cannot sort tasks by '" + sortBy + "'");
+                }
+
+                // Default: sort by dueDate descending so newest tasks appear first
+                Pageable pageable = pageRequest(page, size, Sort.by(parseDirection(direction), sortBy));
+
+                // e.g. fields=id,title,status,dueDate for list views (default: all fields)
+                // includeTotal=false skips counting; clients page on 'hasNext' instead
+                // includeArchived=true also lists long-completed tasks moved to the archive
+                PageResponseDTO<TaskResponseDTO> tasksPage = taskService.getAllTasksByUserId(userId, status, pageable,
+                                TaskField.parse(fields), includeTotal, includeArchived);
+
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<PageResponseDTO<TaskResponseDTO>>builder()
+                                                .data(tasksPage)
+                                                .message("Tasks retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        @GetMapping("/user/{userId}/filter")
+        public ResponseEntity<StandardResponseDTO<PageResponseDTO<TaskResponseDTO>>> filterTasks(
+                        @PathVariable Long userId,
+                        @RequestParam("q") String filter,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "6") int size,
+                        @AuthenticationPrincipal User principal) {
 
-                // Modern way: Sort by dueDate descending so newest tasks appear first
-                Pageable pageable = PageRequest.of(page, size, Sort.by("dueDate").descending());
+                // Verify the authenticated user matches the path userId
+                if (!principal.getId().equals(userId)) {
+                        return new ResponseEntity<>(
+                                        StandardResponseDTO.<PageResponseDTO<TaskResponseDTO>>builder()
+                                                        .message("You can only view your own tasks")
+                                                        .statusCode(HttpStatus.FORBIDDEN.value())
+                                                        .build(),
+                                        HttpStatus.FORBIDDEN);
+                }
 
-                Page<TaskResponseDTO> tasksPage = taskService.getAllTasksByUserId(userId, pageable);
+                // e.g. q=tag:work AND NOT tag:later AND status:TODO (newest tasks first)
+                PageResponseDTO<TaskResponseDTO> tasksPage = taskService.filterTasks(userId, filter,
+                                pageRequest(page, size, Sort.unsorted()));
 
                 return ResponseEntity.ok(
-                                StandardResponseDTO.<Page<TaskResponseDTO>>builder()
+                                StandardResponseDTO.<PageResponseDTO<TaskResponseDTO>>builder()
                                                 .data(tasksPage)
                                                 .message("Tasks retrieved successfully")
                                                 .statusCode(HttpStatus.OK.value())
                                                 .build());
         }
 
+        @PostMapping("/{userId}/recurrences")
+        public ResponseEntity<StandardResponseDTO<TaskRecurrenceResponseDTO>> createRecurrence(
+                        @PathVariable Long userId,
+                        @Valid @RequestBody TaskRecurrenceRequestDTO requestDTO,
+                        @AuthenticationPrincipal User principal) {
+                // Verify the authenticated user matches the path userId
+                if (!principal.getId().equals(userId)) {
+                        return new ResponseEntity<>(
+                                        StandardResponseDTO.<TaskRecurrenceResponseDTO>builder()
+                                                        .message("You can only create recurring tasks for your own account")
+                                                        .statusCode(HttpStatus.FORBIDDEN.value())
+                                                        .build(),
+                                        HttpStatus.FORBIDDEN);
+                }
+                TaskRecurrenceResponseDTO recurrence = taskRecurrenceService.createRecurrence(requestDTO, userId);
+                return new ResponseEntity<>(
+                                StandardResponseDTO.<TaskRecurrenceResponseDTO>builder()
+                                                .data(recurrence)
+                                                .message("Recurring task created successfully")
+                                                .statusCode(HttpStatus.CREATED.value())
+                                                .build(),
+                                HttpStatus.CREATED);
+        }
+
+        @GetMapping("/user/{userId}/recurrences")
+        public ResponseEntity<StandardResponseDTO<List<TaskRecurrenceResponseDTO>>> getRecurrences(
+                        @PathVariable Long userId,
+                        @AuthenticationPrincipal User principal) {
+                // Verify the authenticated user matches the path userId
+                if (!principal.getId().equals(userId)) {
+                        return new ResponseEntity<>(
+                                        StandardResponseDTO.<List<TaskRecurrenceResponseDTO>>builder()
+                                                        .message("You can only view your own recurring tasks")
+                                                        .statusCode(HttpStatus.FORBIDDEN.value())
+                                                        .build(),
+                                        HttpStatus.FORBIDDEN);
+                }
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<List<TaskRecurrenceResponseDTO>>builder()
+                                                .data(taskRecurrenceService.getRecurrencesByUserId(userId))
+                                                .message("Recurring tasks retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        @DeleteMapping("/recurrences/{recurrenceId}")
+        public ResponseEntity<StandardResponseDTO<Void>> deleteRecurrence(
+                        @PathVariable Long recurrenceId,
+                        @AuthenticationPrincipal User principal) {
+                taskRecurrenceService.deleteRecurrence(recurrenceId, principal.getId());
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<Void>builder()
+                                                .message("Recurring task deleted successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        @GetMapping("/user/{userId}/analytics")
+        public ResponseEntity<StandardResponseDTO<TaskAnalyticsDTO>> getTaskAnalytics(
+                        @PathVariable Long userId,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @AuthenticationPrincipal User principal) {
+
+                // Verify the authenticated user matches the path userId
+                if (!principal.getId().equals(userId)) {
+                        return new ResponseEntity<>(
+                                        StandardResponseDTO.<TaskAnalyticsDTO>builder()
+                                                        .message("You can only view your own analytics")
+                                                        .statusCode(HttpStatus.FORBIDDEN.value())
+                                                        .build(),
+                                        HttpStatus.FORBIDDEN);
+                }
+
+                // Default: the last 30 days, including today
+                LocalDate end = to != null ? to : LocalDate.now();
+                LocalDate start = from != null ? from : end.minusDays(29);
+                TaskAnalyticsDTO analytics = taskAnalyticsService.getCompletionStats(userId, start, end);
+
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<TaskAnalyticsDTO>builder()
+                                                .data(analytics)
+                                                .message("Task analytics retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
         @GetMapping("/{taskId}")
         public ResponseEntity<StandardResponseDTO<TaskResponseDTO>> getTaskById(
                         @PathVariable Long taskId,
+                        @RequestParam(required = false) String fields,
                         @AuthenticationPrincipal User principal) {
-                TaskResponseDTO taskResponseDTO = taskService.getTaskById(taskId, principal.getId());
+                TaskResponseDTO taskResponseDTO = taskService.getTaskById(taskId, principal.getId(),
+                                TaskField.parse(fields));
                 return ResponseEntity.ok(
                                 StandardResponseDTO.<TaskResponseDTO>builder()
                                                 .data(taskResponseDTO)
@@ -90,6 +275,36 @@ public class TaskController {
                                                 .build());
         }
 
+        @GetMapping("/{taskId}/subtree")
+        public ResponseEntity<StandardResponseDTO<TaskTreeNodeDTO>> getSubtree(
+                        @PathVariable Long taskId,
+                        @RequestParam(defaultValue = "" + TaskService.MAX_TREE_DEPTH) int depth,
+                        @AuthenticationPrincipal User principal) {
+                TaskTreeNodeDTO tree = taskService.getSubtree(taskId, principal.getId(), depth);
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<TaskTreeNodeDTO>builder()
+                                                .data(tree)
+                                                .message("Task subtree retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
+        @GetMapping("/{taskId}/activity")
+        public ResponseEntity<StandardResponseDTO<List<TaskActivityDTO>>> getTaskActivity(
+                        @PathVariable Long taskId,
+                        @RequestParam(required = false) Long before,
+                        @RequestParam(defaultValue = "50") int limit,
+                        @AuthenticationPrincipal User principal) {
+                List<TaskActivityDTO> activity = taskActivityService.getTaskActivity(taskId, principal.getId(),
+                                before, limit);
+                return ResponseEntity.ok(
+                                StandardResponseDTO.<List<TaskActivityDTO>>builder()
+                                                .data(activity)
+                                                .message("Task activity retrieved successfully")
+                                                .statusCode(HttpStatus.OK.value())
+                                                .build());
+        }
+
         @PutMapping("/{taskId}")
         public ResponseEntity<StandardResponseDTO<TaskResponseDTO>> updateTask(
                         @PathVariable Long taskId,
@@ -115,4 +330,17 @@ public class TaskController {
                                                 .statusCode(HttpStatus.OK.value())
                                                 .build());
         }
+
+        // Larger sizes are capped, as Spring caps resolved Pageables, so a page stays bounded in memory
+        private PageRequest pageRequest(int page, int size, Sort sort) {
+                if (page < 0 || size < 1) {
+                        throw new InvalidRequestException("Page must not be negative and size must be at least 1");
+                }
+                return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), sort);
+        }
+
+        private Sort.Direction parseDirection(String direction) {
+                return Sort.Direction.fromOptionalString(direction)
+                                .orElseThrow(() -> new InvalidRequestException("Sort direction must be 'asc' or 'desc'"));
+        }
 }
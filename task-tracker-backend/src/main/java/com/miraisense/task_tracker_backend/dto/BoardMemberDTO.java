@@ -0,0 +1,15 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.miraisense.task_tracker_backend.entity.BoardRole;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BoardMemberDTO {
+    private Long userId;
+    private String email;
+    private BoardRole role;
+}
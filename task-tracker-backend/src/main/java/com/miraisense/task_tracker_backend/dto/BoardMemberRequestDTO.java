@@ -0,0 +1,15 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.miraisense.task_tracker_backend.entity.BoardRole;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardMemberRequestDTO {
+
+    @NotNull(message = "Role is required")
+    private BoardRole role;
+}
@@ -0,0 +1,16 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardRequestDTO {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be under 100 characters")
+    private String name;
+}
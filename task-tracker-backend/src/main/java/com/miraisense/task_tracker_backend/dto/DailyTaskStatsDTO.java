@@ -0,0 +1,17 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DailyTaskStatsDTO {
+    private LocalDate day;
+    private int created;
+    private int completed;
+    private Double averageHoursToDone;   // null when no timed completions that day
+}
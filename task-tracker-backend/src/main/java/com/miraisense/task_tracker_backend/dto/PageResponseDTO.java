@@ -0,0 +1,55 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of results on the wire: the items, the page position and, when requested, the total.
+ * Used instead of serializing Spring's {@code PageImpl}, whose {@code pageable}/{@code sort}
+ * sub-objects are redundant and not a stable format.
+ */
+@Getter
+@JsonSerialize(using = PageResponseDTOSerializer.class)
+public final class PageResponseDTO<T> {
+
+    private final List<T> content;
+    private final int page;             // 0-based
+    private final int size;
+    private final boolean hasNext;
+    private final Long totalElements;   // null when the total was not requested
+
+    @JsonCreator
+    public PageResponseDTO(@JsonProperty("content") List<T> content,
+            @JsonProperty("page") int page,
+            @JsonProperty("size") int size,
+            @JsonProperty("hasNext") boolean hasNext,
+            @JsonProperty("totalElements") Long totalElements) {
+        this.content = content != null ? Collections.unmodifiableList(content) : List.of();
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * The total is included only if requested and {@code slice} is a {@link Page}, i.e. it was counted.
+     */
+    public static <T> PageResponseDTO<T> from(Slice<T> slice, boolean includeTotal) {
+        Long total = includeTotal && slice instanceof Page<T> page ? page.getTotalElements() : null;
+        return new PageResponseDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total);
+    }
+
+    public Integer getTotalPages() {
+        if (totalElements == null) {
+            return null;
+        }
+        return size == 0 ? 1 : (int) ((totalElements + size - 1) / size);
+    }
+}
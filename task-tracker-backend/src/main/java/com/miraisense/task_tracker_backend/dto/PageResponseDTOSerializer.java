@@ -0,0 +1,66 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes {@link PageResponseDTO} with pre-encoded field names, resolving the item serializer once
+ * per page instead of once per item.
+ */
+public class PageResponseDTOSerializer extends StdSerializer<PageResponseDTO<?>> {
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+
+    @SuppressWarnings("unchecked")
+    public PageResponseDTOSerializer() {
+        super((Class<PageResponseDTO<?>>) (Class<?>) PageResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(PageResponseDTO<?> page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(page);
+
+        gen.writeFieldName(CONTENT);
+        List<?> content = page.getContent();
+        gen.writeStartArray(content, content.size());
+        Class<?> itemType = null;
+        JsonSerializer<Object> itemSerializer = null;
+        for (Object item : content) {
+            if (item == null) {
+                provider.defaultSerializeNull(gen);
+                continue;
+            }
+            if (item.getClass() != itemType) {
+                itemType = item.getClass();
+                itemSerializer = provider.findValueSerializer(itemType);
+            }
+            itemSerializer.serialize(item, gen, provider);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(PAGE);
+        gen.writeNumber(page.getPage());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(page.getSize());
+        gen.writeFieldName(HAS_NEXT);
+        gen.writeBoolean(page.isHasNext());
+        if (page.getTotalElements() != null) {
+            gen.writeFieldName(TOTAL_ELEMENTS);
+            gen.writeNumber(page.getTotalElements());
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(page.getTotalPages());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,20 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskActivityDTO {
+    private Long id;                    // pass as 'before' to read older entries
+    private Long taskId;
+    private Long userId;                // who made the change (the owner or a board member)
+    private String action;              // CREATED, UPDATED or DELETED
+    private List<String> changedFields; // empty unless UPDATED
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,21 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskAnalyticsDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private long created;
+    private long completed;
+    private Double completionRate;       // completed / created over the range; null if nothing was created
+    private Double averageHoursToDone;
+    private List<DailyTaskStatsDTO> days; // One entry per day in the range, zero-filled
+}
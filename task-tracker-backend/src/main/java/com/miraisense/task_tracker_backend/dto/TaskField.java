@@ -0,0 +1,60 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+
+/**
+ * Fields of {@link TaskResponseDTO} that can be requested with {@code fields=}.
+ * A selection travels as an int bitmask so queries and the serializer can test it cheaply.
+ */
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    DUE_DATE("dueDate"),
+    TAGS("tags");
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final String jsonName;
+
+    TaskField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean isIn(int fields) {
+        return (fields & bit()) != 0;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,title,status}. Null or blank selects every field;
+     * {@code id} is always included.
+     */
+    public static int parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        int mask = ID.bit();
+        for (String name : fields.split(",")) {
+            mask |= byJsonName(name.trim()).bit();
+        }
+        return mask;
+    }
+
+    private static TaskField byJsonName(String name) {
+        for (TaskField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidRequestException("Unknown task field '" + name + "'");
+    }
+}
@@ -0,0 +1,26 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskImportResultDTO {
+    private long rowsProcessed;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private boolean aborted;
+    private List<RowError> errors;   // Capped; see 'failed' for the full count
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
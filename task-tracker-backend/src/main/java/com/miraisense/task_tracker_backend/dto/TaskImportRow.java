@@ -0,0 +1,44 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One record of a CSV or NDJSON task import. In CSV files, tags are separated by ';'.
+ * Unlike the API, past due dates are accepted so historical tasks can be migrated.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({"externalId", "title", "description", "status", "dueDate", "tags"})
+public class TaskImportRow {
+
+    // Optional: id in the source tool, used as the idempotency key when present
+    @Size(max = 255, message = "External id cannot exceed 255 characters")
+    private String externalId;
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 100, message = "Title must be under 100 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    @Pattern(regexp = "^(?i)(TODO|IN_PROGRESS|DONE)?$", message = "Status must be TODO, IN_PROGRESS or DONE")
+    private String status;
+
+    // ISO-8601 local date-time, e.g. 2025-01-31T17:00:00
+    private String dueDate;
+
+    @Size(max = 10, message = "A task can have at most 10 tags")
+    private List<@Pattern(regexp = "^[A-Za-z0-9_-]{1,30}$",
+            message = "Tags may only contain letters, digits, '-' and '_' (max 30 characters)") String> tags;
+}
@@ -0,0 +1,36 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskRecurrenceRequestDTO {
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 100, message = "Title must be under 100 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    @Size(max = 10, message = "A task can have at most 10 tags")
+    private Set<@NotBlank(message = "Tags cannot be blank")
+            @Pattern(regexp = "^[A-Za-z0-9_-]{1,30}$",
+                    message = "Tags may only contain letters, digits, '-' and '_' (max 30 characters)") String> tags;
+
+    // Six-field cron expression ("0 0 9 * * MON-FRI") or a macro: @hourly, @daily, @weekly, @monthly, @yearly
+    @NotBlank(message = "Schedule is required")
+    @Size(max = 100, message = "Schedule must be under 100 characters")
+    private String schedule;
+
+    // Optional: first occurrence is the first one after this time (default: now)
+    private LocalDateTime startAt;
+}
@@ -0,0 +1,20 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskRecurrenceResponseDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private Set<String> tags;
+    private String schedule;
+    private LocalDateTime nextRunAt;   // next occurrence that has no task yet
+}
@@ -3,10 +3,12 @@ package com.miraisense.task_tracker_backend.dto;
 import com.miraisense.task_tracker_backend.entity.TaskStatus;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Getter
 @Setter
@@ -26,4 +28,16 @@ public class TaskRequestDTO {
     @FutureOrPresent(message = "Due date cannot be in the past")
     private LocalDateTime dueDate;
 
+    // Optional: left unchanged on update if null
+    @Size(max = 10, message = "A task can have at most 10 tags")
+    private Set<@NotBlank(message = "Tags cannot be blank")
+            @Pattern(regexp = "^[A-Za-z0-9_-]{1,30}$",
+                    message = "Tags may only contain letters, digits, '-' and '_' (max 30 characters)") String> tags;
+
+    // Optional: creates the task as a subtask of this task; ignored on update
+    private Long parentId;
+
+    // Optional: creates the task on this shared board (subtasks are on their parent's); ignored on update
+    private Long boardId;
+
 }
@@ -1,20 +1,29 @@
 package com.miraisense.task_tracker_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.miraisense.task_tracker_backend.entity.TaskStatus;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonSerialize(using = TaskResponseDTOSerializer.class)
 public class TaskResponseDTO {
     private Long id;
     private String title;
     private String description;
     private TaskStatus status;
     private LocalDateTime dueDate;
+    private Set<String> tags;
 
+    // Bitmask of TaskField: which fields are written to the response
+    @JsonIgnore
+    @Builder.Default
+    private int fields = TaskField.ALL;
 }
@@ -0,0 +1,121 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes only the fields selected in {@link TaskResponseDTO#getFields()}, straight to the generator
+ * with pre-encoded field names.
+ */
+public class TaskResponseDTOSerializer extends StdSerializer<TaskResponseDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DUE_DATE = new SerializedString("dueDate");
+    private static final SerializedString TAGS = new SerializedString("tags");
+
+    private static final ThreadLocal<char[]> DATE_TIME_BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
+    public TaskResponseDTOSerializer() {
+        super(TaskResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(TaskResponseDTO task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int fields = task.getFields();
+        gen.writeStartObject(task);
+        if (TaskField.ID.isIn(fields)) {
+            gen.writeFieldName(ID);
+            if (task.getId() != null) {
+                gen.writeNumber(task.getId());
+            } else {
+                gen.writeNull();
+            }
+        }
+        if (TaskField.TITLE.isIn(fields)) {
+            gen.writeFieldName(TITLE);
+            gen.writeString(task.getTitle());
+        }
+        if (TaskField.DESCRIPTION.isIn(fields)) {
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(task.getDescription());
+        }
+        if (TaskField.STATUS.isIn(fields)) {
+            gen.writeFieldName(STATUS);
+            gen.writeString(task.getStatus() != null ? task.getStatus().name() : null);
+        }
+        if (TaskField.DUE_DATE.isIn(fields)) {
+            gen.writeFieldName(DUE_DATE);
+            writeDateTime(task.getDueDate(), gen, provider);
+        }
+        if (TaskField.TAGS.isIn(fields)) {
+            gen.writeFieldName(TAGS);
+            if (task.getTags() != null) {
+                gen.writeStartArray(task.getTags(), task.getTags().size());
+                for (String tag : task.getTags()) {
+                    gen.writeString(tag);
+                }
+                gen.writeEndArray();
+            } else {
+                gen.writeNull();
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Same output as the default ISO-8601 {@code LocalDateTime} serializer, written from a reused
+     * char buffer; the default path allocates a formatter context and string per value.
+     */
+    private static void writeDateTime(LocalDateTime value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) || value.getYear() < 0
+                || value.getYear() > 9999) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        char[] buf = DATE_TIME_BUFFER.get();
+        put(buf, 0, value.getYear(), 4);
+        buf[4] = '-';
+        put(buf, 5, value.getMonthValue(), 2);
+        buf[7] = '-';
+        put(buf, 8, value.getDayOfMonth(), 2);
+        buf[10] = 'T';
+        put(buf, 11, value.getHour(), 2);
+        buf[13] = ':';
+        put(buf, 14, value.getMinute(), 2);
+        buf[16] = ':';
+        put(buf, 17, value.getSecond(), 2);
+        int length = 19;
+        int nanos = value.getNano();
+        if (nanos > 0) {
+            // Fraction without trailing zeros, as DateTimeFormatter.ISO_LOCAL_DATE_TIME prints it
+            buf[length++] = '.';
+            put(buf, length, nanos, 9);
+            length += 9;
+            while (buf[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buf, 0, length);
+    }
+
+    private static void put(char[] buf, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
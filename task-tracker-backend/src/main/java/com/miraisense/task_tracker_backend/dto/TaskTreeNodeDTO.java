@@ -0,0 +1,29 @@
+package com.miraisense.task_tracker_backend.dto;
+
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskTreeNodeDTO {
+    private Long id;
+    private Long parentId;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private LocalDateTime dueDate;
+    private Set<String> tags;
+    private int childCount;              // direct children
+    private int doneChildCount;          // direct children in DONE
+    private Double percentDone;          // doneChildCount / childCount * 100; null without children
+    @Builder.Default
+    private List<TaskTreeNodeDTO> children = new ArrayList<>();
+}
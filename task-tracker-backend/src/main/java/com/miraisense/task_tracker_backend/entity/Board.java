@@ -0,0 +1,32 @@
+package com.miraisense.task_tracker_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A board shared by its {@link BoardMember members}; tasks created on it carry its id.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "boards")
+@Builder
+public class Board {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
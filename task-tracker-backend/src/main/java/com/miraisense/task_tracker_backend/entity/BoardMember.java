@@ -0,0 +1,24 @@
+package com.miraisense.task_tracker_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A user's role on a board. Changed only through the board service, which evicts the member's
+ * cached permissions.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "board_members")
+public class BoardMember {
+
+    @EmbeddedId
+    private BoardMemberId id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BoardRole role;
+}
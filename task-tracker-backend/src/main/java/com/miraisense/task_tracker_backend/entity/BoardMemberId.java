@@ -0,0 +1,22 @@
+package com.miraisense.task_tracker_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class BoardMemberId implements Serializable {
+
+    @Column(name = "board_id")
+    private Long boardId;
+
+    @Column(name = "user_id")
+    private Long userId;
+}
@@ -0,0 +1,20 @@
+package com.miraisense.task_tracker_backend.entity;
+
+/**
+ * A member's role on a board, from least to most privileged.
+ */
+public enum BoardRole {
+    VIEWER,
+    EDITOR,
+    OWNER;
+
+    // Create, update and delete the board's tasks
+    public boolean canEditTasks() {
+        return this != VIEWER;
+    }
+
+    // Manage members and delete the board
+    public boolean canManage() {
+        return this == OWNER;
+    }
+}
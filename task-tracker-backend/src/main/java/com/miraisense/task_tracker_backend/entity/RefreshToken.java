@@ -18,9 +18,17 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Current token of the family: "<familyId>.<generation>.<random>"
     @Column(nullable = false, unique = true)
     private String token;
 
+    @Column(nullable = false, unique = true, length = 64)
+    private String familyId;
+
+    // Number of rotations since login
+    @Column(nullable = false)
+    private int generation;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -2,8 +2,11 @@ package com.miraisense.task_tracker_backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Getter
@@ -28,7 +31,35 @@ public class Task {
 
     private LocalDateTime dueDate;
 
+    private LocalDateTime createdAt;
+
+    // Set when the task moves to DONE, cleared when it is reopened
+    private LocalDateTime completedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
+
+    // Shared board the task belongs to (null: personal task). Set at creation; subtasks inherit the parent's
+    @Column(name = "board_id", updatable = false)
+    private Long boardId;
+
+    // Subtask of this task. A plain id: trees are read with one recursive query, not by traversal
+    @Column(name = "parent_id", updatable = false)
+    private Long parentId;
+
+    // Roll-up of direct children, updated in place by SQL increments; never written from the entity
+    @Column(name = "child_count", insertable = false, updatable = false)
+    private int childCount;
+
+    @Column(name = "done_child_count", insertable = false, updatable = false)
+    private int doneChildCount;
+
+    // Loaded for a whole page at once instead of one query per task
+    @ElementCollection
+    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "tag", nullable = false, length = 30)
+    @BatchSize(size = 100)
+    @Builder.Default
+    private Set<String> tags = new HashSet<>();
 }
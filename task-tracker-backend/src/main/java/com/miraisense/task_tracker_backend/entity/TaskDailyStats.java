@@ -0,0 +1,32 @@
+package com.miraisense.task_tracker_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One user's task activity on one day. Written only by
+ * {@link com.miraisense.task_tracker_backend.analytics.TaskStatsAggregator}; read-only here.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "task_daily_stats")
+public class TaskDailyStats {
+
+    @EmbeddedId
+    private TaskDailyStatsId id;
+
+    @Column(nullable = false)
+    private int createdCount;
+
+    @Column(nullable = false)
+    private int completedCount;
+
+    @Column(nullable = false)
+    private int timedCompletedCount;
+
+    @Column(name = "time_to_done_seconds", nullable = false)
+    private long timeToDoneSeconds;
+}
@@ -0,0 +1,22 @@
+package com.miraisense.task_tracker_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class TaskDailyStatsId implements Serializable {
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private LocalDate statsDate;
+}
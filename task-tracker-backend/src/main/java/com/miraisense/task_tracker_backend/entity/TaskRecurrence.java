@@ -0,0 +1,46 @@
+package com.miraisense.task_tracker_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A recurring task rule. {@link com.miraisense.task_tracker_backend.recurrence.TaskRecurrenceGenerator}
+ * creates a task for each occurrence and advances {@code nextRunAt}.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "task_recurrences")
+@Builder
+public class TaskRecurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String description;
+
+    // Comma-separated, normalized like task tags
+    private String tags;
+
+    @Column(nullable = false)
+    private String schedule;
+
+    // Advanced by the generator with a conditional update, not through the entity
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -28,6 +28,14 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private String password;
 
+    // Home shard of the user's tasks and refresh tokens; null is the primary database
+    @Column(length = 64)
+    private String shard;
+
+    // Set by the shard rebalancer while the user's data is moved; never written through the entity
+    @Column(name = "moving_to", length = 64, insertable = false, updatable = false)
+    private String movingTo;
+
     @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private List<Task> tasks;
@@ -0,0 +1,10 @@
+package com.miraisense.task_tracker_backend.event;
+
+import java.util.Collection;
+
+/**
+ * Published by the board service when members are added, removed or change role (including a
+ * board being deleted), naming exactly the users whose permissions changed.
+ */
+public record BoardMembershipChangedEvent(Long boardId, Collection<Long> userIds) {
+}
@@ -0,0 +1,23 @@
+package com.miraisense.task_tracker_backend.event;
+
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+
+/**
+ * Published by the task service for every single-task mutation.
+ * {@code userId} is the task's owner and {@code actorId} the user who made the change (a board member
+ * may change another member's task).
+ * {@code previous} is null for {@link ChangeType#CREATED}, {@code current} is null for {@link ChangeType#DELETED}.
+ */
+public record TaskChangedEvent(ChangeType type, Long userId, Long actorId, TaskResponseDTO previous,
+        TaskResponseDTO current) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public Long taskId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+}
@@ -0,0 +1,25 @@
+package com.miraisense.task_tracker_backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a task is created or crosses the DONE boundary. Feeds the daily analytics rollups.
+ * {@code createdAt} may be null for tasks that predate lifecycle tracking; for {@link Transition#REOPENED},
+ * {@code completedAt} is the completion being undone (null if it was never recorded).
+ * <p>
+ * Bulk writers publish one event for {@code count} tasks with the same transition and times.
+ */
+public record TaskLifecycleEvent(Long userId, Transition transition, LocalDateTime createdAt, LocalDateTime completedAt,
+        int count) {
+
+    // A single task's transition
+    public TaskLifecycleEvent(Long userId, Transition transition, LocalDateTime createdAt, LocalDateTime completedAt) {
+        this(userId, transition, createdAt, completedAt, 1);
+    }
+
+    public enum Transition {
+        CREATED,
+        COMPLETED,
+        REOPENED
+    }
+}
@@ -0,0 +1,8 @@
+package com.miraisense.task_tracker_backend.event;
+
+/**
+ * Published after a bulk write (e.g. an import) that changed many of a user's tasks at once.
+ * In-memory views of the user's tasks should be dropped and reloaded rather than patched.
+ */
+public record TasksBulkChangedEvent(Long userId) {
+}
@@ -0,0 +1,8 @@
+package com.miraisense.task_tracker_backend.event;
+
+/**
+ * Published by the user service once a new user's row is committed, before the registration
+ * response is sent.
+ */
+public record UserRegisteredEvent(Long userId) {
+}
@@ -7,6 +7,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,6 +39,49 @@ public class GlobalExceptionHandler {
                                 HttpStatus.CONFLICT);
         }
 
+        @ExceptionHandler(InvalidRequestException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleInvalidRequestException(InvalidRequestException ex) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message(ex.getMessage())
+                                                .statusCode(HttpStatus.BAD_REQUEST.value())
+                                                .build(),
+                                HttpStatus.BAD_REQUEST);
+        }
+
+        @ExceptionHandler(ServiceUnavailableException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleServiceUnavailableException(
+                        ServiceUnavailableException ex) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message(ex.getMessage())
+                                                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                                .build(),
+                                HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleTypeMismatchException(
+                        MethodArgumentTypeMismatchException ex) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message("Invalid value for parameter '" + ex.getName() + "'")
+                                                .statusCode(HttpStatus.BAD_REQUEST.value())
+                                                .build(),
+                                HttpStatus.BAD_REQUEST);
+        }
+
+        @ExceptionHandler(MaxUploadSizeExceededException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleMaxUploadSizeExceededException(
+                        MaxUploadSizeExceededException ex) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message("Uploaded file is too large")
+                                                .statusCode(HttpStatus.PAYLOAD_TOO_LARGE.value())
+                                                .build(),
+                                HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
         @ExceptionHandler(AuthenticationException.class)
         public ResponseEntity<StandardResponseDTO<Object>> handleAuthenticationException(AuthenticationException ex) {
                 return new ResponseEntity<>(
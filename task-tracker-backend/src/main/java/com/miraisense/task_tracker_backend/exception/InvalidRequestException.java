@@ -0,0 +1,7 @@
+package com.miraisense.task_tracker_backend.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.miraisense.task_tracker_backend.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
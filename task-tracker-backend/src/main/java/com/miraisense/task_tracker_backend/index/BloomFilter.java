@@ -0,0 +1,99 @@
+package com.miraisense.task_tracker_backend.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} never returns {@code false} for a
+ * string that was {@link #put}; it returns {@code true} for an absent string with roughly the
+ * configured probability while no more than {@link #capacity()} strings have been added.
+ * <p>
+ * Thread-safe: bits are set with CAS, so concurrent puts and reads need no locking.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final AtomicLong added = new AtomicLong();
+
+    BloomFilter(long capacity, double falsePositiveRate) {
+        long n = Math.max(1, capacity);
+        // m = -n ln(p) / ln(2)^2 bits, k = m/n ln(2) hash functions
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.capacity = n;
+    }
+
+    void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = words.get(word);
+            }
+        }
+        if (changed) {
+            added.incrementAndGet();
+        }
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Approximate number of distinct strings added: puts that set no new bit (repeats) are not counted.
+     */
+    long added() {
+        return added.get();
+    }
+
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units, then a murmur3 finalizer to spread the bits
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,184 @@
+package com.miraisense.task_tracker_backend.index;
+
+import com.miraisense.task_tracker_backend.repository.UserEmailRow;
+import com.miraisense.task_tracker_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory Bloom filter of registered emails, used by login to reject emails that were never
+ * registered without querying the users table (the shape of credential-stuffing traffic).
+ * <p>
+ * Built at startup and fed by {@link #add} on registration. Users registered through another
+ * instance are picked up by an incremental, id-ordered sync, run by the first miss after the sync
+ * interval has passed before it answers. "Absent" is final: a miss never queries the users table
+ * itself, so such a user can be rejected for at most one sync interval after registering.
+ * <p>
+ * Answers are conservative: until the filter is built, when it is disabled, while syncs fail, and
+ * for emails that the database may compare differently (non-ASCII), every email is reported as
+ * possibly present.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegisteredEmailIndex {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    // Ids are assigned at insert but become visible at commit, so recent ids are re-read on every sync
+    private static final long SYNC_LOOKBACK_IDS = 1_000;
+
+    private final UserRepository userRepository;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuildTarget;
+    private volatile long syncedUpToId;
+    private volatile long lastSyncNanos;
+    private volatile boolean syncFailing;
+
+    @Value("${app.email-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.email-filter.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${app.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.email-filter.sync-interval-ms:1000}")
+    private long syncIntervalMs;
+
+    /**
+     * {@code false} only if no user with this email existed at the last sync, at most one sync
+     * interval ago.
+     */
+    public boolean mightExist(String email) {
+        String key = normalize(email);
+        BloomFilter current = filter;
+        if (current == null || key == null || current.mightContain(key)) {
+            return true;
+        }
+        syncIfStale();
+        return syncFailing || filter.mightContain(key);
+    }
+
+    /**
+     * Records an email before its user row is inserted, so that a login racing the registration
+     * is never rejected. Adding an email whose insert then fails only costs a false positive.
+     */
+    public void add(String email) {
+        String key = normalize(email);
+        if (key == null || filter == null) {
+            return;
+        }
+        synchronized (this) {
+            filter.put(key);
+            if (rebuildTarget != null) {
+                rebuildTarget.put(key);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            syncLock.lock();
+            try {
+                rebuild();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+    }
+
+    // A sync already running elsewhere is not waited for: the filter is still within one interval
+    private void syncIfStale() {
+        if (System.nanoTime() - lastSyncNanos < syncIntervalMs * 1_000_000 || !syncLock.tryLock()) {
+            return;
+        }
+        try {
+            lastSyncNanos = System.nanoTime();
+            BloomFilter current = filter;
+            int added = load(current, Math.max(0, syncedUpToId - SYNC_LOOKBACK_IDS));
+            if (current.added() > current.capacity()) {
+                // Over capacity the false-positive rate climbs quickly; start again with room to grow
+                rebuild();
+            } else if (added > 0) {
+                log.debug("Registered-email filter synced: {} rows", added);
+            }
+            syncFailing = false;
+        } catch (RuntimeException e) {
+            log.warn("Registered-email filter sync failed", e);
+            syncFailing = true;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Caller holds syncLock
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        long users = userRepository.count();
+        BloomFilter built = new BloomFilter(Math.max(expectedUsers, users * 2), falsePositiveRate);
+        synchronized (this) {
+            rebuildTarget = built;
+        }
+        try {
+            syncedUpToId = 0;
+            int loaded = load(built, 0);
+            synchronized (this) {
+                filter = built;
+            }
+            lastSyncNanos = System.nanoTime();
+            log.info("Registered-email filter built: {} users, {} KB, in {} ms",
+                    loaded, built.sizeInBytes() / 1024, System.currentTimeMillis() - start);
+        } finally {
+            synchronized (this) {
+                rebuildTarget = null;
+            }
+        }
+    }
+
+    private int load(BloomFilter target, long afterId) {
+        int loaded = 0;
+        while (true) {
+            List<UserEmailRow> rows = userRepository.findEmailRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+            for (UserEmailRow row : rows) {
+                String key = normalize(row.getEmail());
+                if (key != null) {
+                    target.put(key);
+                }
+            }
+            loaded += rows.size();
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getId();
+                syncedUpToId = Math.max(syncedUpToId, afterId);
+            }
+            if (rows.size() < LOAD_BATCH_SIZE) {
+                return loaded;
+            }
+        }
+    }
+
+    // Emails are compared case-insensitively by the database collation; non-ASCII emails are not filtered
+    private static String normalize(String email) {
+        if (email == null) {
+            return null;
+        }
+        for (int i = 0; i < email.length(); i++) {
+            if (email.charAt(i) > 0x7F) {
+                return null;
+            }
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,167 @@
+package com.miraisense.task_tracker_backend.index;
+
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import com.miraisense.task_tracker_backend.event.TasksBulkChangedEvent;
+import com.miraisense.task_tracker_backend.repository.TaskIndexRow;
+import com.miraisense.task_tracker_backend.repository.TaskRepository;
+import com.miraisense.task_tracker_backend.repository.TaskTagRow;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-user bitmap index over task ids, by status and tag, used to answer
+ * {@link TaskFilter} expressions without scanning the tasks table.
+ * <p>
+ * Users are loaded lazily on first query and can be bulk-loaded at startup; after that
+ * they are kept in sync by {@link TaskChangedEvent}s published once the mutation commits.
+ * Applying an event is idempotent, so an event racing a concurrent load is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskBitmapIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final ShardRouter shardRouter;
+
+    private final Map<Long, UserTaskBitmaps> users = new ConcurrentHashMap<>();
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    @Value("${app.task-index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    /**
+     * Returns the ids of the user's tasks matching the filter. The result is a private copy.
+     */
+    public Roaring64Bitmap query(Long userId, TaskFilter filter) {
+        // Loading inside computeIfAbsent makes concurrent events for this user wait for the load
+        UserTaskBitmaps bitmaps = users.computeIfAbsent(userId, this::loadUser);
+        synchronized (bitmaps) {
+            return filter.evaluate(bitmaps).clone();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(event.userId());
+        }
+        users.computeIfPresent(event.userId(), (userId, bitmaps) -> {
+            synchronized (bitmaps) {
+                bitmaps.remove(event.taskId());
+                TaskResponseDTO current = event.current();
+                if (current != null) {
+                    bitmaps.add(current.getId(), current.getStatus(), current.getTags());
+                }
+            }
+            return bitmaps;
+        });
+    }
+
+    /**
+     * Drops the user's bitmaps so they are reloaded from the database on the next query.
+     */
+    public void invalidate(Long userId) {
+        users.remove(userId);
+    }
+
+    @EventListener
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(event.userId());
+        }
+        invalidate(event.userId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Bulk-loads every user's bitmaps in id-ordered batches. Users that were loaded lazily or
+     * modified while the rebuild was running keep (or later reload) their fresher state. With
+     * sharding enabled the shards are scanned in turn.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        touchedDuringRebuild.clear();
+        try {
+            Map<Long, UserTaskBitmaps> built = new HashMap<>();
+            int[] tasks = new int[1];
+            shardRouter.forEachShard(() -> tasks[0] += scan(built));
+
+            built.forEach((userId, bitmaps) -> {
+                bitmaps.optimize();
+                users.compute(userId, (id, existing) -> existing != null || touchedDuringRebuild.contains(id)
+                        ? existing
+                        : bitmaps);
+            });
+            log.info("Task bitmap index rebuilt: {} tasks for {} users in {} ms",
+                    tasks[0], built.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    // Scans the current shard's tasks into built, returning the number of tasks
+    private int scan(Map<Long, UserTaskBitmaps> built) {
+        long afterId = 0;
+        int tasks = 0;
+        while (true) {
+            List<TaskIndexRow> rows = taskRepository.findIndexRowsAfter(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (TaskIndexRow row : rows) {
+                built.computeIfAbsent(row.getUserId(), id -> new UserTaskBitmaps())
+                        .add(row.getId(), row.getStatus(), null);
+            }
+            long upToId = rows.get(rows.size() - 1).getId();
+            for (TaskTagRow tag : taskRepository.findTagRowsInRange(afterId, upToId)) {
+                built.computeIfAbsent(tag.getUserId(), id -> new UserTaskBitmaps())
+                        .addTag(tag.getTaskId(), tag.getTag());
+            }
+            tasks += rows.size();
+            afterId = upToId;
+            if (rows.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    private UserTaskBitmaps loadUser(Long userId) {
+        UserTaskBitmaps bitmaps = new UserTaskBitmaps();
+        for (TaskIndexRow row : taskRepository.findIndexRowsByUserId(userId)) {
+            bitmaps.add(row.getId(), row.getStatus(), null);
+        }
+        for (TaskTagRow tag : taskRepository.findTagRowsByUserId(userId)) {
+            bitmaps.addTag(tag.getTaskId(), tag.getTag());
+        }
+        bitmaps.optimize();
+        return bitmaps;
+    }
+}
@@ -0,0 +1,59 @@
+package com.miraisense.task_tracker_backend.index;
+
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+/**
+ * Boolean filter over task tags and status, e.g. {@code tag:work AND NOT tag:later AND status:TODO}.
+ * <p>
+ * Grammar (keywords are case-insensitive, AND binds tighter than OR):
+ * <pre>
+ * expr    := and ( OR and )*
+ * and     := unary ( AND unary )*
+ * unary   := NOT unary | '(' expr ')' | term
+ * term    := tag:&lt;name&gt; | status:&lt;TODO|IN_PROGRESS|DONE&gt;
+ * </pre>
+ */
+public sealed interface TaskFilter {
+
+    Roaring64Bitmap evaluate(UserTaskBitmaps bitmaps);
+
+    record Tag(String name) implements TaskFilter {
+        @Override
+        public Roaring64Bitmap evaluate(UserTaskBitmaps bitmaps) {
+            return bitmaps.tag(name);
+        }
+    }
+
+    record Status(TaskStatus status) implements TaskFilter {
+        @Override
+        public Roaring64Bitmap evaluate(UserTaskBitmaps bitmaps) {
+            return bitmaps.status(status);
+        }
+    }
+
+    record Not(TaskFilter operand) implements TaskFilter {
+        @Override
+        public Roaring64Bitmap evaluate(UserTaskBitmaps bitmaps) {
+            return Roaring64Bitmap.andNot(bitmaps.all(), operand.evaluate(bitmaps));
+        }
+    }
+
+    record And(TaskFilter left, TaskFilter right) implements TaskFilter {
+        @Override
+        public Roaring64Bitmap evaluate(UserTaskBitmaps bitmaps) {
+            return Roaring64Bitmap.and(left.evaluate(bitmaps), right.evaluate(bitmaps));
+        }
+    }
+
+    record Or(TaskFilter left, TaskFilter right) implements TaskFilter {
+        @Override
+        public Roaring64Bitmap evaluate(UserTaskBitmaps bitmaps) {
+            return Roaring64Bitmap.or(left.evaluate(bitmaps), right.evaluate(bitmaps));
+        }
+    }
+
+    static TaskFilter parse(String expression) {
+        return TaskFilterParser.parse(expression);
+    }
+}
@@ -0,0 +1,132 @@
+package com.miraisense.task_tracker_backend.index;
+
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recursive-descent parser for {@link TaskFilter} expressions.
+ */
+final class TaskFilterParser {
+
+    private static final int MAX_LENGTH = 500;
+
+    private final List<String> tokens;
+    private int position;
+
+    private TaskFilterParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    static TaskFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new InvalidRequestException("Filter expression is required");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new InvalidRequestException("Filter expression cannot exceed " + MAX_LENGTH + " characters");
+        }
+        TaskFilterParser parser = new TaskFilterParser(tokenize(expression));
+        TaskFilter filter = parser.parseOr();
+        if (parser.hasNext()) {
+            throw new InvalidRequestException("Unexpected token in filter: '" + parser.peek() + "'");
+        }
+        return filter;
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (char c : expression.toCharArray()) {
+            if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                if (!current.isEmpty()) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private boolean hasNext() {
+        return position < tokens.size();
+    }
+
+    private String peek() {
+        return tokens.get(position);
+    }
+
+    private boolean accept(String keyword) {
+        if (hasNext() && peek().equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private TaskFilter parseOr() {
+        TaskFilter left = parseAnd();
+        while (accept("OR")) {
+            left = new TaskFilter.Or(left, parseAnd());
+        }
+        return left;
+    }
+
+    private TaskFilter parseAnd() {
+        TaskFilter left = parseUnary();
+        while (accept("AND")) {
+            left = new TaskFilter.And(left, parseUnary());
+        }
+        return left;
+    }
+
+    private TaskFilter parseUnary() {
+        if (!hasNext()) {
+            throw new InvalidRequestException("Filter expression ended unexpectedly");
+        }
+        if (accept("NOT")) {
+            return new TaskFilter.Not(parseUnary());
+        }
+        if (accept("(")) {
+            TaskFilter inner = parseOr();
+            if (!accept(")")) {
+                throw new InvalidRequestException("Missing ')' in filter expression");
+            }
+            return inner;
+        }
+        return parseTerm(tokens.get(position++));
+    }
+
+    private TaskFilter parseTerm(String token) {
+        int colon = token.indexOf(':');
+        if (colon <= 0 || colon == token.length() - 1) {
+            throw new InvalidRequestException(
+                    "Invalid filter term '" + token + "', expected tag:<name> or status:<status>");
+        }
+        String field = token.substring(0, colon).toLowerCase(Locale.ROOT);
+        String value = token.substring(colon + 1);
+        return switch (field) {
+            case "tag" -> new TaskFilter.Tag(value.toLowerCase(Locale.ROOT));
+            case "status" -> new TaskFilter.Status(parseStatus(value));
+            default -> throw new InvalidRequestException("Unknown filter field '" + field + "'");
+        };
+    }
+
+    private static TaskStatus parseStatus(String value) {
+        try {
+            return TaskStatus.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unknown task status '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.miraisense.task_tracker_backend.index;
+
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compressed task-id bitmaps for one user: all tasks, one per {@link TaskStatus} and one per tag.
+ * Not thread-safe; {@link TaskBitmapIndex} guards each instance with its monitor.
+ */
+public final class UserTaskBitmaps {
+
+    private static final Roaring64Bitmap EMPTY = new Roaring64Bitmap();
+
+    private final Roaring64Bitmap all = new Roaring64Bitmap();
+    private final Map<TaskStatus, Roaring64Bitmap> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<String, Roaring64Bitmap> byTag = new HashMap<>();
+
+    Roaring64Bitmap all() {
+        return all;
+    }
+
+    Roaring64Bitmap status(TaskStatus status) {
+        return byStatus.getOrDefault(status, EMPTY);
+    }
+
+    Roaring64Bitmap tag(String tag) {
+        return byTag.getOrDefault(tag, EMPTY);
+    }
+
+    void add(long taskId, TaskStatus status, Collection<String> tags) {
+        all.addLong(taskId);
+        if (status != null) {
+            byStatus.computeIfAbsent(status, s -> new Roaring64Bitmap()).addLong(taskId);
+        }
+        if (tags != null) {
+            for (String tag : tags) {
+                addTag(taskId, tag);
+            }
+        }
+    }
+
+    void addTag(long taskId, String tag) {
+        byTag.computeIfAbsent(tag, t -> new Roaring64Bitmap()).addLong(taskId);
+    }
+
+    void remove(long taskId) {
+        all.removeLong(taskId);
+        for (Roaring64Bitmap bitmap : byStatus.values()) {
+            bitmap.removeLong(taskId);
+        }
+        Iterator<Roaring64Bitmap> tags = byTag.values().iterator();
+        while (tags.hasNext()) {
+            Roaring64Bitmap bitmap = tags.next();
+            bitmap.removeLong(taskId);
+            if (bitmap.isEmpty()) {
+                tags.remove();
+            }
+        }
+    }
+
+    void optimize() {
+        all.runOptimize();
+        byStatus.values().forEach(Roaring64Bitmap::runOptimize);
+        byTag.values().forEach(Roaring64Bitmap::runOptimize);
+    }
+}
@@ -0,0 +1,47 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+/**
+ * Per-thread SQL counters for the request currently being served.
+ * Backed by a reused long[] per thread so recording a statement never allocates.
+ */
+public final class RequestSqlStats {
+
+    private static final int COUNT = 0;
+    private static final int NANOS = 1;
+    private static final int STARTED_AT = 2;
+
+    private static final ThreadLocal<long[]> STATS = ThreadLocal.withInitial(() -> new long[3]);
+
+    private RequestSqlStats() {
+    }
+
+    public static void reset() {
+        long[] stats = STATS.get();
+        stats[COUNT] = 0;
+        stats[NANOS] = 0;
+        stats[STARTED_AT] = 0;
+    }
+
+    static void statementStarted() {
+        STATS.get()[STARTED_AT] = System.nanoTime();
+    }
+
+    /**
+     * Records a finished execution and returns its duration in nanoseconds.
+     */
+    static long statementFinished(int statements) {
+        long[] stats = STATS.get();
+        long elapsed = System.nanoTime() - stats[STARTED_AT];
+        stats[COUNT] += statements;
+        stats[NANOS] += elapsed;
+        return elapsed;
+    }
+
+    public static long statementCount() {
+        return STATS.get()[COUNT];
+    }
+
+    public static long elapsedNanos() {
+        return STATS.get()[NANOS];
+    }
+}
@@ -0,0 +1,84 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread phase timers for the request currently being served, rendered as a
+ * {@code Server-Timing} header. State lives in reused per-thread arrays so the timers
+ * can stay enabled in production without adding garbage to every request.
+ */
+public final class RequestTimings {
+
+    public static final String HEADER = "Server-Timing";
+
+    public enum Phase {
+        AUTH("auth"),
+        SER("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final int STARTED_AT = Phase.values().length;
+
+    private static final ThreadLocal<long[]> TIMINGS = ThreadLocal.withInitial(() -> new long[STARTED_AT + 1]);
+    private static final ThreadLocal<StringBuilder> HEADER_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(96));
+
+    private RequestTimings() {
+    }
+
+    public static void start() {
+        long[] timings = TIMINGS.get();
+        Arrays.fill(timings, 0L);
+        timings[STARTED_AT] = System.nanoTime();
+    }
+
+    public static void stop() {
+        TIMINGS.get()[STARTED_AT] = 0L;
+    }
+
+    /**
+     * True between {@link #start()} and {@link #stop()} on the current thread.
+     */
+    public static boolean isActive() {
+        return TIMINGS.get()[STARTED_AT] != 0L;
+    }
+
+    public static void add(Phase phase, long nanos) {
+        TIMINGS.get()[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Renders e.g. {@code auth;dur=1.2, db;dur=4.5;desc="3 queries", ser;dur=0.8, total;dur=7.9}.
+     * Phases that were not entered are omitted.
+     */
+    public static String headerValue() {
+        long[] timings = TIMINGS.get();
+        StringBuilder sb = HEADER_BUILDER.get();
+        sb.setLength(0);
+
+        appendPhase(sb, Phase.AUTH.metricName, timings[Phase.AUTH.ordinal()]);
+        long statements = RequestSqlStats.statementCount();
+        if (statements > 0) {
+            appendPhase(sb, "db", RequestSqlStats.elapsedNanos());
+            sb.append(";desc=\"").append(statements).append(statements == 1 ? " query\"" : " queries\"");
+        }
+        appendPhase(sb, Phase.SER.metricName, timings[Phase.SER.ordinal()]);
+        appendPhase(sb, "total", System.nanoTime() - timings[STARTED_AT]);
+        return sb.toString();
+    }
+
+    private static void appendPhase(StringBuilder sb, String name, long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        if (!sb.isEmpty()) {
+            sb.append(", ");
+        }
+        long micros = nanos / 1_000;
+        sb.append(name).append(";dur=").append(micros / 1_000).append('.').append((micros % 1_000) / 100);
+    }
+}
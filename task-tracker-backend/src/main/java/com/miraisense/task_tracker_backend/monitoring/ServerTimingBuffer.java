@@ -0,0 +1,118 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Shared by the Server-Timing message converters: a body of up to {@code maxBufferedBytes} is
+ * serialized into a reused per-thread buffer first, so the serialization time can still be
+ * reported in the {@code Server-Timing} header before the response is committed. A larger body
+ * is streamed as soon as it outgrows the buffer, with a header that has no {@code ser} entry;
+ * its serialization time is still recorded and shows up in the sampled request log.
+ */
+final class ServerTimingBuffer {
+
+    private static final ThreadLocal<ByteArrayOutputStream> BUFFER =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(8 * 1024));
+
+    private ServerTimingBuffer() {
+    }
+
+    @FunctionalInterface
+    interface BodyWriter {
+        void writeTo(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    static void write(HttpOutputMessage outputMessage, int maxBufferedBytes, BodyWriter writer) throws IOException {
+        if (!RequestTimings.isActive()) {
+            writer.writeTo(outputMessage);
+            return;
+        }
+
+        ByteArrayOutputStream buffer = BUFFER.get();
+        HttpHeaders headers = outputMessage.getHeaders();
+        SpillingBody body = new SpillingBody(buffer, maxBufferedBytes, outputMessage);
+
+        long start = System.nanoTime();
+        try {
+            writer.writeTo(new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            });
+            RequestTimings.add(RequestTimings.Phase.SER, System.nanoTime() - start);
+
+            if (!body.spilled) {
+                headers.set(RequestTimings.HEADER, RequestTimings.headerValue());
+                headers.setContentLength(buffer.size());
+                buffer.writeTo(outputMessage.getBody());
+            }
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Collects the body in the buffer until it would grow past the limit, then sends the header
+     * and what was buffered, and writes the rest straight to the response.
+     */
+    private static final class SpillingBody extends OutputStream {
+
+        private final ByteArrayOutputStream buffer;
+        private final int maxBufferedBytes;
+        private final HttpOutputMessage target;
+        private OutputStream out;
+        private boolean spilled;
+
+        SpillingBody(ByteArrayOutputStream buffer, int maxBufferedBytes, HttpOutputMessage target) {
+            this.buffer = buffer;
+            this.maxBufferedBytes = maxBufferedBytes;
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (spilled || buffer.size() >= maxBufferedBytes) {
+                spill().write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (spilled || buffer.size() + len > maxBufferedBytes) {
+                spill().write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (spilled) {
+                out.flush();
+            }
+        }
+
+        private OutputStream spill() throws IOException {
+            if (!spilled) {
+                spilled = true;
+                target.getHeaders().set(RequestTimings.HEADER, RequestTimings.headerValue());
+                out = target.getBody();
+                buffer.writeTo(out);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts the per-request phase timers and, for responses that did not go through the
+ * JSON converter, adds the {@code Server-Timing} header before the response is committed.
+ * A configurable fraction of requests is also written to the log.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final double logSampleRate;
+
+    public ServerTimingFilter(
+            @Value("${app.server-timing.enabled:true}") boolean enabled,
+            @Value("${app.server-timing.log-sample-rate:0.0}") double logSampleRate) {
+        this.enabled = enabled;
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RequestTimings.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!response.isCommitted() && !response.containsHeader(RequestTimings.HEADER)) {
+                response.setHeader(RequestTimings.HEADER, RequestTimings.headerValue());
+            }
+            if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                log.info("{} {} -> {} [{}]", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        RequestTimings.headerValue());
+            }
+            RequestTimings.stop();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR ({@code application/cbor}) converter that reports its serialization time in the {@code Server-Timing} header.
+ *
+ * @see ServerTimingBuffer
+ */
+public class ServerTimingJackson2CborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final int maxBufferedBytes;
+
+    public ServerTimingJackson2CborHttpMessageConverter(ObjectMapper objectMapper, int maxBufferedBytes) {
+        super(objectMapper);
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTimingBuffer.write(outputMessage, maxBufferedBytes, target -> super.writeInternal(object, type, target));
+    }
+}
@@ -0,0 +1,32 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Smile ({@code application/x-jackson-smile}) converter that reports its serialization time in the
+ * {@code Server-Timing} header.
+ *
+ * @see ServerTimingBuffer
+ */
+public class ServerTimingJackson2SmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    private final int maxBufferedBytes;
+
+    public ServerTimingJackson2SmileHttpMessageConverter(ObjectMapper objectMapper, int maxBufferedBytes) {
+        super(objectMapper);
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTimingBuffer.write(outputMessage, maxBufferedBytes, target -> super.writeInternal(object, type, target));
+    }
+}
@@ -0,0 +1,67 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements issued while serving each request (including the security filters)
+ * and publishes them as the {@code http.server.requests.sql.statements} distribution,
+ * tagged by route, so N+1 regressions show up on the metrics endpoint.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final long statementsWarnThreshold;
+
+    public SqlRequestMetricsFilter(MeterRegistry meterRegistry,
+            @Value("${app.sql.statements-per-request-warn:20}") long statementsWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementsWarnThreshold = statementsWarnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RequestSqlStats.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = RequestSqlStats.statementCount();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .description("SQL statements executed per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements);
+
+            if (statements > statementsWarnThreshold) {
+                log.warn("{} {} executed {} SQL statements (threshold {})",
+                        request.getMethod(), uri, statements, statementsWarnThreshold);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Times every JDBC execution, feeds {@link RequestSqlStats} and writes statements
+ * slower than the configured threshold to the {@code sql.slow} logger.
+ * Bound parameters are never logged; literals in plain (non-prepared) statements are masked.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("sql.slow");
+
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final long slowQueryThresholdNanos;
+
+    public SqlStatementListener(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats.statementStarted();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int statements = execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size();
+        long elapsed = RequestSqlStats.statementFinished(statements);
+
+        if (elapsed >= slowQueryThresholdNanos && slowQueryLog.isWarnEnabled()) {
+            slowQueryLog.warn("Slow query: {} ms, {} statement(s), success={}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), statements, execInfo.isSuccess(),
+                    describe(execInfo, queryInfoList));
+        }
+    }
+
+    private String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StringBuilder sb = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!sb.isEmpty()) {
+                sb.append(" | ");
+            }
+            String query = queryInfo.getQuery();
+            sb.append(execInfo.getStatementType() == StatementType.STATEMENT
+                    ? LITERALS.matcher(query).replaceAll("?")
+                    : query);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.miraisense.task_tracker_backend.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps delivered events in memory, for tests and local runs ({@code app.outbox.sink=memory}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory")
+public class InMemoryTaskEventSink implements TaskEventSink {
+
+    private final List<TaskOutboxEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(List<TaskOutboxEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<TaskOutboxEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,21 @@
+package com.miraisense.task_tracker_backend.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingTaskEventSink implements TaskEventSink {
+
+    @Override
+    public void deliver(List<TaskOutboxEvent> events) {
+        if (log.isDebugEnabled()) {
+            events.forEach(event -> log.debug("Task event {}: {} task {} of user {}",
+                    event.id(), event.type(), event.taskId(), event.userId()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.miraisense.task_tracker_backend.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed task change events (search indexing, notifications, a broker...).
+ * The default, {@link LoggingTaskEventSink}, only logs; another destination is plugged in by
+ * registering a bean and setting {@code app.outbox.sink} to anything but {@code log}.
+ * <p>
+ * Events arrive in order per user. Delivery is at-least-once: a batch is re-delivered if the
+ * relay fails before recording it, so consumers should be idempotent on {@link TaskOutboxEvent#id()}.
+ * Throwing fails the batch, which is retried on the next poll.
+ */
+public interface TaskEventSink {
+
+    void deliver(List<TaskOutboxEvent> events);
+}
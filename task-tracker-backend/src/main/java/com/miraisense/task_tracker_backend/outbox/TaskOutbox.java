@@ -0,0 +1,74 @@
+package com.miraisense.task_tracker_backend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miraisense.task_tracker_backend.cache.TaskDataVersions;
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Writes task change events to {@code task_outbox} inside the transaction that makes the change,
+ * so an event exists exactly when its change committed. {@link TaskOutboxRelay} delivers them.
+ * <p>
+ * Per-user order: the insert runs after {@link TaskDataVersions} has bumped the user's version,
+ * which holds the user's row lock until commit. Concurrent changes of one user therefore get
+ * their outbox ids in commit order, and the relay never sees a later id before an earlier one.
+ */
+@Component
+public class TaskOutbox {
+
+    private static final String INSERT = "INSERT INTO task_outbox "
+            + "(partition_no, user_id, task_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int partitions;
+
+    public TaskOutbox(JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.outbox.partitions:16}") int partitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.partitions = partitions;
+    }
+
+    int partitions() {
+        return partitions;
+    }
+
+    // Changing app.outbox.partitions moves users between partitions; drain the outbox first
+    int partitionOf(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), partitions);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        String payload;
+        try {
+            payload = event.current() != null ? objectMapper.writeValueAsString(event.current()) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task " + event.taskId(), e);
+        }
+        append(event.userId(), event.taskId(), TaskOutboxEvent.Type.valueOf(event.type().name()), payload);
+    }
+
+    /**
+     * Records that many of the user's tasks changed at once (e.g. an import batch). Must be called
+     * in the writing transaction, after {@link TaskDataVersions#bump}.
+     */
+    public void appendBulkChange(Long userId) {
+        append(userId, null, TaskOutboxEvent.Type.BULK_CHANGED, null);
+    }
+
+    private void append(Long userId, Long taskId, TaskOutboxEvent.Type type, String payload) {
+        jdbcTemplate.update(INSERT, partitionOf(userId), userId, taskId, type.name(), payload,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.miraisense.task_tracker_backend.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change as relayed from the outbox. {@code payload} is the task after the change as JSON
+ * (the API representation); it is null for {@link Type#DELETED} and {@link Type#BULK_CHANGED}.
+ * {@code taskId} is null for {@link Type#BULK_CHANGED}, after which consumers should resync
+ * all of the user's tasks.
+ */
+public record TaskOutboxEvent(long id, Long userId, Long taskId, Type type, String payload, LocalDateTime createdAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BULK_CHANGED
+    }
+}
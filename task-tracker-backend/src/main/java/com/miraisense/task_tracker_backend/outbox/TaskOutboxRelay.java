@@ -0,0 +1,140 @@
+package com.miraisense.task_tracker_backend.outbox;
+
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers {@code task_outbox} rows to the {@link TaskEventSink}.
+ * <p>
+ * Each partition is relayed in its own short transaction: lock the partition's row in
+ * {@code task_outbox_partitions} with {@code FOR UPDATE SKIP LOCKED} (instances relaying
+ * concurrently skip it rather than wait), read the next batch in id order, deliver it and
+ * delete it. Since one relay at a time owns a partition and a user always maps to the same
+ * partition, each user's events are delivered in order, while partitions proceed in parallel
+ * across instances. With sharding enabled every shard has its own outbox and partitions, relayed
+ * in turn.
+ */
+@Slf4j
+@Component
+public class TaskOutboxRelay {
+
+    private static final String SEED_PARTITION = "INSERT INTO task_outbox_partitions (partition_no) VALUES (?) "
+            + "ON DUPLICATE KEY UPDATE partition_no = partition_no";
+    private static final String LOCK_PARTITION = "SELECT partition_no FROM task_outbox_partitions "
+            + "WHERE partition_no = ? FOR UPDATE SKIP LOCKED";
+    private static final String SELECT_BATCH = "SELECT id, user_id, task_id, event_type, payload, created_at "
+            + "FROM task_outbox WHERE partition_no = ? ORDER BY id LIMIT ?";
+    // The delivered ids only: an event with a lower id may commit after the batch was read
+    private static final String DELETE_BATCH = "DELETE FROM task_outbox WHERE id IN (:ids)";
+    private static final String RECORD_DISPATCH = "UPDATE task_outbox_partitions "
+            + "SET last_dispatched_id = ?, dispatched_at = ? WHERE partition_no = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final TaskOutbox taskOutbox;
+    private final TaskEventSink sink;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Counter delivered;
+    private final Counter failures;
+    private volatile boolean ready;
+
+    public TaskOutboxRelay(JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ShardRouter shardRouter,
+            TaskOutbox taskOutbox,
+            TaskEventSink sink,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:500}") int batchSize,
+            @Value("${app.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.taskOutbox = taskOutbox;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.delivered = meterRegistry.counter("task.outbox.delivered");
+        this.failures = meterRegistry.counter("task.outbox.failures");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedPartitions() {
+        shardRouter.forEachShard(() -> {
+            for (int partition = 0; partition < taskOutbox.partitions(); partition++) {
+                jdbcTemplate.update(SEED_PARTITION, partition);
+            }
+        });
+        ready = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+    public void poll() {
+        if (!ready) {
+            return;
+        }
+        shardRouter.forEachShard(() -> {
+            for (int partition = 0; partition < taskOutbox.partitions(); partition++) {
+                // A full batch means there may be more: keep going, up to the per-poll cap
+                int batches = 0;
+                while (batches++ < maxBatchesPerPoll && relay(partition) == batchSize) {
+                    // continue with the same partition
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of events delivered, 0 if the partition was empty, locked or failed
+     */
+    private int relay(int partition) {
+        try {
+            Integer count = transactionTemplate.execute(tx -> {
+                if (jdbcTemplate.queryForList(LOCK_PARTITION, Integer.class, partition).isEmpty()) {
+                    return 0; // another instance is relaying it
+                }
+                List<TaskOutboxEvent> batch = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new TaskOutboxEvent(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        rs.getObject("task_id", Long.class),
+                        TaskOutboxEvent.Type.valueOf(rs.getString("event_type")),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()), partition, batchSize);
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                sink.deliver(batch);
+                long lastId = batch.get(batch.size() - 1).id();
+                namedJdbcTemplate.update(DELETE_BATCH, new MapSqlParameterSource("ids",
+                        batch.stream().map(TaskOutboxEvent::id).toList()));
+                jdbcTemplate.update(RECORD_DISPATCH, lastId, Timestamp.valueOf(LocalDateTime.now()), partition);
+                return batch.size();
+            });
+            delivered.increment(count);
+            return count;
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not relay task outbox partition {}, will retry: {}", partition, e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.miraisense.task_tracker_backend.recurrence;
+
+import com.miraisense.task_tracker_backend.cache.TaskDataVersions;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.event.TaskLifecycleEvent;
+import com.miraisense.task_tracker_backend.event.TasksBulkChangedEvent;
+import com.miraisense.task_tracker_backend.outbox.TaskOutbox;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.miraisense.task_tracker_backend.config.SchedulingConfig.BULK_SCHEDULER;
+
+/**
+ * Turns due occurrences of {@code task_recurrences} rules into tasks.
+ * <p>
+ * Each run makes one pass over the rules due within {@code lead-time}, as a keyset scan on
+ * {@code (next_run_at, id)} in batches of {@code batch-size}, so memory stays bounded however
+ * many rules there are. Per batch, in one transaction: each rule's {@code next_run_at} is advanced
+ * with a conditional update (claiming the rule against other instances), and the claimed
+ * occurrences are inserted as tasks with JDBC batching. A crash rolls both back together, and
+ * generated tasks carry {@code (recurrence_id, occurrence_at)} under a unique key, so no
+ * occurrence is ever inserted twice. With sharding enabled each shard's rules are scanned in turn.
+ */
+@Slf4j
+@Component
+public class TaskRecurrenceGenerator {
+
+    private static final String SELECT_DUE = "SELECT id, user_id, title, description, tags, schedule, next_run_at "
+            + "FROM task_recurrences WHERE next_run_at <= ? AND (next_run_at > ? OR (next_run_at = ? AND id > ?)) "
+            + "ORDER BY next_run_at, id LIMIT ?";
+    private static final String INSERT_TASK = "INSERT INTO tasks "
+            + "(title, description, status, due_date, user_id, created_at, recurrence_id, occurrence_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+    private static final String SELECT_IDS = "SELECT id, occurrence_at FROM tasks "
+            + "WHERE recurrence_id = :recurrenceId AND occurrence_at IN (:occurrences)";
+    private static final String INSERT_TAG = "INSERT INTO task_tags (task_id, tag) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE tag = tag";
+    private static final String ADVANCE = "UPDATE task_recurrences SET next_run_at = ? WHERE id = ? AND next_run_at = ?";
+
+    private static final LocalDateTime SCAN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final TaskDataVersions taskDataVersions;
+    private final TaskOutbox taskOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxOccurrencesPerRule;
+    private final Duration leadTime;
+    private final Counter generated;
+
+    public TaskRecurrenceGenerator(JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ShardRouter shardRouter,
+            TaskDataVersions taskDataVersions,
+            TaskOutbox taskOutbox,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.recurrence.batch-size:500}") int batchSize,
+            @Value("${app.recurrence.max-occurrences-per-rule:10}") int maxOccurrencesPerRule,
+            @Value("${app.recurrence.lead-time:1h}") Duration leadTime) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.taskDataVersions = taskDataVersions;
+        this.taskOutbox = taskOutbox;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxOccurrencesPerRule = maxOccurrencesPerRule;
+        this.leadTime = leadTime;
+        this.generated = meterRegistry.counter("task.recurrence.generated");
+    }
+
+    @Scheduled(fixedDelayString = "${app.recurrence.generate-interval-ms:60000}", scheduler = BULK_SCHEDULER)
+    public synchronized void generate() {
+        shardRouter.forEachShard(this::generateOnShard);
+    }
+
+    private void generateOnShard() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plus(leadTime);
+        LocalDateTime afterRunAt = SCAN_START;
+        long afterId = 0;
+        int rules = 0;
+        int tasks = 0;
+        while (true) {
+            List<Rule> batch = jdbcTemplate.query(SELECT_DUE, (rs, rowNum) -> new Rule(
+                    rs.getLong("id"),
+                    rs.getLong("user_id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    rs.getString("tags"),
+                    rs.getString("schedule"),
+                    rs.getTimestamp("next_run_at").toLocalDateTime()),
+                    Timestamp.valueOf(horizon), Timestamp.valueOf(afterRunAt), Timestamp.valueOf(afterRunAt), afterId,
+                    batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                tasks += generateBatch(batch, horizon, now);
+            } catch (RuntimeException e) {
+                // The rules stay due and are retried on the next run
+                log.warn("Could not generate tasks for {} recurrences, will retry: {}", batch.size(), e.getMessage());
+            }
+            rules += batch.size();
+            Rule last = batch.get(batch.size() - 1);
+            afterRunAt = last.nextRunAt();
+            afterId = last.id();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (rules > 0) {
+            log.info("Recurrence run: {} due rules, {} tasks generated", rules, tasks);
+        }
+    }
+
+    private int generateBatch(List<Rule> batch, LocalDateTime horizon, LocalDateTime now) {
+        List<Occurrence> occurrences = new ArrayList<>();
+        Map<Rule, LocalDateTime> nextRuns = new HashMap<>();
+        for (Rule rule : batch) {
+            CronExpression schedule;
+            try {
+                schedule = CronExpression.parse(rule.schedule());
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping recurrence id={} with invalid schedule '{}'", rule.id(), rule.schedule());
+                continue;
+            }
+            LocalDateTime at = rule.nextRunAt();
+            // Missed occurrences are caught up, a few per run
+            for (int i = 0; i < maxOccurrencesPerRule && at != null && !at.isAfter(horizon); i++) {
+                occurrences.add(new Occurrence(rule, at));
+                at = schedule.next(at);
+            }
+            // A schedule without further occurrences is parked far in the future
+            nextRuns.put(rule, at != null ? at : LocalDateTime.of(9999, 12, 31, 0, 0));
+        }
+
+        List<Map.Entry<Rule, LocalDateTime>> advances = new ArrayList<>(nextRuns.entrySet());
+        Map<Long, Integer> createdByUser = transactionTemplate.execute(tx -> {
+            // Claim the rules first: a rule another instance advanced meanwhile updates no row and is skipped
+            int[][] claimed = jdbcTemplate.batchUpdate(ADVANCE, advances, advances.size(), (ps, entry) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                ps.setLong(2, entry.getKey().id());
+                ps.setTimestamp(3, Timestamp.valueOf(entry.getKey().nextRunAt()));
+            });
+            Set<Rule> owned = new HashSet<>();
+            int row = 0;
+            for (int[] chunk : claimed) {
+                for (int count : chunk) {
+                    if (count != 0) {
+                        owned.add(advances.get(row).getKey());
+                    }
+                    row++;
+                }
+            }
+            List<Occurrence> toInsert = occurrences.stream()
+                    .filter(occurrence -> owned.contains(occurrence.rule()))
+                    .toList();
+            if (toInsert.isEmpty()) {
+                return Map.<Long, Integer>of();
+            }
+
+            // The unique (recurrence_id, occurrence_at) key turns any repeat into a no-op
+            jdbcTemplate.batchUpdate(INSERT_TASK, toInsert, toInsert.size(), (ps, occurrence) -> {
+                Rule rule = occurrence.rule();
+                ps.setString(1, rule.title());
+                ps.setString(2, rule.description());
+                ps.setString(3, TaskStatus.TODO.name());
+                ps.setTimestamp(4, Timestamp.valueOf(occurrence.at()));
+                ps.setLong(5, rule.userId());
+                ps.setTimestamp(6, Timestamp.valueOf(now));
+                ps.setLong(7, rule.id());
+                ps.setTimestamp(8, Timestamp.valueOf(occurrence.at()));
+            });
+            insertTags(toInsert);
+
+            // In user id order, so concurrent writers take the users' row locks in the same order
+            Map<Long, Integer> byUser = new TreeMap<>();
+            toInsert.forEach(occurrence -> byUser.merge(occurrence.rule().userId(), 1, Integer::sum));
+            byUser.keySet().forEach(userId -> {
+                taskDataVersions.bump(userId);
+                taskOutbox.appendBulkChange(userId);
+            });
+            return byUser;
+        });
+
+        int total = 0;
+        for (Map.Entry<Long, Integer> entry : createdByUser.entrySet()) {
+            // All of the user's occurrences (whatever their rule) were created now: one event counts them
+            eventPublisher.publishEvent(new TaskLifecycleEvent(
+                    entry.getKey(), TaskLifecycleEvent.Transition.CREATED, now, null, entry.getValue()));
+            eventPublisher.publishEvent(new TasksBulkChangedEvent(entry.getKey()));
+            total += entry.getValue();
+        }
+        generated.increment(total);
+        return total;
+    }
+
+    private void insertTags(List<Occurrence> occurrences) {
+        Map<Rule, List<LocalDateTime>> tagged = new HashMap<>();
+        for (Occurrence occurrence : occurrences) {
+            if (occurrence.rule().tags() != null) {
+                tagged.computeIfAbsent(occurrence.rule(), rule -> new ArrayList<>()).add(occurrence.at());
+            }
+        }
+        List<Object[]> tagRows = new ArrayList<>();
+        tagged.forEach((rule, times) -> {
+            Set<String> tags = new TreeSet<>(List.of(rule.tags().split(",")));
+            namedJdbcTemplate.query(SELECT_IDS, new MapSqlParameterSource("recurrenceId", rule.id())
+                    .addValue("occurrences", times.stream().map(Timestamp::valueOf).toList()), rs -> {
+                        for (String tag : tags) {
+                            tagRows.add(new Object[] {rs.getLong("id"), tag});
+                        }
+                    });
+        });
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG, tagRows);
+        }
+    }
+
+    private record Rule(long id, long userId, String title, String description, String tags, String schedule,
+            LocalDateTime nextRunAt) {
+    }
+
+    private record Occurrence(Rule rule, LocalDateTime at) {
+    }
+}
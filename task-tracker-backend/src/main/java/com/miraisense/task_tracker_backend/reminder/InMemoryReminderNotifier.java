@@ -0,0 +1,30 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps sent reminders in memory, for tests and local runs ({@code app.reminders.notifier=memory}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "memory")
+public class InMemoryReminderNotifier implements ReminderNotifier {
+
+    private final List<TaskReminder> sent = new ArrayList<>();
+
+    @Override
+    public synchronized void send(TaskReminder reminder) {
+        sent.add(reminder);
+    }
+
+    public synchronized List<TaskReminder> sent() {
+        return List.copyOf(sent);
+    }
+
+    public synchronized void clear() {
+        sent.clear();
+    }
+}
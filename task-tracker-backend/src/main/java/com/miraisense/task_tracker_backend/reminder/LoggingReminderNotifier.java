@@ -0,0 +1,17 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    @Override
+    public void send(TaskReminder reminder) {
+        log.info("Reminder: task {} '{}' of user {} is due at {}",
+                reminder.taskId(), reminder.title(), reminder.userId(), reminder.dueDate());
+    }
+}
@@ -0,0 +1,14 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+/**
+ * Sends due-date reminders (e-mail, push, a message broker...). The default,
+ * {@link LoggingReminderNotifier}, only logs; another channel is plugged in by registering a bean
+ * and setting {@code app.reminders.notifier} to anything but {@code log}.
+ * <p>
+ * Called from the scheduler thread once per reminder, after the reminder was claimed in the
+ * database; a reminder whose notification throws is not retried.
+ */
+public interface ReminderNotifier {
+
+    void send(TaskReminder reminder);
+}
@@ -0,0 +1,202 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import com.miraisense.task_tracker_backend.event.TasksBulkChangedEvent;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a reminder {@code lead-time} before each open task's due date.
+ * <p>
+ * Rather than polling {@code tasks} for upcoming due dates, the scheduler loads the next
+ * {@code window} of due tasks with one range query on the {@code due_date} index and files them
+ * in a {@link TimingWheel}; ticking the wheel does not touch the database. Task changes are
+ * applied to the wheel as they commit (reschedule or cancel, O(1)), and only the slice of time
+ * beyond the loaded window is queried again.
+ * <p>
+ * A due reminder is claimed by setting {@code tasks.reminded_for} to the due date it was sent
+ * for, conditionally, before the notifier is called: with several instances only one sends it,
+ * a restart does not send it again, and an entry that went stale (the task was completed or
+ * rescheduled) claims nothing. Moving the due date re-arms the reminder.
+ * <p>
+ * With sharding enabled the window is loaded from every shard, and claims go to the user's shard.
+ */
+@Slf4j
+@Component
+public class ReminderScheduler {
+
+    private static final String SELECT_COLUMNS = "SELECT id, user_id, title, due_date FROM tasks ";
+    private static final String SELECT_WINDOW = SELECT_COLUMNS
+            + "WHERE due_date > ? AND due_date <= ? AND status <> 'DONE' "
+            + "AND (reminded_for IS NULL OR reminded_for <> due_date)";
+    private static final String SELECT_USER_WINDOW = SELECT_COLUMNS
+            + "WHERE user_id = ? AND due_date > ? AND due_date <= ? AND status <> 'DONE' "
+            + "AND (reminded_for IS NULL OR reminded_for <> due_date)";
+    private static final String CLAIM = "UPDATE tasks SET reminded_for = due_date "
+            + "WHERE id = ? AND due_date = ? AND status <> 'DONE' "
+            + "AND (reminded_for IS NULL OR reminded_for <> due_date)";
+
+    private static final RowMapper<TaskReminder> REMINDER_MAPPER = (rs, rowNum) -> new TaskReminder(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getString("title"),
+            rs.getTimestamp("due_date").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ReminderNotifier notifier;
+    private final Duration leadTime;
+    private final Duration window;
+    private final TimingWheel<Long, TaskReminder> wheel;
+    private final Counter sent;
+
+    // Guarded by this: due dates up to here are in the wheel
+    private LocalDateTime loadedUntil;
+
+    public ReminderScheduler(JdbcTemplate jdbcTemplate,
+            ShardRouter shardRouter,
+            ReminderNotifier notifier,
+            MeterRegistry meterRegistry,
+            @Value("${app.reminders.lead-time:15m}") Duration leadTime,
+            @Value("${app.reminders.window:1h}") Duration window,
+            @Value("${app.reminders.tick-ms:1000}") long tickMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.notifier = notifier;
+        this.leadTime = leadTime;
+        this.window = window;
+        this.wheel = new TimingWheel<>(tickMs, System.currentTimeMillis());
+        this.loadedUntil = LocalDateTime.now();
+        this.sent = meterRegistry.counter("reminders.sent");
+        Gauge.builder("reminders.scheduled", this, ReminderScheduler::scheduled)
+                .description("Task reminders waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Extends the loaded window so it always reaches {@code window} past the reminders due now.
+     * The bound moves before the query, so changes committing meanwhile are filed by
+     * {@link #onTaskChanged} and not overwritten by what the query read.
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.load-interval-ms:300000}")
+    public void loadWindow() {
+        LocalDateTime from;
+        LocalDateTime until = LocalDateTime.now().plus(leadTime).plus(window);
+        synchronized (this) {
+            if (!until.isAfter(loadedUntil)) {
+                return;
+            }
+            from = loadedUntil;
+            loadedUntil = until;
+        }
+        Timestamp fromTime = Timestamp.valueOf(from);
+        List<TaskReminder> due = new ArrayList<>();
+        shardRouter.forEachShard(() -> due.addAll(jdbcTemplate.query(SELECT_WINDOW, REMINDER_MAPPER,
+                fromTime, Timestamp.valueOf(until))));
+        scheduleIfAbsent(due);
+        log.debug("Reminder window extended to {}: {} tasks loaded", until, due.size());
+    }
+
+    @Scheduled(fixedRateString = "${app.reminders.tick-ms:1000}")
+    public void tick() {
+        List<TaskReminder> fired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(System.currentTimeMillis(), (taskId, reminder) -> fired.add(reminder));
+        }
+        for (TaskReminder reminder : fired) {
+            send(reminder);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskResponseDTO task = event.current();
+        synchronized (this) {
+            if (task == null || !isPending(task.getStatus(), task.getDueDate())) {
+                wheel.cancel(event.taskId());
+                return;
+            }
+            TaskResponseDTO previous = event.previous();
+            if (previous != null && task.getDueDate().equals(previous.getDueDate())
+                    && previous.getStatus() != TaskStatus.DONE) {
+                // Unchanged due date: a scheduled reminder stays, a sent one is not re-armed
+                if (wheel.contains(task.getId())) {
+                    schedule(new TaskReminder(task.getId(), event.userId(), task.getTitle(), task.getDueDate()));
+                }
+                return;
+            }
+            schedule(new TaskReminder(task.getId(), event.userId(), task.getTitle(), task.getDueDate()));
+        }
+    }
+
+    /**
+     * Bulk writes (imports, recurring tasks) do not report individual tasks; the user's tasks in
+     * the loaded window are read again instead.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        LocalDateTime until;
+        synchronized (this) {
+            until = loadedUntil;
+        }
+        List<TaskReminder> due = shardRouter.callForUser(event.userId(), () -> jdbcTemplate.query(
+                SELECT_USER_WINDOW, REMINDER_MAPPER,
+                event.userId(), Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(until)));
+        scheduleIfAbsent(due);
+    }
+
+    private synchronized int scheduled() {
+        return wheel.size();
+    }
+
+    private synchronized void scheduleIfAbsent(List<TaskReminder> reminders) {
+        for (TaskReminder reminder : reminders) {
+            if (!wheel.contains(reminder.taskId())) {
+                schedule(reminder);
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void schedule(TaskReminder reminder) {
+        long deadline = reminder.dueDate().minus(leadTime).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        wheel.schedule(reminder.taskId(), reminder, deadline);
+    }
+
+    private boolean isPending(TaskStatus status, LocalDateTime dueDate) {
+        return status != TaskStatus.DONE && dueDate != null
+                && dueDate.isAfter(LocalDateTime.now()) && !dueDate.isAfter(loadedUntil);
+    }
+
+    private void send(TaskReminder reminder) {
+        try {
+            int claimed = shardRouter.callForUser(reminder.userId(),
+                    () -> jdbcTemplate.update(CLAIM, reminder.taskId(), Timestamp.valueOf(reminder.dueDate())));
+            if (claimed == 0) {
+                return; // sent by another instance, or the task changed since it was scheduled
+            }
+            notifier.send(reminder);
+            sent.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not send reminder for task {}: {}", reminder.taskId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder that a task is coming due.
+ */
+public record TaskReminder(Long taskId, Long userId, String title, LocalDateTime dueDate) {
+}
@@ -0,0 +1,166 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots. A slot of level
+ * {@code L} spans {@code SLOTS^L} ticks; an entry is filed at the lowest level whose range covers
+ * its delay and moves down a level each time the wheel below completes a turn ("cascading"), until
+ * it fires from level 0 on its exact tick. Scheduling, rescheduling and cancelling are O(1)
+ * (a key map plus intrusive doubly-linked slot lists); advancing costs O(1) per tick plus the
+ * entries fired or cascaded.
+ * <p>
+ * Delays beyond the wheel's range (about {@code tick * SLOTS^LEVELS}) are capped and re-filed
+ * when they cascade. Not thread-safe; {@link ReminderScheduler} guards it with a lock.
+ */
+final class TimingWheel<K, V> {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMs;
+    private final Node<K, V>[][] wheels;
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final Node<K, V> overdue = sentinel();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMs, long startMs) {
+        this.tickMs = tickMs;
+        this.currentTick = startMs / tickMs;
+        this.wheels = new Node[LEVELS][SLOTS];
+        for (Node<K, V>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = sentinel();
+            }
+        }
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+
+    /**
+     * Schedules {@code key} to fire at {@code deadlineMs}, replacing its previous schedule.
+     * A deadline in the past fires on the next {@link #advance}.
+     */
+    void schedule(K key, V value, long deadlineMs) {
+        Node<K, V> node = nodes.get(key);
+        if (node != null) {
+            node.unlink();
+        } else {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        }
+        node.value = value;
+        node.deadlineTick = Math.floorDiv(deadlineMs, tickMs);
+        file(node);
+    }
+
+    boolean cancel(K key) {
+        Node<K, V> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    /**
+     * Moves the wheel to {@code nowMs}, passing every entry that came due to {@code fire}
+     * (removed from the wheel before the call).
+     */
+    void advance(long nowMs, BiConsumer<K, V> fire) {
+        drain(overdue, fire);
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // When level L-1 completes a turn, the current slot of level L moves down
+            for (int level = 1; level < LEVELS && ((currentTick >>> (SLOT_BITS * (level - 1))) & SLOT_MASK) == 0; level++) {
+                cascade(wheels[level][(int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK]);
+            }
+            drain(wheels[0][(int) currentTick & SLOT_MASK], fire);
+        }
+        drain(overdue, fire); // entries cascaded onto the current tick
+    }
+
+    private void file(Node<K, V> node) {
+        long delay = node.deadlineTick - currentTick;
+        if (delay <= 0) {
+            overdue.append(node);
+            return;
+        }
+        long tick = node.deadlineTick;
+        if (delay > MAX_DELAY_TICKS) {
+            tick = currentTick + MAX_DELAY_TICKS; // re-filed with its real deadline when it cascades
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        wheels[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK].append(node);
+    }
+
+    private void cascade(Node<K, V> slot) {
+        Node<K, V> node = slot.next;
+        while (node != slot) {
+            Node<K, V> next = node.next;
+            node.unlink();
+            file(node);
+            node = next;
+        }
+    }
+
+    private void drain(Node<K, V> slot, BiConsumer<K, V> fire) {
+        while (slot.next != slot) {
+            Node<K, V> node = slot.next;
+            node.unlink();
+            nodes.remove(node.key);
+            fire.accept(node.key, node.value);
+        }
+    }
+
+    private static <K, V> Node<K, V> sentinel() {
+        Node<K, V> sentinel = new Node<>(null);
+        sentinel.next = sentinel;
+        sentinel.prev = sentinel;
+        return sentinel;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        long deadlineTick;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key) {
+            this.key = key;
+        }
+
+        void append(Node<K, V> node) {
+            node.prev = prev;
+            node.next = this;
+            prev.next = node;
+            prev = node;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.entity.BoardMember;
+import com.miraisense.task_tracker_backend.entity.BoardMemberId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface BoardMemberRepository extends JpaRepository<BoardMember, BoardMemberId> {
+
+    List<BoardMember> findByIdUserId(Long userId);
+
+    @Query("SELECT m.id.userId FROM BoardMember m WHERE m.id.boardId = :boardId")
+    List<Long> findUserIdsByBoardId(Long boardId);
+
+    @Query("SELECT m.id.userId AS userId, u.email AS email, m.role AS role FROM BoardMember m, User u "
+            + "WHERE m.id.boardId = :boardId AND u.id = m.id.userId ORDER BY u.email")
+    List<BoardMemberRow> findMemberRowsByBoardId(Long boardId);
+}
@@ -0,0 +1,11 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.entity.BoardRole;
+
+public interface BoardMemberRow {
+    Long getUserId();
+
+    String getEmail();
+
+    BoardRole getRole();
+}
@@ -0,0 +1,7 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.entity.Board;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BoardRepository extends JpaRepository<Board, Long> {
+}
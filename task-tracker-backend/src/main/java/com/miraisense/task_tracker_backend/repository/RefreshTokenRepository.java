@@ -4,6 +4,7 @@ import com.miraisense.task_tracker_backend.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -12,10 +13,42 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
     Optional<RefreshToken> findByToken(String token);
 
+    // --- Rotation: one indexed lookup (with the owner's id and email) and one conditional update ---
+
+    @Query("SELECT rt.familyId AS familyId, rt.generation AS generation, rt.token AS token, rt.revoked AS revoked, "
+            + "rt.expiryDate AS expiryDate, u.id AS userId, u.email AS email "
+            + "FROM RefreshToken rt JOIN rt.user u WHERE rt.familyId = :familyId")
+    Optional<RefreshTokenRow> findRowByFamilyId(String familyId);
+
+    // Tokens issued before families existed are looked up by value
+    @Query("SELECT rt.familyId AS familyId, rt.generation AS generation, rt.token AS token, rt.revoked AS revoked, "
+            + "rt.expiryDate AS expiryDate, u.id AS userId, u.email AS email "
+            + "FROM RefreshToken rt JOIN rt.user u WHERE rt.token = :token")
+    Optional<RefreshTokenRow> findRowByToken(String token);
+
+    /**
+     * Advances the family to the next token only if it is still at {@code generation} and not revoked.
+     * Returns 0 if another request rotated or revoked it first.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.token = :next, rt.generation = rt.generation + 1, rt.expiryDate = :expiryDate "
+            + "WHERE rt.familyId = :familyId AND rt.generation = :generation AND rt.revoked = false")
+    int rotate(String familyId, int generation, String next, Instant expiryDate);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.familyId = :familyId")
+    void revokeFamily(String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.familyId = :familyId")
+    void deleteFamily(String familyId);
+
     @Modifying
     @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user.id = :userId AND rt.revoked = false")
     void revokeAllByUserId(Long userId);
 
+    // Transactional itself: the purge runs it once per shard
+    @Transactional
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
     void deleteAllExpired(Instant now);
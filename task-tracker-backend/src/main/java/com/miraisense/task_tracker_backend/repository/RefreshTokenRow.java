@@ -0,0 +1,19 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import java.time.Instant;
+
+public interface RefreshTokenRow {
+    String getFamilyId();
+
+    Integer getGeneration();
+
+    String getToken();
+
+    Boolean getRevoked();
+
+    Instant getExpiryDate();
+
+    Long getUserId();
+
+    String getEmail();
+}
@@ -0,0 +1,19 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Reads over the hot {@code tasks} table and the {@code tasks_archive} cold table together.
+ */
+public interface TaskArchiveRepository {
+
+    /**
+     * Like {@link TaskFieldRepository#findFieldsByUserId}, with the user's archived tasks merged in:
+     * both tables are read by one query and ordered together, so pages are consistent across them.
+     */
+    Slice<TaskResponseDTO> findFieldsByUserIdIncludingArchived(Long userId, TaskStatus status, int fields,
+            Pageable pageable, boolean countTotal);
+}
@@ -0,0 +1,130 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.dto.TaskField;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+@RequiredArgsConstructor
+class TaskArchiveRepositoryImpl implements TaskArchiveRepository {
+
+    private static final String SELECT_HOT = "SELECT id, title, description, status, due_date, "
+            + "CAST(NULL AS CHAR(340)) AS tags, "
+            + "CASE status WHEN 'TODO' THEN 0 WHEN 'IN_PROGRESS' THEN 1 ELSE 2 END AS status_rank, 0 AS archived "
+            + "FROM tasks WHERE user_id = :userId";
+    // Archived tasks are all DONE
+    private static final String SELECT_ARCHIVED = "SELECT id, title, description, 'DONE', due_date, tags, 2, 1 "
+            + "FROM tasks_archive WHERE user_id = :userId";
+    private static final String SELECT_TAGS = "SELECT task_id, tag FROM task_tags WHERE task_id IN (:ids)";
+
+    // Sortable properties; status sorts in enum order, as in the hot table
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id", "title", "title", "status", "status_rank", "dueDate", "due_date");
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    public Slice<TaskResponseDTO> findFieldsByUserIdIncludingArchived(Long userId, TaskStatus status, int fields,
+            Pageable pageable, boolean countTotal) {
+        boolean withArchived = status == null || status == TaskStatus.DONE;
+        int limit = countTotal ? pageable.getPageSize() : pageable.getPageSize() + 1;
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                .addValue("status", status != null ? status.name() : null)
+                .addValue("limit", limit)
+                .addValue("offset", pageable.getOffset());
+
+        String sql = hot(status) + (withArchived ? " UNION ALL " + SELECT_ARCHIVED : "")
+                + " ORDER BY " + orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset";
+        List<Long> hotIds = new ArrayList<>();
+        List<TaskResponseDTO> content = namedJdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            long id = rs.getLong("id");
+            boolean archived = rs.getInt("archived") == 1;
+            if (!archived) {
+                hotIds.add(id);
+            }
+            Timestamp dueDate = rs.getTimestamp("due_date");
+            String tags = rs.getString("tags");
+            return TaskResponseDTO.builder()
+                    .id(id)
+                    .title(TaskField.TITLE.isIn(fields) ? rs.getString("title") : null)
+                    .description(TaskField.DESCRIPTION.isIn(fields) ? rs.getString("description") : null)
+                    .status(TaskField.STATUS.isIn(fields) ? TaskStatus.valueOf(rs.getString("status")) : null)
+                    .dueDate(TaskField.DUE_DATE.isIn(fields) && dueDate != null ? dueDate.toLocalDateTime() : null)
+                    .tags(TaskField.TAGS.isIn(fields)
+                            ? new TreeSet<>(archived && tags != null ? List.of(tags.split(",")) : List.of())
+                            : null)
+                    .fields(fields)
+                    .build();
+        });
+
+        boolean hasNext = !countTotal && content.size() > pageable.getPageSize();
+        List<TaskResponseDTO> pageContent = hasNext ? content.subList(0, pageable.getPageSize()) : content;
+        if (TaskField.TAGS.isIn(fields)) {
+            loadTags(pageContent, hotIds);
+        }
+        if (!countTotal) {
+            return new SliceImpl<>(pageContent, pageable, hasNext);
+        }
+        // The count query is skipped when the page itself shows the total
+        return PageableExecutionUtils.getPage(pageContent, pageable, () -> count(params, status, withArchived));
+    }
+
+    private long count(MapSqlParameterSource params, TaskStatus status, boolean withArchived) {
+        String sql = "SELECT (SELECT COUNT(*) FROM tasks WHERE user_id = :userId"
+                + (status != null ? " AND status = :status" : "") + ")"
+                + (withArchived ? " + (SELECT COUNT(*) FROM tasks_archive WHERE user_id = :userId)" : "");
+        Long count = namedJdbcTemplate.queryForObject(sql, params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static String hot(TaskStatus status) {
+        return status != null ? SELECT_HOT + " AND status = :status" : SELECT_HOT;
+    }
+
+    // id breaks ties (ascending, as in the hot-only listing) so offset paging is stable
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort tasks by " + order.getProperty());
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (sort.getOrderFor("id") == null) {
+            orderBy.add("id ASC");
+        }
+        return orderBy.toString();
+    }
+
+    private void loadTags(List<TaskResponseDTO> tasks, List<Long> hotIds) {
+        if (hotIds.isEmpty()) {
+            return;
+        }
+        Map<Long, TaskResponseDTO> byId = new HashMap<>();
+        for (TaskResponseDTO dto : tasks) {
+            byId.put(dto.getId(), dto);
+        }
+        namedJdbcTemplate.query(SELECT_TAGS, new MapSqlParameterSource("ids", hotIds), rs -> {
+            TaskResponseDTO dto = byId.get(rs.getLong("task_id"));
+            if (dto != null) {
+                dto.getTags().add(rs.getString("tag"));
+            }
+        });
+    }
+}
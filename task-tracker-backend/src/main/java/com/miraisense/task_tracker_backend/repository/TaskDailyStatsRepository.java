@@ -0,0 +1,12 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.entity.TaskDailyStats;
+import com.miraisense.task_tracker_backend.entity.TaskDailyStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TaskDailyStatsRepository extends JpaRepository<TaskDailyStats, TaskDailyStatsId> {
+    List<TaskDailyStats> findByIdUserIdAndIdStatsDateBetweenOrderByIdStatsDate(Long userId, LocalDate from, LocalDate to);
+}
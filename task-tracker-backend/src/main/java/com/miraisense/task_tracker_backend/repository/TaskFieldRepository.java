@@ -0,0 +1,27 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+
+/**
+ * Sparse-fieldset reads: only the columns selected by a {@link com.miraisense.task_tracker_backend.dto.TaskField}
+ * bitmask are fetched, and tags are queried only when requested.
+ */
+public interface TaskFieldRepository {
+
+    /**
+     * Returns a {@link org.springframework.data.domain.Page} when {@code countTotal} is set; otherwise a
+     * {@link Slice} whose next-page flag comes from reading one extra row, with no count query.
+     */
+    Slice<TaskResponseDTO> findFieldsByUserId(Long userId, TaskStatus status, int fields, Pageable pageable,
+            boolean countTotal);
+
+    Optional<OwnedTask> findFieldsById(Long taskId, int fields);
+
+    record OwnedTask(Long userId, Long boardId, TaskResponseDTO task) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.dto.TaskField;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.Task;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+class TaskFieldRepositoryImpl implements TaskFieldRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TaskResponseDTO> findFieldsByUserId(Long userId, TaskStatus status, int fields, Pageable pageable,
+            boolean countTotal) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        query.multiselect(selection(task, fields))
+                .where(ownedBy(cb, task, userId, status))
+                .orderBy(orders(pageable.getSort(), task, cb));
+
+        int limit = countTotal ? pageable.getPageSize() : pageable.getPageSize() + 1;
+        List<TaskResponseDTO> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(row -> toDto(row, fields))
+                .toList();
+
+        if (!countTotal) {
+            boolean hasNext = content.size() > pageable.getPageSize();
+            List<TaskResponseDTO> pageContent = hasNext ? content.subList(0, pageable.getPageSize()) : content;
+            loadTags(pageContent, fields);
+            return new SliceImpl<>(pageContent, pageable, hasNext);
+        }
+        loadTags(content, fields);
+        // The count query is skipped when the page itself shows the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(userId, status));
+    }
+
+    @Override
+    public Optional<OwnedTask> findFieldsById(Long taskId, int fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        List<Selection<?>> selection = selection(task, fields);
+        selection.add(task.get("user").get("id").alias("userId"));
+        selection.add(task.get("boardId").alias("boardId"));
+        query.multiselect(selection).where(cb.equal(task.get("id"), taskId));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(row -> {
+                    TaskResponseDTO dto = toDto(row, fields);
+                    loadTags(List.of(dto), fields);
+                    return new OwnedTask(row.get("userId", Long.class), row.get("boardId", Long.class), dto);
+                });
+    }
+
+    // id breaks ties (ascending, as in the in-memory working set) so offset paging is stable
+    private static List<Order> orders(Sort sort, Root<Task> task, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, task, cb));
+        if (sort.getOrderFor("id") == null) {
+            orders.add(cb.asc(task.get("id")));
+        }
+        return orders;
+    }
+
+    private long count(Long userId, TaskStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.count(task)).where(ownedBy(cb, task, userId, status));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate ownedBy(CriteriaBuilder cb, Root<Task> task, Long userId, TaskStatus status) {
+        Predicate owner = cb.equal(task.get("user").get("id"), userId);
+        return status == null ? owner : cb.and(owner, cb.equal(task.get("status"), status));
+    }
+
+    private static List<Selection<?>> selection(Root<Task> task, int fields) {
+        List<Selection<?>> selection = new ArrayList<>();
+        selection.add(task.get("id").alias("id"));
+        if (TaskField.TITLE.isIn(fields)) {
+            selection.add(task.get("title").alias("title"));
+        }
+        if (TaskField.DESCRIPTION.isIn(fields)) {
+            selection.add(task.get("description").alias("description"));
+        }
+        if (TaskField.STATUS.isIn(fields)) {
+            selection.add(task.get("status").alias("status"));
+        }
+        if (TaskField.DUE_DATE.isIn(fields)) {
+            selection.add(task.get("dueDate").alias("dueDate"));
+        }
+        return selection;
+    }
+
+    private static TaskResponseDTO toDto(Tuple row, int fields) {
+        return TaskResponseDTO.builder()
+                .id(row.get("id", Long.class))
+                .title(TaskField.TITLE.isIn(fields) ? row.get("title", String.class) : null)
+                .description(TaskField.DESCRIPTION.isIn(fields) ? row.get("description", String.class) : null)
+                .status(TaskField.STATUS.isIn(fields) ? row.get("status", TaskStatus.class) : null)
+                .dueDate(TaskField.DUE_DATE.isIn(fields) ? row.get("dueDate", LocalDateTime.class) : null)
+                .fields(fields)
+                .build();
+    }
+
+    private void loadTags(List<TaskResponseDTO> tasks, int fields) {
+        if (!TaskField.TAGS.isIn(fields) || tasks.isEmpty()) {
+            return;
+        }
+        Map<Long, TaskResponseDTO> byId = new HashMap<>();
+        for (TaskResponseDTO dto : tasks) {
+            dto.setTags(new TreeSet<>());
+            byId.put(dto.getId(), dto);
+        }
+        List<Object[]> rows = entityManager
+                .createQuery("SELECT t.id, tag FROM Task t JOIN t.tags tag WHERE t.id IN :ids", Object[].class)
+                .setParameter("ids", byId.keySet())
+                .getResultList();
+        for (Object[] row : rows) {
+            Set<String> tags = byId.get((Long) row[0]).getTags();
+            tags.add((String) row[1]);
+        }
+    }
+}
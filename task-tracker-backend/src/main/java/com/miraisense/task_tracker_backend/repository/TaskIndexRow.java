@@ -0,0 +1,11 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+
+public interface TaskIndexRow {
+    Long getId();
+
+    Long getUserId();
+
+    TaskStatus getStatus();
+}
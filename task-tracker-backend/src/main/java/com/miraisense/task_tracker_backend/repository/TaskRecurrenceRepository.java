@@ -0,0 +1,10 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.entity.TaskRecurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TaskRecurrenceRepository extends JpaRepository<TaskRecurrence, Long> {
+    List<TaskRecurrence> findByUserIdOrderById(Long userId);
+}
@@ -1,12 +1,58 @@
 package com.miraisense.task_tracker_backend.repository;
 
 import com.miraisense.task_tracker_backend.entity.Task;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskFieldRepository, TaskTreeRepository,
+        TaskArchiveRepository {
     Page<Task> findByUserId(Long id, Pageable pageable);
 
+    Page<Task> findByUserIdAndStatus(Long id, TaskStatus status, Pageable pageable);
+
+    long countByUserId(Long id);
+
+    @Query("SELECT t.user.id AS userId, t.boardId AS boardId FROM Task t WHERE t.id = :id")
+    Optional<TaskAccessRow> findAccessById(Long id);
+
+    // Row-locked until commit, so concurrent status changes of a subtask adjust its parent's counters in turn
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(Long id);
+
+    // Tasks of a set of boards (the caller's cached memberships), on the board_id index
+    Page<Task> findByBoardIdIn(Collection<Long> boardIds, Pageable pageable);
+
+    Page<Task> findByBoardIdInAndStatus(Collection<Long> boardIds, TaskStatus status, Pageable pageable);
+
+    // Whole working set in one query, tags included
+    @EntityGraph(attributePaths = "tags")
+    List<Task> findAllByUserId(Long id);
+
+    // --- Bitmap index (re)building: ids only, no entity hydration ---
+
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.status AS status FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskIndexRow> findIndexRowsAfter(Long afterId, Limit limit);
+
+    @Query("SELECT t.id AS taskId, t.user.id AS userId, tag AS tag FROM Task t JOIN t.tags tag "
+            + "WHERE t.id > :afterId AND t.id <= :upToId")
+    List<TaskTagRow> findTagRowsInRange(Long afterId, Long upToId);
+
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.status AS status FROM Task t WHERE t.user.id = :userId")
+    List<TaskIndexRow> findIndexRowsByUserId(Long userId);
+
+    @Query("SELECT t.id AS taskId, t.user.id AS userId, tag AS tag FROM Task t JOIN t.tags tag WHERE t.user.id = :userId")
+    List<TaskTagRow> findTagRowsByUserId(Long userId);
 }
@@ -0,0 +1,9 @@
+package com.miraisense.task_tracker_backend.repository;
+
+public interface TaskTagRow {
+    Long getTaskId();
+
+    Long getUserId();
+
+    String getTag();
+}
@@ -0,0 +1,40 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.dto.TaskTreeNodeDTO;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Subtask hierarchy: whole subtrees in one recursive query, and the children roll-up counters.
+ */
+public interface TaskTreeRepository {
+
+    /**
+     * The task and its descendants down to {@code maxDepth} levels, parents before children
+     * (ordered by depth, then id), tags included. Empty if the task does not exist.
+     */
+    List<TreeRow> findSubtree(Long rootId, int maxDepth);
+
+    /**
+     * Adds the deltas to the parent's {@code child_count} and {@code done_child_count}.
+     */
+    void adjustChildCounts(Long parentId, int children, int doneChildren);
+
+    /**
+     * Deletes the given tasks; their rows must not be referenced by tasks outside the list.
+     */
+    void deleteAllByIds(List<Long> ids);
+
+    /**
+     * Gives the board's subtasks their root task's owner, so each tree has one owner once the
+     * board's tasks are personal again.
+     *
+     * @return the users who gave up or took over tasks, in id order
+     */
+    Set<Long> reownBoardSubtrees(Long boardId);
+
+    // boardId: the task's board (subtasks share their root's)
+    record TreeRow(Long userId, Long boardId, int depth, TaskTreeNodeDTO node) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.miraisense.task_tracker_backend.repository;
+
+import com.miraisense.task_tracker_backend.dto.TaskTreeNodeDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@RequiredArgsConstructor
+class TaskTreeRepositoryImpl implements TaskTreeRepository {
+
+    // Tags are joined in, so a task spans one row per tag; rows of a task are adjacent
+    private static final String SELECT_SUBTREE = "WITH RECURSIVE subtree (id, depth) AS ("
+            + " SELECT id, 0 FROM tasks WHERE id = ?"
+            + " UNION ALL"
+            + " SELECT t.id, s.depth + 1 FROM tasks t JOIN subtree s ON t.parent_id = s.id WHERE s.depth < ?"
+            + ") SELECT t.id, t.parent_id, t.user_id, t.board_id, t.title, t.description, t.status, t.due_date,"
+            + " t.child_count, t.done_child_count, s.depth, tt.tag"
+            + " FROM subtree s JOIN tasks t ON t.id = s.id LEFT JOIN task_tags tt ON tt.task_id = t.id"
+            + " ORDER BY s.depth, t.id";
+
+    private static final String ADJUST_CHILD_COUNTS = "UPDATE tasks SET child_count = child_count + ?, "
+            + "done_child_count = done_child_count + ? WHERE id = ?";
+
+    // Locked: a subtask added meanwhile would keep its own owner
+    private static final String SELECT_BOARD_TREE_ROWS = "SELECT id, parent_id, user_id FROM tasks "
+            + "WHERE board_id = ? FOR UPDATE";
+    private static final String REOWN = "UPDATE tasks SET user_id = :owner WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    public List<TreeRow> findSubtree(Long rootId, int maxDepth) {
+        List<TreeRow> rows = new ArrayList<>();
+        jdbcTemplate.query(SELECT_SUBTREE, rs -> {
+            long id = rs.getLong("id");
+            TreeRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            if (last == null || last.node().getId() != id) {
+                Timestamp dueDate = rs.getTimestamp("due_date");
+                String status = rs.getString("status");
+                Long boardId = rs.getObject("board_id", Long.class);
+                last = new TreeRow(rs.getLong("user_id"), boardId, rs.getInt("depth"), TaskTreeNodeDTO.builder()
+                        .id(id)
+                        .parentId(rs.getObject("parent_id", Long.class))
+                        .title(rs.getString("title"))
+                        .description(rs.getString("description"))
+                        .status(status != null ? TaskStatus.valueOf(status) : null)
+                        .dueDate(dueDate != null ? dueDate.toLocalDateTime() : null)
+                        .tags(new TreeSet<>())
+                        .childCount(rs.getInt("child_count"))
+                        .doneChildCount(rs.getInt("done_child_count"))
+                        .build());
+                rows.add(last);
+            }
+            String tag = rs.getString("tag");
+            if (tag != null) {
+                last.node().getTags().add(tag);
+            }
+        }, rootId, maxDepth);
+        return rows;
+    }
+
+    @Override
+    public void adjustChildCounts(Long parentId, int children, int doneChildren) {
+        jdbcTemplate.update(ADJUST_CHILD_COUNTS, children, doneChildren, parentId);
+    }
+
+    @Override
+    public void deleteAllByIds(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM tasks WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    @Override
+    public Set<Long> reownBoardSubtrees(Long boardId) {
+        // id -> {parent id (null for roots), owner}; a subtask's parent is always on the same board
+        Map<Long, Long[]> rows = new HashMap<>();
+        jdbcTemplate.query(SELECT_BOARD_TREE_ROWS, rs -> {
+            rows.put(rs.getLong("id"), new Long[] {rs.getObject("parent_id", Long.class), rs.getLong("user_id")});
+        }, boardId);
+
+        Map<Long, Long> rootOwners = new HashMap<>();
+        Map<Long, List<Long>> reowned = new TreeMap<>();
+        Set<Long> users = new TreeSet<>();
+        for (Map.Entry<Long, Long[]> row : rows.entrySet()) {
+            Long owner = rootOwner(row.getKey(), rows, rootOwners);
+            if (!owner.equals(row.getValue()[1])) {
+                reowned.computeIfAbsent(owner, userId -> new ArrayList<>()).add(row.getKey());
+                users.add(owner);
+                users.add(row.getValue()[1]);
+            }
+        }
+        reowned.forEach((owner, ids) -> namedJdbcTemplate.update(REOWN,
+                new MapSqlParameterSource("owner", owner).addValue("ids", ids)));
+        return users;
+    }
+
+    private static Long rootOwner(Long id, Map<Long, Long[]> rows, Map<Long, Long> rootOwners) {
+        Long owner = rootOwners.get(id);
+        if (owner == null) {
+            Long[] row = rows.get(id);
+            owner = row[0] == null ? row[1] : rootOwner(row[0], rows, rootOwners);
+            rootOwners.put(id, owner);
+        }
+        return owner;
+    }
+}
@@ -0,0 +1,7 @@
+package com.miraisense.task_tracker_backend.repository;
+
+public interface UserEmailRow {
+    Long getId();
+
+    String getEmail();
+}
@@ -1,12 +1,40 @@
 package com.miraisense.task_tracker_backend.repository;
 
 import com.miraisense.task_tracker_backend.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    // Registered-email filter (re)building: id and email only, no entity hydration
+    @Query("SELECT u.id AS id, u.email AS email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserEmailRow> findEmailRowsAfter(Long afterId, Limit limit);
+
+    // --- Task data versions (users.tasks_version, not mapped on the entity) ---
+
+    @Query(value = "SELECT tasks_version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findTasksVersion(Long userId);
+
+    // Only where the user's data is homed (shard: the current one) and not being moved away
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET tasks_version = tasks_version + 1 WHERE id = :userId "
+            + "AND moving_to IS NULL AND (shard IS NULL OR shard = :shard)", nativeQuery = true)
+    int incrementTasksVersion(Long userId, String shard);
+
+    // --- Shard fencing for writes that do not bump the data version ---
+
+    // The user's row, locked, if the user's data is homed on the current shard and not being moved away
+    @Query(value = "SELECT id FROM users WHERE id = :userId AND moving_to IS NULL "
+            + "AND (shard IS NULL OR shard = :shard) FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockHomeRow(Long userId, String shard);
+
 }
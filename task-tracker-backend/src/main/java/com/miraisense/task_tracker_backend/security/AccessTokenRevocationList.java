@@ -0,0 +1,66 @@
+package com.miraisense.task_tracker_backend.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user "not before" epochs for access tokens, checked by {@link JwtAuthenticationFilter}
+ * with a single map lookup. Logging out moves the user's epoch to now, which invalidates every
+ * access token issued before it (tokens issued within that same second stay valid, as JWT
+ * {@code iat} has second precision).
+ * <p>
+ * Entries are dropped once every token they could reject has expired anyway, so the map only
+ * holds users who logged out within the last {@code JWT_EXPIRATION}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessTokenRevocationList {
+
+    private final TokenRevocationChannel channel;
+    private final JwtService jwtService;
+
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        channel.subscribe(this::apply);
+    }
+
+    public boolean isRevoked(String subject, Instant issuedAt) {
+        Long epoch = notBefore.get(subject);
+        return epoch != null && issuedAt.getEpochSecond() < epoch;
+    }
+
+    /**
+     * Rejects the user's access tokens issued before {@code instant}, here and (through the
+     * channel) on every other instance.
+     */
+    public void revokeIssuedBefore(String subject, Instant instant) {
+        TokenRevocation revocation = new TokenRevocation(subject, instant.getEpochSecond());
+        apply(revocation);
+        channel.publish(revocation);
+    }
+
+    void apply(TokenRevocation revocation) {
+        if (!isExpired(revocation.notBeforeEpochSecond(), Instant.now().getEpochSecond())) {
+            notBefore.merge(revocation.subject(), revocation.notBeforeEpochSecond(), Math::max);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-revocation.prune-interval-ms:60000}")
+    public void prune() {
+        long now = Instant.now().getEpochSecond();
+        notBefore.values().removeIf(epoch -> isExpired(epoch, now));
+    }
+
+    // Every token issued before the epoch has expired by now
+    private boolean isExpired(long epoch, long now) {
+        return epoch + jwtService.getExpirationMillis() / 1000 < now;
+    }
+}
@@ -0,0 +1,66 @@
+package com.miraisense.task_tracker_backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Revocations are stored in {@code users.token_not_before} and every instance polls for the
+ * recent ones. The first poll loads everything that can still affect an unexpired token.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.token-revocation.channel", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcTokenRevocationChannel implements TokenRevocationChannel {
+
+    // Re-read window for revocations written late (slow commits, clock skew between instances)
+    private static final long OVERLAP_SECONDS = 30;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Consumer<TokenRevocation>> listeners = new CopyOnWriteArrayList<>();
+    private volatile long pollFrom;
+
+    public JdbcTokenRevocationChannel(JdbcTemplate jdbcTemplate, JwtService jwtService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollFrom = Instant.now().getEpochSecond() - jwtService.getExpirationMillis() / 1000;
+    }
+
+    @Override
+    public void publish(TokenRevocation revocation) {
+        // Never moves the epoch backwards
+        jdbcTemplate.update("UPDATE users SET token_not_before = ? "
+                        + "WHERE email = ? AND (token_not_before IS NULL OR token_not_before < ?)",
+                revocation.notBeforeEpochSecond(), revocation.subject(), revocation.notBeforeEpochSecond());
+    }
+
+    @Override
+    public void subscribe(Consumer<TokenRevocation> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-revocation.poll-interval-ms:2000}")
+    public void poll() {
+        long from = pollFrom;
+        long now = Instant.now().getEpochSecond();
+        try {
+            List<TokenRevocation> revocations = jdbcTemplate.query(
+                    "SELECT email, token_not_before FROM users WHERE token_not_before >= ?",
+                    (rs, rowNum) -> new TokenRevocation(rs.getString(1), rs.getLong(2)),
+                    from);
+            for (TokenRevocation revocation : revocations) {
+                listeners.forEach(listener -> listener.accept(revocation));
+            }
+            pollFrom = Math.max(from, now - OVERLAP_SECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Token revocation poll failed", e);
+        }
+    }
+}
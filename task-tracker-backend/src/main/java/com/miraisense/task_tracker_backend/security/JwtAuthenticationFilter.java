@@ -1,5 +1,6 @@
 package com.miraisense.task_tracker_backend.security;
 
+import com.miraisense.task_tracker_backend.monitoring.RequestTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +23,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AccessTokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(
@@ -39,16 +41,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        long authStart = System.nanoTime();
         try {
             // 2 Extract token (after "Bearer ")
             jwt = authHeader.substring(7);
             userEmail = jwtService.extractUsername(jwt);
 
-            // 3. If email exists and user is not already authenticated in this request
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // 3. Tokens issued before the user's last logout are rejected (in-memory, no query)
+            boolean revoked = userEmail != null
+                    && revocationList.isRevoked(userEmail, jwtService.extractIssuedAt(jwt));
+
+            // 4. If email exists and user is not already authenticated in this request
+            if (userEmail != null && !revoked && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-                // 4. Validate token
+                // 5. Validate token
                 if (jwtService.isTokenValid(jwt, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -56,13 +63,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // 5. Update Security Context
+                    // 6. Update Security Context
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
         } catch (Exception e) {
             // token is malformed expired or invalid skip authentication
             logger.warn("JWT authentication failed: " + e.getMessage());
+        } finally {
+            RequestTimings.add(RequestTimings.Phase.AUTH, System.nanoTime() - authStart);
         }
 
         filterChain.doFilter(request, response);
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 
 @Service
@@ -34,6 +35,15 @@ public class JwtService {
         return extractAllClaims(token).getSubject();
     }
 
+    // Second precision: JWT 'iat' is a NumericDate
+    public Instant extractIssuedAt(String token) {
+        return extractAllClaims(token).getIssuedAt().toInstant();
+    }
+
+    public long getExpirationMillis() {
+        return jwtExpiration;
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
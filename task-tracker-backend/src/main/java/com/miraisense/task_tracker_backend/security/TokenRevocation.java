@@ -0,0 +1,8 @@
+package com.miraisense.task_tracker_backend.security;
+
+/**
+ * Access tokens for {@code subject} (the user's email) issued before {@code notBeforeEpochSecond}
+ * are no longer accepted.
+ */
+public record TokenRevocation(String subject, long notBeforeEpochSecond) {
+}
@@ -0,0 +1,18 @@
+package com.miraisense.task_tracker_backend.security;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries access-token revocations between instances. The default implementation,
+ * {@link JdbcTokenRevocationChannel}, polls the users table; a message broker can be plugged in
+ * by registering another bean and setting {@code app.token-revocation.channel} to anything but
+ * {@code jdbc}.
+ * <p>
+ * Delivery may repeat or reorder revocations; {@link AccessTokenRevocationList} merges them idempotently.
+ */
+public interface TokenRevocationChannel {
+
+    void publish(TokenRevocation revocation);
+
+    void subscribe(Consumer<TokenRevocation> listener);
+}
@@ -0,0 +1,26 @@
+package com.miraisense.task_tracker_backend.service;
+
+import com.miraisense.task_tracker_backend.dto.BoardMemberDTO;
+import com.miraisense.task_tracker_backend.dto.BoardRequestDTO;
+import com.miraisense.task_tracker_backend.dto.BoardResponseDTO;
+import com.miraisense.task_tracker_backend.entity.BoardRole;
+
+import java.util.List;
+
+public interface BoardService {
+    // The creator becomes the board's owner
+    BoardResponseDTO createBoard(BoardRequestDTO boardRequestDTO, Long userId);
+
+    List<BoardResponseDTO> getBoards(Long userId);
+
+    // Owners only; the board's tasks go back to being their creators' personal tasks
+    void deleteBoard(Long boardId, Long authenticatedUserId);
+
+    List<BoardMemberDTO> getMembers(Long boardId, Long authenticatedUserId);
+
+    // Owners only: adds the user to the board or changes their role
+    BoardMemberDTO setMember(Long boardId, Long memberUserId, BoardRole role, Long authenticatedUserId);
+
+    // Owners, or members leaving the board themselves
+    void removeMember(Long boardId, Long memberUserId, Long authenticatedUserId);
+}
@@ -7,9 +7,20 @@ import java.util.Optional;
 public interface RefreshTokenService {
     RefreshToken createRefreshToken(Long userId);
 
-    RefreshToken verifyAndRotate(String token);
+    RotatedRefreshToken verifyAndRotate(String token);
 
     void revokeAllUserTokens(Long userId);
 
     Optional<RefreshToken> findByToken(String token);
+
+    /**
+     * The owner encoded in the token, without a lookup; null for tokens that do not carry one.
+     */
+    Long userIdOf(String token);
+
+    /**
+     * The family's next token, with the owner needed to issue the matching access token.
+     */
+    record RotatedRefreshToken(String token, Long userId, String email) {
+    }
 }
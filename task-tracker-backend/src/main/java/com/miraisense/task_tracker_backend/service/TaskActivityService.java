@@ -0,0 +1,10 @@
+package com.miraisense.task_tracker_backend.service;
+
+import com.miraisense.task_tracker_backend.dto.TaskActivityDTO;
+
+import java.util.List;
+
+public interface TaskActivityService {
+    // Newest first; before: only entries with a smaller id (null for the latest)
+    List<TaskActivityDTO> getTaskActivity(Long taskId, Long authenticatedUserId, Long before, int limit);
+}
@@ -0,0 +1,9 @@
+package com.miraisense.task_tracker_backend.service;
+
+import com.miraisense.task_tracker_backend.dto.TaskAnalyticsDTO;
+
+import java.time.LocalDate;
+
+public interface TaskAnalyticsService {
+    TaskAnalyticsDTO getCompletionStats(Long userId, LocalDate from, LocalDate to);
+}
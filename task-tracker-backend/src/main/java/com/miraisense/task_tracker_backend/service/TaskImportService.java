@@ -0,0 +1,8 @@
+package com.miraisense.task_tracker_backend.service;
+
+import com.miraisense.task_tracker_backend.dto.TaskImportResultDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface TaskImportService {
+    TaskImportResultDTO importTasks(Long userId, MultipartFile file);
+}
@@ -0,0 +1,15 @@
+package com.miraisense.task_tracker_backend.service;
+
+import com.miraisense.task_tracker_backend.dto.TaskRecurrenceRequestDTO;
+import com.miraisense.task_tracker_backend.dto.TaskRecurrenceResponseDTO;
+
+import java.util.List;
+
+public interface TaskRecurrenceService {
+    TaskRecurrenceResponseDTO createRecurrence(TaskRecurrenceRequestDTO requestDTO, Long userId);
+
+    List<TaskRecurrenceResponseDTO> getRecurrencesByUserId(Long userId);
+
+    // Tasks already generated are kept
+    void deleteRecurrence(Long recurrenceId, Long authenticatedUserId);
+}
@@ -1,18 +1,37 @@
 package com.miraisense.task_tracker_backend.service;
 
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
 import com.miraisense.task_tracker_backend.dto.TaskRequestDTO;
 import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
-import org.springframework.data.domain.Page;
+import com.miraisense.task_tracker_backend.dto.TaskTreeNodeDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
 import org.springframework.data.domain.Pageable;
 
 public interface TaskService {
+    // Deepest subtree level read (and deleted with change events); deeper levels go by FK cascade
+    int MAX_TREE_DEPTH = 50;
+
     TaskResponseDTO createTask(TaskRequestDTO taskRequestDTO, Long userId);
 
-    Page<TaskResponseDTO> getAllTasksByUserId(Long userId, Pageable pageable);
+    // fields: TaskField bitmask (TaskField.ALL for the full representation)
+    // includeArchived: also list tasks the archiver moved out of the hot table, merged in order
+    PageResponseDTO<TaskResponseDTO> getAllTasksByUserId(Long userId, TaskStatus status, Pageable pageable, int fields,
+            boolean includeTotal, boolean includeArchived);
+
+    PageResponseDTO<TaskResponseDTO> filterTasks(Long userId, String filter, Pageable pageable);
+
+    // Tasks of one board, or of all the user's boards when boardId is null
+    PageResponseDTO<TaskResponseDTO> getBoardTasks(Long userId, Long boardId, TaskStatus status, Pageable pageable);
 
-    TaskResponseDTO getTaskById(Long taskId, Long authenticatedUserId);
+    TaskResponseDTO getTaskById(Long taskId, Long authenticatedUserId, int fields);
+
+    // The task with its subtasks nested up to maxDepth (<= MAX_TREE_DEPTH) levels below it
+    TaskTreeNodeDTO getSubtree(Long taskId, Long authenticatedUserId, int maxDepth);
 
     TaskResponseDTO updateTask(Long taskId, TaskRequestDTO taskRequestDTO, Long authenticatedUserId);
 
     void deleteTask(Long taskId, Long authenticatedUserId);
+
+    // Throws unless the user may read (write: edit) a task with this owner and board
+    void verifyAccess(Long ownerId, Long boardId, Long authenticatedUserId, boolean write);
 }
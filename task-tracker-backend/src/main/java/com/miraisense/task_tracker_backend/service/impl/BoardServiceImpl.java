@@ -0,0 +1,172 @@
+package com.miraisense.task_tracker_backend.service.impl;
+
+import com.miraisense.task_tracker_backend.cache.BoardPermissionCache;
+import com.miraisense.task_tracker_backend.cache.TaskDataVersions;
+import com.miraisense.task_tracker_backend.dto.BoardMemberDTO;
+import com.miraisense.task_tracker_backend.dto.BoardRequestDTO;
+import com.miraisense.task_tracker_backend.dto.BoardResponseDTO;
+import com.miraisense.task_tracker_backend.entity.Board;
+import com.miraisense.task_tracker_backend.entity.BoardMember;
+import com.miraisense.task_tracker_backend.entity.BoardMemberId;
+import com.miraisense.task_tracker_backend.entity.BoardRole;
+import com.miraisense.task_tracker_backend.entity.User;
+import com.miraisense.task_tracker_backend.event.BoardMembershipChangedEvent;
+import com.miraisense.task_tracker_backend.event.TasksBulkChangedEvent;
+import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.exception.ResourceNotFoundException;
+import com.miraisense.task_tracker_backend.repository.BoardMemberRepository;
+import com.miraisense.task_tracker_backend.outbox.TaskOutbox;
+import com.miraisense.task_tracker_backend.repository.BoardRepository;
+import com.miraisense.task_tracker_backend.repository.TaskRepository;
+import com.miraisense.task_tracker_backend.repository.UserRepository;
+import com.miraisense.task_tracker_backend.service.BoardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardServiceImpl implements BoardService {
+
+    private final BoardRepository boardRepository;
+    private final BoardMemberRepository boardMemberRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TaskDataVersions taskDataVersions;
+    private final TaskOutbox taskOutbox;
+    private final BoardPermissionCache boardPermissionCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public BoardResponseDTO createBoard(BoardRequestDTO boardRequestDTO, Long userId) {
+        Board board = boardRepository.save(Board.builder()
+                .name(boardRequestDTO.getName().trim())
+                .createdBy(userId)
+                .createdAt(LocalDateTime.now())
+                .build());
+        boardMemberRepository.save(new BoardMember(new BoardMemberId(board.getId(), userId), BoardRole.OWNER));
+        eventPublisher.publishEvent(new BoardMembershipChangedEvent(board.getId(), List.of(userId)));
+        log.info("Board created: '{}' (id={}) by userId: {}", board.getName(), board.getId(), userId);
+        return mapToResponseDTO(board, BoardRole.OWNER);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BoardResponseDTO> getBoards(Long userId) {
+        Map<Long, BoardRole> roles = boardPermissionCache.rolesOf(userId);
+        return boardRepository.findAllById(roles.keySet()).stream()
+                .sorted(Comparator.comparing(Board::getId))
+                .map(board -> mapToResponseDTO(board, roles.get(board.getId())))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteBoard(Long boardId, Long authenticatedUserId) {
+        requireRole(boardId, authenticatedUserId, BoardRole.OWNER);
+        List<Long> memberIds = boardMemberRepository.findUserIdsByBoardId(boardId);
+        // Members go by cascade, the board's tasks keep their rows with board_id cleared. A member's
+        // subtask of another member's task would be left in someone else's tree: it goes to the tree's owner
+        Set<Long> reownedUsers = taskRepository.reownBoardSubtrees(boardId);
+        reownedUsers.forEach(userId -> {
+            taskDataVersions.bump(userId);
+            taskOutbox.appendBulkChange(userId);
+        });
+        boardRepository.deleteById(boardId);
+        eventPublisher.publishEvent(new BoardMembershipChangedEvent(boardId, memberIds));
+        reownedUsers.forEach(userId -> eventPublisher.publishEvent(new TasksBulkChangedEvent(userId)));
+        log.info("Board deleted: id={} by userId: {}", boardId, authenticatedUserId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BoardMemberDTO> getMembers(Long boardId, Long authenticatedUserId) {
+        requireRole(boardId, authenticatedUserId, BoardRole.VIEWER);
+        return boardMemberRepository.findMemberRowsByBoardId(boardId).stream()
+                .map(row -> BoardMemberDTO.builder()
+                        .userId(row.getUserId())
+                        .email(row.getEmail())
+                        .role(row.getRole())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public BoardMemberDTO setMember(Long boardId, Long memberUserId, BoardRole role, Long authenticatedUserId) {
+        requireRole(boardId, authenticatedUserId, BoardRole.OWNER);
+        User user = userRepository.findById(memberUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + memberUserId));
+        BoardMemberId id = new BoardMemberId(boardId, memberUserId);
+        BoardMember member = boardMemberRepository.findById(id).orElse(null);
+        if (member == null) {
+            boardMemberRepository.save(new BoardMember(id, role));
+        } else if (member.getRole() != role) {
+            if (member.getRole() == BoardRole.OWNER) {
+                requireAnotherOwner(boardId, memberUserId);
+            }
+            member.setRole(role);
+        }
+        eventPublisher.publishEvent(new BoardMembershipChangedEvent(boardId, List.of(memberUserId)));
+        log.info("Board member set: boardId={} userId={} role={} by userId: {}",
+                boardId, memberUserId, role, authenticatedUserId);
+        return BoardMemberDTO.builder()
+                .userId(memberUserId)
+                .email(user.getEmail())
+                .role(role)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void removeMember(Long boardId, Long memberUserId, Long authenticatedUserId) {
+        if (!memberUserId.equals(authenticatedUserId)) {
+            requireRole(boardId, authenticatedUserId, BoardRole.OWNER);
+        }
+        BoardMember member = boardMemberRepository.findById(new BoardMemberId(boardId, memberUserId))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "User " + memberUserId + " is not a member of board " + boardId));
+        if (member.getRole() == BoardRole.OWNER) {
+            requireAnotherOwner(boardId, memberUserId);
+        }
+        boardMemberRepository.delete(member);
+        eventPublisher.publishEvent(new BoardMembershipChangedEvent(boardId, List.of(memberUserId)));
+        log.info("Board member removed: boardId={} userId={} by userId: {}", boardId, memberUserId, authenticatedUserId);
+    }
+
+    // Checked against the cached memberships; an unknown board is indistinguishable from a foreign one
+    private void requireRole(Long boardId, Long userId, BoardRole required) {
+        BoardRole role = boardPermissionCache.rolesOf(userId).get(boardId);
+        if (role == null || role.compareTo(required) < 0) {
+            throw new AuthenticationException("You do not have permission to access this board");
+        }
+    }
+
+    // A board always keeps an owner: the last one deletes the board instead of leaving it
+    private void requireAnotherOwner(Long boardId, Long userId) {
+        boolean otherOwner = boardMemberRepository.findMemberRowsByBoardId(boardId).stream()
+                .anyMatch(row -> row.getRole() == BoardRole.OWNER && !row.getUserId().equals(userId));
+        if (!otherOwner) {
+            throw new InvalidRequestException("A board must keep at least one owner");
+        }
+    }
+
+    private BoardResponseDTO mapToResponseDTO(Board board, BoardRole role) {
+        return BoardResponseDTO.builder()
+                .id(board.getId())
+                .name(board.getName())
+                .role(role)
+                .build();
+    }
+}
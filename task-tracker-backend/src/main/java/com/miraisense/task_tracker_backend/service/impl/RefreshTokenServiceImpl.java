@@ -1,11 +1,13 @@
 package com.miraisense.task_tracker_backend.service.impl;
 
 import com.miraisense.task_tracker_backend.entity.RefreshToken;
-import com.miraisense.task_tracker_backend.entity.User;
 import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import com.miraisense.task_tracker_backend.exception.ServiceUnavailableException;
 import com.miraisense.task_tracker_backend.repository.RefreshTokenRepository;
+import com.miraisense.task_tracker_backend.repository.RefreshTokenRow;
 import com.miraisense.task_tracker_backend.repository.UserRepository;
 import com.miraisense.task_tracker_backend.service.RefreshTokenService;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,17 +15,34 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.miraisense.task_tracker_backend.config.SchedulingConfig.BULK_SCHEDULER;
+
+/**
+ * Refresh tokens are grouped in families: one per login, stored as a single row holding the
+ * current token {@code <familyId>.<generation>.<random>}. Rotation advances the row in place with
+ * a conditional update; presenting an earlier generation of a family (a replayed, possibly stolen
+ * token) revokes the family by its indexed id.
+ * <p>
+ * Family ids are {@code <userId>_<uuid>}, so a presented token names the shard its row is on.
+ * Callers route by {@link #userIdOf}; the methods here work on the current shard.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
 
     @Value("${REFRESH_TOKEN_EXPIRATION:604800000}") // default 7 days in ms
     private long refreshTokenExpiration;
@@ -31,12 +50,14 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     @Transactional
     public RefreshToken createRefreshToken(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AuthenticationException("User not found"));
-
+        // The caller has just authenticated this user; a reference avoids re-reading the row
+        requireHomeShard(userId);
+        String familyId = userId + "_" + UUID.randomUUID();
         RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
+                .user(userRepository.getReferenceById(userId))
+                .familyId(familyId)
+                .generation(0)
+                .token(tokenValue(familyId, 0))
                 .expiryDate(Instant.now().plusMillis(refreshTokenExpiration))
                 .revoked(false)
                 .build();
@@ -45,41 +66,49 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     }
 
     @Override
-    @Transactional
-    public RefreshToken verifyAndRotate(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+    @Transactional(noRollbackFor = AuthenticationException.class) // keep revocations and deletions
+    public RotatedRefreshToken verifyAndRotate(String token) {
+        ParsedToken presented = ParsedToken.parse(token);
+        RefreshTokenRow family = (presented != null
+                ? refreshTokenRepository.findRowByFamilyId(presented.familyId())
+                : refreshTokenRepository.findRowByToken(token))
                 .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
 
-        // If revoked, revoke ALL tokens for this user (possible token theft)
-        if (refreshToken.isRevoked()) {
-            refreshTokenRepository.revokeAllByUserId(refreshToken.getUser().getId());
-            throw new AuthenticationException("Refresh token was revoked. All sessions have been invalidated.");
+        boolean current = family.getToken().equals(token);
+        if (!current && (presented == null || presented.generation() >= family.getGeneration())) {
+            // Not a token this family ever issued
+            throw new AuthenticationException("Invalid refresh token");
+        }
+        requireHomeShard(family.getUserId());
+
+        // An earlier generation, or a revoked family, means the token was replayed (possible token theft)
+        if (!current || family.getRevoked()) {
+            revokeFamily(family);
         }
 
         // If expired, delete and throw
-        if (refreshToken.isExpired()) {
-            refreshTokenRepository.delete(refreshToken);
+        if (family.getExpiryDate().isBefore(Instant.now())) {
+            refreshTokenRepository.deleteFamily(family.getFamilyId());
             throw new AuthenticationException("Refresh token expired. Please login again.");
         }
 
-        // Rotate: revoke old token, issue new one
-        refreshToken.setRevoked(true);
-        refreshTokenRepository.save(refreshToken);
-
-        // Create new refresh token for the same user
-        RefreshToken newRefreshToken = RefreshToken.builder()
-                .user(refreshToken.getUser())
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenExpiration))
-                .revoked(false)
-                .build();
+        // Rotate: only one request can advance the family from this generation
+        int nextGeneration = family.getGeneration() + 1;
+        String next = tokenValue(family.getFamilyId(), nextGeneration);
+        int rotated = refreshTokenRepository.rotate(family.getFamilyId(), family.getGeneration(), next,
+                Instant.now().plusMillis(refreshTokenExpiration));
+        if (rotated == 0) {
+            // A concurrent request presented the same token and won
+            revokeFamily(family);
+        }
 
-        return refreshTokenRepository.save(newRefreshToken);
+        return new RotatedRefreshToken(next, family.getUserId(), family.getEmail());
     }
 
     @Override
     @Transactional
     public void revokeAllUserTokens(Long userId) {
+        requireHomeShard(userId);
         refreshTokenRepository.revokeAllByUserId(userId);
     }
 
@@ -88,10 +117,67 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         return refreshTokenRepository.findByToken(token);
     }
 
-    @Scheduled(cron = "0 0 3 * * *") // Run daily at 3 AM
-    @Transactional
+    @Override
+    public Long userIdOf(String token) {
+        ParsedToken parsed = ParsedToken.parse(token);
+        return parsed != null ? parsed.userId() : null;
+    }
+
+    @Scheduled(cron = "0 0 3 * * *", scheduler = BULK_SCHEDULER) // Run daily at 3 AM
     public void purgeExpiredTokens() {
-        refreshTokenRepository.deleteAllExpired(Instant.now());
+        Instant now = Instant.now();
+        shardRouter.forEachShard(() -> refreshTokenRepository.deleteAllExpired(now));
         log.info("Purged expired refresh tokens");
     }
+
+    // A token written to a shard the user is being moved away from would be lost with the old rows
+    private void requireHomeShard(Long userId) {
+        if (shardRouter.isEnabled() && userRepository.lockHomeRow(userId, shardRouter.currentShard()).isEmpty()) {
+            throw new ServiceUnavailableException("Sessions of user " + userId + " are being moved, try again");
+        }
+    }
+
+    private void revokeFamily(RefreshTokenRow family) {
+        refreshTokenRepository.revokeFamily(family.getFamilyId());
+        log.warn("Refresh token reuse detected: revoked token family for userId: {}", family.getUserId());
+        throw new AuthenticationException("Refresh token was revoked. This session has been invalidated.");
+    }
+
+    private static String tokenValue(String familyId, int generation) {
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        return familyId + '.' + generation + '.' + TOKEN_ENCODER.encodeToString(random);
+    }
+
+    private record ParsedToken(String familyId, int generation, Long userId) {
+
+        // null for tokens issued before families existed (plain UUIDs)
+        static ParsedToken parse(String token) {
+            int first = token.indexOf('.');
+            int second = token.indexOf('.', first + 1);
+            if (first <= 0 || second < 0) {
+                return null;
+            }
+            try {
+                String familyId = token.substring(0, first);
+                return new ParsedToken(familyId, Integer.parseInt(token.substring(first + 1, second)),
+                        userIdOf(familyId));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        // null for families created before their ids carried the owner (plain UUIDs, 'legacy-<id>')
+        private static Long userIdOf(String familyId) {
+            int separator = familyId.indexOf('_');
+            if (separator <= 0) {
+                return null;
+            }
+            try {
+                return Long.valueOf(familyId.substring(0, separator));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.miraisense.task_tracker_backend.service.impl;
+
+import com.miraisense.task_tracker_backend.dto.TaskActivityDTO;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.exception.ResourceNotFoundException;
+import com.miraisense.task_tracker_backend.repository.TaskAccessRow;
+import com.miraisense.task_tracker_backend.repository.TaskRepository;
+import com.miraisense.task_tracker_backend.service.TaskActivityService;
+import com.miraisense.task_tracker_backend.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the {@code task_activity} trail written by the activity log. A task's trail is readable
+ * by whoever may read the task (its owner, or the members of its board); once the task is
+ * deleted, by its owner only, so other users' tasks look the same as missing ones.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskActivityServiceImpl implements TaskActivityService {
+
+    private static final int MAX_LIMIT = 200;
+
+    private static final String SELECT = "SELECT id, task_id, user_id, actor_id, action, changed_fields, occurred_at "
+            + "FROM task_activity WHERE task_id = ? AND user_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+
+    @Override
+    public List<TaskActivityDTO> getTaskActivity(Long taskId, Long authenticatedUserId, Long before, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        // Entries are stored under the task's owner
+        Long ownerId = authenticatedUserId;
+        Optional<TaskAccessRow> task = taskRepository.findAccessById(taskId);
+        if (task.isPresent()) {
+            taskService.verifyAccess(task.get().getUserId(), task.get().getBoardId(), authenticatedUserId, false);
+            ownerId = task.get().getUserId();
+        }
+        List<TaskActivityDTO> activity = jdbcTemplate.query(SELECT, (rs, rowNum) -> {
+            String changedFields = rs.getString("changed_fields");
+            return TaskActivityDTO.builder()
+                    .id(rs.getLong("id"))
+                    .taskId(rs.getLong("task_id"))
+                    // Entries written before actors were recorded are the owner's
+                    .userId(rs.getObject("actor_id") != null ? rs.getLong("actor_id") : rs.getLong("user_id"))
+                    .action(rs.getString("action"))
+                    .changedFields(changedFields != null ? Arrays.asList(changedFields.split(",")) : List.of())
+                    .occurredAt(rs.getTimestamp("occurred_at").toLocalDateTime())
+                    .build();
+        }, taskId, ownerId, before != null ? before : Long.MAX_VALUE, limit);
+
+        if (activity.isEmpty() && before == null) {
+            throw new ResourceNotFoundException("No activity found for task id: " + taskId);
+        }
+        return activity;
+    }
+}
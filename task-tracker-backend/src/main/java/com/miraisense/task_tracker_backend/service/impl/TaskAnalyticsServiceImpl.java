@@ -0,0 +1,84 @@
+package com.miraisense.task_tracker_backend.service.impl;
+
+import com.miraisense.task_tracker_backend.dto.DailyTaskStatsDTO;
+import com.miraisense.task_tracker_backend.dto.TaskAnalyticsDTO;
+import com.miraisense.task_tracker_backend.entity.TaskDailyStats;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.repository.TaskDailyStatsRepository;
+import com.miraisense.task_tracker_backend.service.TaskAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads only the daily rollups, so the cost depends on the number of days requested,
+ * not on how many tasks the user has.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskAnalyticsServiceImpl implements TaskAnalyticsService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final TaskDailyStatsRepository taskDailyStatsRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskAnalyticsDTO getCompletionStats(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<LocalDate, TaskDailyStats> byDay = taskDailyStatsRepository
+                .findByIdUserIdAndIdStatsDateBetweenOrderByIdStatsDate(userId, from, to).stream()
+                .collect(Collectors.toMap(stats -> stats.getId().getStatsDate(), Function.identity()));
+
+        List<DailyTaskStatsDTO> days = new ArrayList<>();
+        long created = 0;
+        long completed = 0;
+        long timedCompleted = 0;
+        long timeToDoneSeconds = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            TaskDailyStats stats = byDay.get(day);
+            if (stats == null) {
+                days.add(DailyTaskStatsDTO.builder().day(day).build());
+                continue;
+            }
+            created += stats.getCreatedCount();
+            completed += stats.getCompletedCount();
+            timedCompleted += stats.getTimedCompletedCount();
+            timeToDoneSeconds += stats.getTimeToDoneSeconds();
+            days.add(DailyTaskStatsDTO.builder()
+                    .day(day)
+                    .created(stats.getCreatedCount())
+                    .completed(stats.getCompletedCount())
+                    .averageHoursToDone(averageHours(stats.getTimeToDoneSeconds(), stats.getTimedCompletedCount()))
+                    .build());
+        }
+
+        return TaskAnalyticsDTO.builder()
+                .from(from)
+                .to(to)
+                .created(created)
+                .completed(completed)
+                .completionRate(created > 0 ? (double) completed / created : null)
+                .averageHoursToDone(averageHours(timeToDoneSeconds, timedCompleted))
+                .days(days)
+                .build();
+    }
+
+    private static Double averageHours(long totalSeconds, long count) {
+        return count > 0 ? totalSeconds / 3600.0 / count : null;
+    }
+}
@@ -0,0 +1,328 @@
+package com.miraisense.task_tracker_backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.miraisense.task_tracker_backend.cache.TaskDataVersions;
+import com.miraisense.task_tracker_backend.dto.TaskImportResultDTO;
+import com.miraisense.task_tracker_backend.dto.TaskImportRow;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.event.TaskLifecycleEvent;
+import com.miraisense.task_tracker_backend.event.TasksBulkChangedEvent;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.outbox.TaskOutbox;
+import com.miraisense.task_tracker_backend.service.TaskImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Streams a CSV or NDJSON upload through parse → validate → batch insert.
+ * <p>
+ * Only one batch is held in memory at a time. Each batch is written in its own transaction
+ * with JDBC batching (IDENTITY ids rule out Hibernate batching). Every row gets an import key
+ * (its external id, or its position and content), and (user_id, import_key) is unique, so
+ * retrying the same upload skips rows that were already imported.
+ */
+@Slf4j
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (title, description, status, due_date, user_id, import_key, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+    private static final String INSERT_TAG = "INSERT INTO task_tags (task_id, tag) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE tag = tag";
+    private static final String SELECT_IDS_BY_KEY = "SELECT import_key, id FROM tasks "
+            + "WHERE user_id = :userId AND import_key IN (:keys)";
+    // The batch's own rows: a key a concurrent import inserted first was skipped and has another created_at
+    private static final String SELECT_INSERTED_IDS = SELECT_IDS_BY_KEY + " AND created_at = :createdAt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskDataVersions taskDataVersions;
+    private final TaskOutbox taskOutbox;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+
+    public TaskImportServiceImpl(JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            TaskDataVersions taskDataVersions,
+            TaskOutbox taskOutbox,
+            ObjectMapper objectMapper,
+            @Value("${app.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.taskDataVersions = taskDataVersions;
+        this.taskOutbox = taskOutbox;
+        this.batchSize = batchSize;
+        this.ndjsonReader = objectMapper.readerFor(TaskImportRow.class);
+        this.csvReader = new CsvMapper().readerFor(TaskImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator(";"));
+    }
+
+    @Override
+    public TaskImportResultDTO importTasks(Long userId, MultipartFile file) {
+        ObjectReader reader = readerFor(file);
+        ImportProgress progress = new ImportProgress();
+        List<PendingTask> batch = new ArrayList<>(batchSize);
+
+        try (InputStream in = file.getInputStream();
+                MappingIterator<TaskImportRow> rows = reader.readValues(in)) {
+            long rowNumber = 0;
+            while (true) {
+                TaskImportRow row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row = rows.nextValue();
+                } catch (IOException | RuntimeException e) {
+                    // The parser cannot reliably resynchronise after malformed input
+                    progress.fail(rowNumber + 1, "Malformed record, import stopped: " + parseError(e));
+                    progress.aborted = true;
+                    break;
+                }
+                rowNumber++;
+                progress.rowsProcessed++;
+
+                PendingTask pending = validate(row, rowNumber, progress);
+                if (pending != null) {
+                    batch.add(pending);
+                    if (batch.size() >= batchSize) {
+                        flush(userId, batch, progress);
+                    }
+                }
+            }
+            flush(userId, batch, progress);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Could not read the uploaded file");
+        } finally {
+            if (progress.imported > 0) {
+                eventPublisher.publishEvent(new TasksBulkChangedEvent(userId));
+            }
+        }
+
+        log.info("Task import finished for userId: {} ({} rows, {} imported, {} duplicates, {} failed)",
+                userId, progress.rowsProcessed, progress.imported, progress.duplicates, progress.failed);
+        return TaskImportResultDTO.builder()
+                .rowsProcessed(progress.rowsProcessed)
+                .imported(progress.imported)
+                .duplicates(progress.duplicates)
+                .failed(progress.failed)
+                .aborted(progress.aborted)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private ObjectReader readerFor(MultipartFile file) {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        String contentType = file.getContentType() != null ? file.getContentType().toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv") || contentType.contains("csv")) {
+            return csvReader;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json") || contentType.contains("json")) {
+            return ndjsonReader;
+        }
+        throw new InvalidRequestException("Unsupported import format; upload a .csv or .ndjson file");
+    }
+
+    private PendingTask validate(TaskImportRow row, long rowNumber, ImportProgress progress) {
+        Set<ConstraintViolation<TaskImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            progress.fail(rowNumber, violations.iterator().next().getMessage());
+            return null;
+        }
+
+        LocalDateTime dueDate = null;
+        if (row.getDueDate() != null && !row.getDueDate().isBlank()) {
+            try {
+                dueDate = LocalDateTime.parse(row.getDueDate().trim());
+            } catch (DateTimeParseException e) {
+                progress.fail(rowNumber, "Due date must be an ISO-8601 date-time, e.g. 2025-01-31T17:00:00");
+                return null;
+            }
+        }
+        TaskStatus status = row.getStatus() == null || row.getStatus().isBlank()
+                ? TaskStatus.TODO
+                : TaskStatus.valueOf(row.getStatus().trim().toUpperCase(Locale.ROOT));
+
+        Set<String> tags = new TreeSet<>();
+        if (row.getTags() != null) {
+            for (String tag : row.getTags()) {
+                if (!tag.isBlank()) {
+                    tags.add(tag.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        String description = row.getDescription() == null || row.getDescription().isEmpty() ? null : row.getDescription();
+        String importKey = row.getExternalId() != null && !row.getExternalId().isBlank()
+                ? sha256("ext:" + row.getExternalId().trim())
+                : sha256("row:" + rowNumber + '|' + row.getTitle() + '|' + description + '|' + status + '|' + dueDate + '|' + tags);
+        return new PendingTask(importKey, row.getTitle().trim(), description, status, dueDate, tags);
+    }
+
+    private void flush(Long userId, List<PendingTask> batch, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Rows repeated within the batch (same key) count as duplicates
+        Map<String, PendingTask> byKey = new LinkedHashMap<>();
+        for (PendingTask task : batch) {
+            byKey.putIfAbsent(task.importKey(), task);
+        }
+
+        // At the column's precision, to find the batch's rows by it
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int inserted = transactionTemplate.execute(tx -> {
+            Map<String, Long> existing = findIdsByKey(userId, byKey.keySet());
+            List<PendingTask> fresh = byKey.values().stream()
+                    .filter(task -> !existing.containsKey(task.importKey()))
+                    .toList();
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_TASK, fresh, fresh.size(), (ps, task) -> {
+                ps.setString(1, task.title());
+                ps.setString(2, task.description());
+                ps.setString(3, task.status().name());
+                if (task.dueDate() != null) {
+                    ps.setTimestamp(4, Timestamp.valueOf(task.dueDate()));
+                } else {
+                    ps.setNull(4, Types.TIMESTAMP);
+                }
+                ps.setLong(5, userId);
+                ps.setString(6, task.importKey());
+                ps.setTimestamp(7, Timestamp.valueOf(now));
+            });
+
+            // Update counts cannot tell inserted rows from skipped duplicates once the driver rewrites
+            // the batch into multi-row statements, so the inserted rows are read back
+            Map<String, Long> ids = new HashMap<>();
+            namedJdbcTemplate.query(SELECT_INSERTED_IDS, new MapSqlParameterSource("userId", userId)
+                    .addValue("keys", fresh.stream().map(PendingTask::importKey).toList())
+                    .addValue("createdAt", Timestamp.valueOf(now)), rs -> {
+                        ids.put(rs.getString(1), rs.getLong(2));
+                    });
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            List<Object[]> tagRows = new ArrayList<>();
+            for (PendingTask task : fresh) {
+                Long id = ids.get(task.importKey());
+                if (id != null) {
+                    for (String tag : task.tags()) {
+                        tagRows.add(new Object[] {id, tag});
+                    }
+                }
+            }
+            if (!tagRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TAG, tagRows);
+            }
+            taskDataVersions.bump(userId);
+            taskOutbox.appendBulkChange(userId);
+            return ids.size();
+        });
+
+        // Imported tasks count as created today; their original completion time is unknown
+        if (inserted > 0) {
+            eventPublisher.publishEvent(
+                    new TaskLifecycleEvent(userId, TaskLifecycleEvent.Transition.CREATED, now, null, inserted));
+        }
+        progress.imported += inserted;
+        progress.duplicates += batch.size() - inserted;
+        log.info("Task import for userId: {} - {} rows processed, {} imported so far",
+                userId, progress.rowsProcessed, progress.imported);
+        batch.clear();
+    }
+
+    private Map<String, Long> findIdsByKey(Long userId, Collection<String> keys) {
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_IDS_BY_KEY,
+                new MapSqlParameterSource("userId", userId).addValue("keys", keys),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    private static String parseError(Exception e) {
+        Throwable cause = e instanceof RuntimeJsonMappingException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : cause.getMessage();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record PendingTask(String importKey, String title, String description, TaskStatus status,
+            LocalDateTime dueDate, Set<String> tags) {
+    }
+
+    private static final class ImportProgress {
+        private long rowsProcessed;
+        private long imported;
+        private long duplicates;
+        private long failed;
+        private boolean aborted;
+        private final List<TaskImportResultDTO.RowError> errors = new ArrayList<>();
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TaskImportResultDTO.RowError(row, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.miraisense.task_tracker_backend.service.impl;
+
+import com.miraisense.task_tracker_backend.dto.TaskRecurrenceRequestDTO;
+import com.miraisense.task_tracker_backend.dto.TaskRecurrenceResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskRecurrence;
+import com.miraisense.task_tracker_backend.entity.User;
+import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.exception.ResourceNotFoundException;
+import com.miraisense.task_tracker_backend.repository.TaskRecurrenceRepository;
+import com.miraisense.task_tracker_backend.repository.UserRepository;
+import com.miraisense.task_tracker_backend.service.TaskRecurrenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskRecurrenceServiceImpl implements TaskRecurrenceService {
+
+    private final TaskRecurrenceRepository taskRecurrenceRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public TaskRecurrenceResponseDTO createRecurrence(TaskRecurrenceRequestDTO requestDTO, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        CronExpression schedule = parseSchedule(requestDTO.getSchedule());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextRunAt = schedule.next(requestDTO.getStartAt() != null ? requestDTO.getStartAt() : now);
+        if (nextRunAt == null) {
+            throw new InvalidRequestException("Schedule has no future occurrence");
+        }
+
+        TaskRecurrence recurrence = TaskRecurrence.builder()
+                .user(user)
+                .title(requestDTO.getTitle())
+                .description(requestDTO.getDescription())
+                .tags(joinTags(requestDTO.getTags()))
+                .schedule(requestDTO.getSchedule().trim())
+                .nextRunAt(nextRunAt)
+                .createdAt(now)
+                .build();
+        log.info("Task recurrence created: '{}' ({}) for userId: {}", recurrence.getTitle(), recurrence.getSchedule(), userId);
+        return mapToResponseDTO(taskRecurrenceRepository.save(recurrence));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskRecurrenceResponseDTO> getRecurrencesByUserId(Long userId) {
+        return taskRecurrenceRepository.findByUserIdOrderById(userId).stream()
+                .map(this::mapToResponseDTO)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteRecurrence(Long recurrenceId, Long authenticatedUserId) {
+        TaskRecurrence recurrence = taskRecurrenceRepository.findById(recurrenceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurrence not found with id: " + recurrenceId));
+        if (!recurrence.getUser().getId().equals(authenticatedUserId)) {
+            throw new AuthenticationException("You do not have permission to access this recurrence");
+        }
+        taskRecurrenceRepository.delete(recurrence);
+        log.info("Task recurrence deleted: id={} by userId: {}", recurrenceId, authenticatedUserId);
+    }
+
+    private static CronExpression parseSchedule(String schedule) {
+        try {
+            return CronExpression.parse(schedule.trim());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid schedule '" + schedule + "': " + e.getMessage());
+        }
+    }
+
+    private static String joinTags(Set<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        Set<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            normalized.add(tag.trim().toLowerCase(Locale.ROOT));
+        }
+        return String.join(",", normalized);
+    }
+
+    private TaskRecurrenceResponseDTO mapToResponseDTO(TaskRecurrence recurrence) {
+        return TaskRecurrenceResponseDTO.builder()
+                .id(recurrence.getId())
+                .title(recurrence.getTitle())
+                .description(recurrence.getDescription())
+                .tags(recurrence.getTags() != null
+                        ? new TreeSet<>(Arrays.asList(recurrence.getTags().split(",")))
+                        : new TreeSet<>())
+                .schedule(recurrence.getSchedule())
+                .nextRunAt(recurrence.getNextRunAt())
+                .build();
+    }
+}
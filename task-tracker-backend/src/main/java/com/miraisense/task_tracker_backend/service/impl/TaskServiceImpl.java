@@ -1,96 +1,373 @@
 package com.miraisense.task_tracker_backend.service.impl;
 
+import com.miraisense.task_tracker_backend.cache.BoardPermissionCache;
+import com.miraisense.task_tracker_backend.cache.TaskDataVersions;
+import com.miraisense.task_tracker_backend.cache.TaskWorkingSetLoader;
+import com.miraisense.task_tracker_backend.cache.TaskWorkingSetStore;
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskField;
 import com.miraisense.task_tracker_backend.dto.TaskRequestDTO;
 import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskTreeNodeDTO;
+import com.miraisense.task_tracker_backend.entity.BoardRole;
 import com.miraisense.task_tracker_backend.entity.Task;
 import com.miraisense.task_tracker_backend.entity.TaskStatus;
 import com.miraisense.task_tracker_backend.entity.User;
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import com.miraisense.task_tracker_backend.event.TaskLifecycleEvent;
 import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
 import com.miraisense.task_tracker_backend.exception.ResourceNotFoundException;
+import com.miraisense.task_tracker_backend.index.TaskBitmapIndex;
+import com.miraisense.task_tracker_backend.index.TaskFilter;
+import com.miraisense.task_tracker_backend.repository.TaskAccessRow;
 import com.miraisense.task_tracker_backend.repository.TaskRepository;
+import com.miraisense.task_tracker_backend.repository.TaskTreeRepository;
 import com.miraisense.task_tracker_backend.repository.UserRepository;
 import com.miraisense.task_tracker_backend.service.TaskService;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class TaskServiceImpl implements TaskService {
+public class TaskServiceImpl implements TaskService, TaskWorkingSetLoader {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskWorkingSetStore taskWorkingSetStore;
+    private final TaskDataVersions taskDataVersions;
+    private final BoardPermissionCache boardPermissionCache;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @CacheEvict(value = "tasks", allEntries = true)
+    @Transactional
     public TaskResponseDTO createTask(TaskRequestDTO taskRequestDTO, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
+        Long parentId = taskRequestDTO.getParentId();
+        Long boardId = taskRequestDTO.getBoardId();
+        if (boardId != null && shardRouter.isEnabled()) {
+            // Board members' tasks would live on different shards
+            throw new InvalidRequestException("Boards are not available when tasks are sharded");
+        }
+        if (parentId != null) {
+            TaskAccessRow parent = taskRepository.findAccessById(parentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Parent task not found with id: " + parentId));
+            verifyAccess(parent.getUserId(), parent.getBoardId(), userId, true);
+            if (boardId != null && !boardId.equals(parent.getBoardId())) {
+                throw new InvalidRequestException("A subtask belongs to its parent task's board");
+            }
+            boardId = parent.getBoardId();
+        } else if (boardId != null) {
+            verifyBoardAccess(boardId, userId, true);
+        }
+
+        TaskStatus status = taskRequestDTO.getStatus() != null ? taskRequestDTO.getStatus() : TaskStatus.TODO;
+        LocalDateTime now = LocalDateTime.now();
         Task task = Task.builder()
                 .title(taskRequestDTO.getTitle())
                 .description(taskRequestDTO.getDescription())
-                .status(taskRequestDTO.getStatus() != null ? taskRequestDTO.getStatus() : TaskStatus.TODO)
+                .status(status)
                 .dueDate(taskRequestDTO.getDueDate())
+                .tags(normalizeTags(taskRequestDTO.getTags()))
+                .createdAt(now)
+                .completedAt(status == TaskStatus.DONE ? now : null)
                 .user(user)
+                .boardId(boardId)
+                .parentId(parentId)
                 .build();
 
         log.info("Task created: '{}' for userId: {}", task.getTitle(), userId);
-        return mapToResponseDTO(taskRepository.save(task));
+        TaskResponseDTO created = mapToResponseDTO(taskRepository.save(task));
+        if (parentId != null) {
+            taskRepository.adjustChildCounts(parentId, 1, status == TaskStatus.DONE ? 1 : 0);
+        }
+        eventPublisher.publishEvent(
+                new TaskChangedEvent(TaskChangedEvent.ChangeType.CREATED, userId, userId, null, created));
+        eventPublisher.publishEvent(new TaskLifecycleEvent(userId, TaskLifecycleEvent.Transition.CREATED, now, null));
+        if (status == TaskStatus.DONE) {
+            eventPublisher.publishEvent(new TaskLifecycleEvent(userId, TaskLifecycleEvent.Transition.COMPLETED, now, now));
+        }
+        return created;
     }
 
     @Override
-    @Cacheable(value = "tasks", key = "#userId + '-' + #pageable.pageNumber + '-' + #pageable.pageSize")
-    public Page<TaskResponseDTO> getAllTasksByUserId(Long userId, Pageable pageable) {
-        Page<Task> taskPage = taskRepository.findByUserId(userId, pageable);
-        return taskPage.map(this::mapToResponseDTO);
+    @Transactional(readOnly = true)
+    public PageResponseDTO<TaskResponseDTO> getAllTasksByUserId(Long userId, TaskStatus status, Pageable pageable,
+            int fields, boolean includeTotal, boolean includeArchived) {
+        if (includeArchived) {
+            return PageResponseDTO.from(taskRepository.findFieldsByUserIdIncludingArchived(
+                    userId, status, fields, pageable, includeTotal), includeTotal);
+        }
+        // Served from the in-memory working set unless the user has too many tasks to hold
+        Slice<TaskResponseDTO> tasks = taskWorkingSetStore.page(userId, status, pageable, fields)
+                .<Slice<TaskResponseDTO>>map(Function.identity())
+                .orElseGet(() -> taskRepository.findFieldsByUserId(userId, status, fields, pageable, includeTotal));
+        return PageResponseDTO.from(tasks, includeTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<TaskResponseDTO> filterTasks(Long userId, String filter, Pageable pageable) {
+        Roaring64Bitmap matches = taskBitmapIndex.query(userId, TaskFilter.parse(filter));
+
+        // Newest first: walk the matching ids from the highest down to the requested page
+        List<Long> pageIds = new ArrayList<>((int) Math.min(pageable.getPageSize(), matches.getLongCardinality()));
+        LongIterator ids = matches.getReverseLongIterator();
+        long skip = pageable.getOffset();
+        while (ids.hasNext() && pageIds.size() < pageable.getPageSize()) {
+            long id = ids.next();
+            if (skip > 0) {
+                skip--;
+            } else {
+                pageIds.add(id);
+            }
+        }
+
+        Map<Long, Task> tasksById = taskRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskResponseDTO> content = pageIds.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponseDTO)
+                .toList();
+        return PageResponseDTO.from(new PageImpl<>(content, pageable, matches.getLongCardinality()), true);
     }
 
     @Override
-    public TaskResponseDTO getTaskById(Long id, Long authenticatedUserId) {
+    @Transactional(readOnly = true)
+    public TaskResponseDTO getTaskById(Long id, Long authenticatedUserId, int fields) {
+        if (fields != TaskField.ALL) {
+            // Only the requested columns are read
+            TaskRepository.OwnedTask owned = taskRepository.findFieldsById(id, fields)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+            verifyAccess(owned.userId(), owned.boardId(), authenticatedUserId, false);
+            return owned.task();
+        }
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        verifyOwnership(task, authenticatedUserId);
+        verifyAccess(task, authenticatedUserId, false);
         return mapToResponseDTO(task);
     }
 
     @Override
-    @CacheEvict(value = "tasks", allEntries = true)
+    @Transactional(readOnly = true)
+    public PageResponseDTO<TaskResponseDTO> getBoardTasks(Long userId, Long boardId, TaskStatus status,
+            Pageable pageable) {
+        // Board ids come from the cached memberships, so the query needs no join on board_members
+        Set<Long> boardIds;
+        if (boardId != null) {
+            verifyBoardAccess(boardId, userId, false);
+            boardIds = Set.of(boardId);
+        } else {
+            boardIds = boardPermissionCache.rolesOf(userId).keySet();
+        }
+        if (boardIds.isEmpty()) {
+            return PageResponseDTO.from(Page.empty(pageable), true);
+        }
+        Page<Task> tasks = status != null
+                ? taskRepository.findByBoardIdInAndStatus(boardIds, status, pageable)
+                : taskRepository.findByBoardIdIn(boardIds, pageable);
+        return PageResponseDTO.from(tasks.map(this::mapToResponseDTO), true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskTreeNodeDTO getSubtree(Long taskId, Long authenticatedUserId, int maxDepth) {
+        if (maxDepth < 0 || maxDepth > MAX_TREE_DEPTH) {
+            throw new InvalidRequestException("depth must be between 0 and " + MAX_TREE_DEPTH);
+        }
+        List<TaskTreeRepository.TreeRow> rows = taskRepository.findSubtree(taskId, maxDepth);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        verifyAccess(rows.get(0).userId(), rows.get(0).boardId(), authenticatedUserId, false);
+
+        // Rows come parents first, so each node's parent is already in the map
+        Map<Long, TaskTreeNodeDTO> nodes = new HashMap<>();
+        for (TaskTreeRepository.TreeRow row : rows) {
+            TaskTreeNodeDTO node = row.node();
+            if (node.getChildCount() > 0) {
+                node.setPercentDone(100.0 * node.getDoneChildCount() / node.getChildCount());
+            }
+            nodes.put(node.getId(), node);
+            if (row.depth() > 0) {
+                nodes.get(node.getParentId()).getChildren().add(node);
+            }
+        }
+        return rows.get(0).node();
+    }
+
+    @Override
+    @Transactional
     public TaskResponseDTO updateTask(Long id, TaskRequestDTO taskRequestDTO, Long authenticatedUserId) {
-        Task task = taskRepository.findById(id)
+        Task task = taskRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        verifyOwnership(task, authenticatedUserId);
+        verifyAccess(task, authenticatedUserId, true);
+        Long ownerId = task.getUser().getId();
+        TaskResponseDTO previous = mapToResponseDTO(task);
         task.setTitle(taskRequestDTO.getTitle());
         task.setDescription(taskRequestDTO.getDescription());
         if (taskRequestDTO.getStatus() != null) {
-            task.setStatus(taskRequestDTO.getStatus());
+            transitionStatus(task, taskRequestDTO.getStatus(), ownerId);
+            boolean wasDone = previous.getStatus() == TaskStatus.DONE;
+            boolean isDone = task.getStatus() == TaskStatus.DONE;
+            if (task.getParentId() != null && wasDone != isDone) {
+                taskRepository.adjustChildCounts(task.getParentId(), 0, isDone ? 1 : -1);
+            }
         }
         task.setDueDate(taskRequestDTO.getDueDate());
+        if (taskRequestDTO.getTags() != null) {
+            task.getTags().clear();
+            task.getTags().addAll(normalizeTags(taskRequestDTO.getTags()));
+        }
         log.info("Task updated: id={} by userId: {}", id, authenticatedUserId);
-        return mapToResponseDTO(taskRepository.save(task));
+        TaskResponseDTO updated = mapToResponseDTO(taskRepository.save(task));
+        // Per-user views (working sets, indexes, analytics) are the owner's, whoever made the change
+        eventPublisher.publishEvent(new TaskChangedEvent(
+                TaskChangedEvent.ChangeType.UPDATED, ownerId, authenticatedUserId, previous, updated));
+        return updated;
     }
 
     @Override
-    @CacheEvict(value = "tasks", allEntries = true)
+    @Transactional
     public void deleteTask(Long taskId, Long authenticatedUserId) {
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findByIdForUpdate(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cannot delete. Task not found with id: " + taskId));
-        verifyOwnership(task, authenticatedUserId);
-        taskRepository.deleteById(taskId);
+        verifyAccess(task, authenticatedUserId, true);
+        TaskResponseDTO previous = mapToResponseDTO(task);
+        if (task.getChildCount() > 0) {
+            deleteDescendants(taskId, authenticatedUserId);
+        }
+        taskRepository.delete(task);
+        if (task.getParentId() != null) {
+            taskRepository.adjustChildCounts(task.getParentId(), -1, task.getStatus() == TaskStatus.DONE ? -1 : 0);
+        }
         log.info("Task deleted: id={} by userId: {}", taskId, authenticatedUserId);
+        eventPublisher.publishEvent(new TaskChangedEvent(
+                TaskChangedEvent.ChangeType.DELETED, task.getUser().getId(), authenticatedUserId, previous, null));
+    }
+
+    /**
+     * Deletes the subtasks below the task, deepest level first, and publishes a change event for
+     * each (to the subtask's owner) so in-memory views and the outbox see them go.
+     */
+    private void deleteDescendants(Long taskId, Long actorId) {
+        List<TaskTreeRepository.TreeRow> rows = taskRepository.findSubtree(taskId, MAX_TREE_DEPTH);
+        int maxDepth = rows.get(rows.size() - 1).depth();
+        for (int depth = maxDepth; depth > 0; depth--) {
+            List<Long> level = new ArrayList<>();
+            for (TaskTreeRepository.TreeRow row : rows) {
+                if (row.depth() == depth) {
+                    level.add(row.node().getId());
+                }
+            }
+            taskRepository.deleteAllByIds(level);
+        }
+        for (TaskTreeRepository.TreeRow row : rows) {
+            if (row.depth() > 0) {
+                TaskTreeNodeDTO node = row.node();
+                TaskResponseDTO previous = TaskResponseDTO.builder()
+                        .id(node.getId())
+                        .title(node.getTitle())
+                        .description(node.getDescription())
+                        .status(node.getStatus())
+                        .dueDate(node.getDueDate())
+                        .tags(node.getTags())
+                        .build();
+                eventPublisher.publishEvent(new TaskChangedEvent(
+                        TaskChangedEvent.ChangeType.DELETED, row.userId(), actorId, previous, null));
+            }
+        }
+        log.info("Deleted {} subtasks of task id={}", rows.size() - 1, taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskWorkingSetStore.LoadedTasks loadWorkingSet(Long userId) {
+        // Read the version first: a change committed in between makes the copy look older, never newer
+        long version = taskDataVersions.current(userId);
+        if (taskRepository.countByUserId(userId) > taskWorkingSetStore.maxTasksPerUser()) {
+            return null;
+        }
+        List<TaskResponseDTO> tasks = taskRepository.findAllByUserId(userId).stream()
+                .map(this::mapToResponseDTO)
+                .toList();
+        return new TaskWorkingSetStore.LoadedTasks(version, tasks);
     }
 
-    private void verifyOwnership(Task task, Long authenticatedUserId) {
-        if (!task.getUser().getId().equals(authenticatedUserId)) {
+    private void transitionStatus(Task task, TaskStatus status, Long userId) {
+        TaskStatus from = task.getStatus();
+        task.setStatus(status);
+        if (status == TaskStatus.DONE && from != TaskStatus.DONE) {
+            task.setCompletedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(new TaskLifecycleEvent(
+                    userId, TaskLifecycleEvent.Transition.COMPLETED, task.getCreatedAt(), task.getCompletedAt()));
+        } else if (status != TaskStatus.DONE && from == TaskStatus.DONE) {
+            eventPublisher.publishEvent(new TaskLifecycleEvent(
+                    userId, TaskLifecycleEvent.Transition.REOPENED, task.getCreatedAt(), task.getCompletedAt()));
+            task.setCompletedAt(null);
+        }
+    }
+
+    private void verifyAccess(Task task, Long authenticatedUserId, boolean write) {
+        verifyAccess(task.getUser().getId(), task.getBoardId(), authenticatedUserId, write);
+    }
+
+    // Personal tasks: the owner only. Board tasks: any member reads, editors and owners write
+    @Override
+    public void verifyAccess(Long ownerId, Long boardId, Long authenticatedUserId, boolean write) {
+        if (boardId != null) {
+            verifyBoardAccess(boardId, authenticatedUserId, write);
+        } else if (!ownerId.equals(authenticatedUserId)) {
             throw new AuthenticationException("You do not have permission to access this task");
         }
     }
 
+    private void verifyBoardAccess(Long boardId, Long authenticatedUserId, boolean write) {
+        BoardRole role = boardPermissionCache.rolesOf(authenticatedUserId).get(boardId);
+        if (role == null || (write && !role.canEditTasks())) {
+            throw new AuthenticationException("You do not have permission to access this board's tasks");
+        }
+    }
+
+    private Set<String> normalizeTags(Set<String> tags) {
+        Set<String> normalized = new HashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                normalized.add(tag.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return normalized;
+    }
+
     private TaskResponseDTO mapToResponseDTO(Task task) {
         return TaskResponseDTO.builder()
                 .id(task.getId())
@@ -98,6 +375,7 @@ public class TaskServiceImpl implements TaskService {
                 .description(task.getDescription())
                 .status(task.getStatus())
                 .dueDate(task.getDueDate())
+                .tags(new TreeSet<>(task.getTags()))
                 .build();
     }
 }
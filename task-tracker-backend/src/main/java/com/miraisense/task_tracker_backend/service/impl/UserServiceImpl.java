@@ -5,12 +5,16 @@ import com.miraisense.task_tracker_backend.dto.LoginRequestDTO;
 import com.miraisense.task_tracker_backend.dto.UserRequestDTO;
 import com.miraisense.task_tracker_backend.dto.UserResponseDTO;
 import com.miraisense.task_tracker_backend.entity.User;
+import com.miraisense.task_tracker_backend.event.UserRegisteredEvent;
 import com.miraisense.task_tracker_backend.exception.AuthenticationException;
 import com.miraisense.task_tracker_backend.exception.DuplicateResourceException;
+import com.miraisense.task_tracker_backend.index.RegisteredEmailIndex;
 import com.miraisense.task_tracker_backend.repository.UserRepository;
 import com.miraisense.task_tracker_backend.security.JwtService;
 import com.miraisense.task_tracker_backend.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -21,21 +25,26 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final RegisteredEmailIndex registeredEmailIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponseDTO register(UserRequestDTO request) {
-        // Check if user already exists
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new DuplicateResourceException("Email already in use");
-        }
-
         // Create and encode password
         User user = User.builder()
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
                 .build();
 
-        User savedUser = userRepository.save(user);
+        // The unique constraint on users.email decides duplicates (no check-then-insert race)
+        registeredEmailIndex.add(user.getEmail());
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("Email already in use");
+        }
+        eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId()));
 
         return UserResponseDTO.builder()
                 .id(savedUser.getId())
@@ -45,6 +54,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public AuthResponseDTO login(LoginRequestDTO request) {
+        // Emails that were never registered are rejected without a database lookup
+        if (!registeredEmailIndex.mightExist(request.getEmail())) {
+            throw new AuthenticationException("Invalid email or password");
+        }
+
         // Find user by email
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new AuthenticationException("Invalid email or password"));
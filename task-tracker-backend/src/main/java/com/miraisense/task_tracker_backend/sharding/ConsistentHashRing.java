@@ -0,0 +1,55 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring mapping user ids to shard names. Each shard owns {@code virtualNodes}
+ * points on the ring and a user belongs to the first point at or after the user's hash, so
+ * adding a shard to N takes over about 1/(N+1) of the users and leaves every other user where
+ * they were.
+ * <p>
+ * Immutable and thread-safe. Points depend only on the shard names, so every instance built
+ * from the same names agrees on the placement.
+ */
+final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one shard");
+        }
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // A collision between two shards' points keeps the first; harmless, just one point fewer
+                points.putIfAbsent(hash(shard + '#' + i), shard);
+            }
+        }
+    }
+
+    String shardFor(long userId) {
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(userId));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,31 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+/**
+ * The shard the current thread's database work goes to, read by {@link ShardRoutingDataSource}
+ * whenever a connection is taken. {@code null} is the primary database. Set through
+ * {@link ShardRouter} only.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return the shard that was current before, to be restored with another swap
+     */
+    static String swap(String shard) {
+        String previous = CURRENT.get();
+        if (shard != null) {
+            CURRENT.set(shard);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,119 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The connection pools of all shards, the primary database ({@code spring.datasource.*}) first.
+ * Shards are configured as {@code app.sharding.shards=<name>=<jdbc url>,...}, share the primary's
+ * credentials and get their own Hikari pool.
+ * <p>
+ * Auto-increment ids stay unique across shards, so rows keep their ids when a user moves: the
+ * shard at position {@code k} (the primary is 0) only generates ids {@code ≡ k + 1} modulo
+ * {@code app.sharding.max-shards}. New shards are therefore appended, never inserted or
+ * reordered, and {@code max-shards} is fixed once sharded data exists. See {@link ShardIdentities}.
+ */
+public class ShardDataSources implements DisposableBean {
+
+    private final Map<String, DataSource> byName;
+    private final List<String> names;
+    private final int maxShards;
+
+    ShardDataSources(DataSourceProperties properties, String definitions, int maxShards) {
+        Map<String, String> urls = parse(definitions);
+        if (urls.size() + 1 > maxShards) {
+            throw new IllegalStateException("app.sharding.shards lists " + urls.size()
+                    + " shards, more than app.sharding.max-shards - 1 = " + (maxShards - 1));
+        }
+        this.maxShards = maxShards;
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pools.put(ShardRouter.PRIMARY, configure(primary, ShardRouter.PRIMARY, 0));
+        int index = 1;
+        for (Map.Entry<String, String> shard : urls.entrySet()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getValue())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            pools.put(shard.getKey(), configure(pool, shard.getKey(), index++));
+        }
+        this.byName = Collections.unmodifiableMap(pools);
+        this.names = List.copyOf(pools.keySet());
+    }
+
+    Map<String, DataSource> byName() {
+        return byName;
+    }
+
+    DataSource primary() {
+        return byName.get(ShardRouter.PRIMARY);
+    }
+
+    DataSource get(String shard) {
+        DataSource dataSource = byName.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    /**
+     * Shard names in configuration order, the primary first.
+     */
+    List<String> names() {
+        return names;
+    }
+
+    int indexOf(String shard) {
+        return names.indexOf(shard);
+    }
+
+    int maxShards() {
+        return maxShards;
+    }
+
+    @Override
+    public void destroy() {
+        byName.values().forEach(dataSource -> ((HikariDataSource) dataSource).close());
+    }
+
+    private HikariDataSource configure(HikariDataSource pool, String name, int index) {
+        pool.setPoolName("shard-" + name);
+        if (ShardIdentities.isMySql(pool.getJdbcUrl())) {
+            // MySQL picks the next id of the shard's residue class itself, even after rows with
+            // other shards' ids were copied in
+            pool.setConnectionInitSql("SET SESSION auto_increment_increment = " + maxShards
+                    + ", auto_increment_offset = " + (index + 1));
+        }
+        return pool;
+    }
+
+    private static Map<String, String> parse(String definitions) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        if (definitions == null || definitions.isBlank()) {
+            return urls;
+        }
+        for (String definition : definitions.split(",")) {
+            // Split at the first '=' only: JDBC URLs contain '=' in their parameters
+            int separator = definition.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("app.sharding.shards entries are <name>=<jdbc url>, got: " + definition);
+            }
+            String name = definition.substring(0, separator).trim();
+            if (name.equals(ShardRouter.PRIMARY) || urls.put(name, definition.substring(separator + 1).trim()) != null) {
+                throw new IllegalStateException("Duplicate or reserved shard name in app.sharding.shards: " + name);
+            }
+        }
+        return urls;
+    }
+}
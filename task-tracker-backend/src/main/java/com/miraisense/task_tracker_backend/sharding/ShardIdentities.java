@@ -0,0 +1,98 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps auto-increment ids unique across shards. The shard at position {@code k} generates ids
+ * {@code ≡ k + 1 (mod max-shards)}, above a floor: the primary's highest ids when the shards
+ * were aligned, which covers every id it generated before sharding was enabled.
+ * <p>
+ * MySQL applies the stride and offset itself (session variables set by {@link ShardDataSources});
+ * only the starting point is moved here. H2 keeps a per-column increment instead, and moves its
+ * counter past any id inserted explicitly, so it is aligned again after rows were copied in.
+ */
+@Slf4j
+public class ShardIdentities {
+
+    // Tables whose ids are generated on every shard and kept when a user's rows move; users are
+    // only ever inserted on the primary
+    static final List<String> TABLES = List.of(
+            "tasks", "task_recurrences", "task_activity", "task_outbox", "refresh_tokens");
+
+    private final ShardDataSources shards;
+    private final Map<String, Long> floors = new HashMap<>();
+
+    ShardIdentities(ShardDataSources shards) {
+        this.shards = shards;
+    }
+
+    static boolean isMySql(String jdbcUrl) {
+        return jdbcUrl != null && (jdbcUrl.startsWith("jdbc:mysql:") || jdbcUrl.startsWith("jdbc:mariadb:"));
+    }
+
+    /**
+     * Aligns every shard; run once at startup, after the migrations.
+     */
+    synchronized void alignAll() {
+        JdbcTemplate primary = new JdbcTemplate(shards.primary());
+        for (String table : TABLES) {
+            floors.put(table, maxId(primary, table));
+        }
+        for (String shard : shards.names()) {
+            align(shard, true);
+        }
+    }
+
+    /**
+     * Re-aligns a shard that rows with other shards' ids were copied into.
+     */
+    synchronized void realign(String shard) {
+        align(shard, false);
+    }
+
+    private void align(String shard, boolean startup) {
+        DataSource dataSource = shards.get(shard);
+        boolean mySql = isMySql(dataSource);
+        if (mySql && !startup) {
+            return;
+        }
+        int stride = shards.maxShards();
+        int index = shards.indexOf(shard);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : TABLES) {
+            long floor = index == 0 ? 0 : floors.getOrDefault(table, 0L);
+            long next = nextId(Math.max(maxId(jdbcTemplate, table), floor), index + 1, stride);
+            // Table names are the constants above
+            jdbcTemplate.execute(mySql
+                    ? "ALTER TABLE " + table + " AUTO_INCREMENT = " + next
+                    : "ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next + " SET INCREMENT BY " + stride);
+        }
+        log.debug("Aligned auto-increment ids of shard {} (residue {} of {})", shard, index + 1, stride);
+    }
+
+    // The first id above 'after' in the residue class of 'offset'
+    static long nextId(long after, int offset, int stride) {
+        return after + 1 + Math.floorMod(offset - (after + 1), (long) stride);
+    }
+
+    private static long maxId(JdbcTemplate jdbcTemplate, String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return isMySql(connection.getMetaData().getURL());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not connect to shard", e);
+        }
+    }
+}
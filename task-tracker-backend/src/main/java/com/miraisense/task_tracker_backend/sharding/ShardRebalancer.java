@@ -0,0 +1,274 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import com.miraisense.task_tracker_backend.event.UserRegisteredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static com.miraisense.task_tracker_backend.config.SchedulingConfig.BULK_SCHEDULER;
+
+/**
+ * Places users on the shard the hash ring assigns them, and moves them when it assigns another
+ * one (after shards were added), online.
+ * <p>
+ * A move fences the user, copies the user's rows to the target shard in one transaction, keeping
+ * their ids (see {@link ShardIdentities}), switches {@code users.shard} on the primary and then
+ * deletes the rows from the source. The fence is {@code users.moving_to}: set on the primary, it
+ * makes every instance hold the user's new work until the move is over; set on the source's
+ * user row, which waits for the writes holding that row to commit, it makes later writes there
+ * fail (their data version bump or token lock no longer finds a home row) rather than be lost
+ * with the source rows. Other users' work on both shards carries on. A failed move is simply
+ * repeated: the fence is lifted and the target's leftovers are cleared on the next attempt.
+ * <p>
+ * New users are placed on registration. Existing users are checked by a scheduled keyset scan
+ * when {@code app.sharding.rebalance.enabled} is set, moving at most
+ * {@code max-moves-per-run} users per run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardRebalancer {
+
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final int COPY_BATCH_SIZE = 500;
+
+    // Row sets of a user, parents before children; deleted in reverse order
+    private static final List<UserRows> USER_ROWS = List.of(
+            new UserRows("tasks", "user_id = ?"),
+            new UserRows("tasks_archive", "user_id = ?"),
+            new UserRows("task_tags", "task_id IN (SELECT id FROM tasks WHERE user_id = ?)"),
+            new UserRows("task_activity", "user_id = ?"),
+            new UserRows("task_daily_stats", "user_id = ?"),
+            new UserRows("task_recurrences", "user_id = ?"),
+            new UserRows("task_outbox", "user_id = ?"),
+            new UserRows("refresh_tokens", "user_id = ?"));
+
+    private final ShardRouter router;
+    private final ShardDataSources dataSources;
+    private final ShardIdentities identities;
+    private final JdbcTemplate primary;
+    private final boolean enabled;
+    private final int maxMovesPerRun;
+    private final Counter moved;
+
+    public ShardRebalancer(ShardRouter router,
+            ShardDataSources dataSources,
+            ShardIdentities identities,
+            MeterRegistry meterRegistry,
+            @Value("${app.sharding.rebalance.enabled:false}") boolean enabled,
+            @Value("${app.sharding.rebalance.max-moves-per-run:100}") int maxMovesPerRun) {
+        this.router = router;
+        this.dataSources = dataSources;
+        this.identities = identities;
+        this.primary = new JdbcTemplate(dataSources.primary());
+        this.enabled = enabled;
+        this.maxMovesPerRun = maxMovesPerRun;
+        this.moved = meterRegistry.counter("sharding.users.moved");
+    }
+
+    /**
+     * A new user has no tasks or tokens yet: only the user row is replicated to the shard.
+     */
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        String target = router.placementOf(event.userId());
+        if (!target.equals(ShardRouter.PRIMARY)) {
+            copyUserRow(event.userId(), primary, new JdbcTemplate(dataSources.get(target)));
+            setHomeShard(event.userId(), target);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sharding.rebalance.interval-ms:60000}", scheduler = BULK_SCHEDULER)
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+        int moves = 0;
+        long afterId = 0;
+        while (moves < maxMovesPerRun) {
+            List<Map<String, Object>> users = primary.queryForList(
+                    "SELECT id, shard FROM users WHERE id > ? ORDER BY id LIMIT ?", afterId, SCAN_BATCH_SIZE);
+            for (Map<String, Object> user : users) {
+                Long userId = ((Number) user.get("id")).longValue();
+                String current = router.homeShard((String) user.get("shard"));
+                String target = router.placementOf(userId);
+                if (!current.equals(target) && moves < maxMovesPerRun) {
+                    try {
+                        move(userId, current, target);
+                        moves++;
+                    } catch (RuntimeException e) {
+                        log.warn("Could not move user {} from shard {} to {}, will retry: {}",
+                                userId, current, target, e.getMessage());
+                    }
+                }
+                afterId = userId;
+            }
+            if (users.size() < SCAN_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (moves > 0) {
+            log.info("Shard rebalance run: {} users moved", moves);
+        }
+    }
+
+    /**
+     * Moves the user to the given shard, if not there already.
+     */
+    public void moveUser(Long userId, String target) {
+        dataSources.get(target);
+        String current = router.shardOf(userId);
+        if (!current.equals(target)) {
+            move(userId, current, target);
+        }
+    }
+
+    private void move(Long userId, String from, String to) {
+        long start = System.currentTimeMillis();
+        JdbcTemplate source = new JdbcTemplate(dataSources.get(from));
+        JdbcTemplate target = new JdbcTemplate(dataSources.get(to));
+        boolean fromPrimary = from.equals(ShardRouter.PRIMARY);
+        if (primary.update("UPDATE users SET moving_to = ? WHERE id = ? AND moving_to IS NULL", to, userId) == 0) {
+            throw new IllegalStateException("User " + userId + " is already being moved");
+        }
+        int rows;
+        try {
+            if (!fromPrimary) {
+                source.update("UPDATE users SET moving_to = ? WHERE id = ?", to, userId);
+            }
+            rows = new TransactionTemplate(new DataSourceTransactionManager(dataSources.get(to)))
+                    .execute(tx -> copy(userId, source, target, to));
+            identities.realign(to);
+            // Switches the home shard and lifts the fence on the primary in one statement
+            primary.update("UPDATE users SET shard = ?, moving_to = NULL WHERE id = ?",
+                    to.equals(ShardRouter.PRIMARY) ? null : to, userId);
+        } catch (RuntimeException e) {
+            if (!fromPrimary) {
+                source.update("UPDATE users SET moving_to = NULL WHERE id = ?", userId);
+            }
+            primary.update("UPDATE users SET moving_to = NULL WHERE id = ?", userId);
+            throw e;
+        }
+        router.moved(userId, to);
+        // A source other than the primary keeps its fenced user row until it is deleted with the rest
+        new TransactionTemplate(new DataSourceTransactionManager(dataSources.get(from)))
+                .executeWithoutResult(tx -> delete(userId, source, !fromPrimary));
+        moved.increment();
+        log.info("Moved user {} from shard {} to {}: {} rows in {} ms",
+                userId, from, to, rows, System.currentTimeMillis() - start);
+    }
+
+    private int copy(Long userId, JdbcTemplate source, JdbcTemplate target, String to) {
+        boolean toPrimary = to.equals(ShardRouter.PRIMARY);
+        delete(userId, target, !toPrimary);
+        // Bumping the data version makes every cached copy of the user's tasks reload
+        Long version = source.queryForObject("SELECT tasks_version FROM users WHERE id = ?", Long.class, userId);
+        if (!toPrimary) {
+            copyUserRow(userId, source, target);
+            // The target's row is the user's home row there: unfenced, naming the target
+            target.update("UPDATE users SET shard = ?, moving_to = NULL WHERE id = ?", to, userId);
+        }
+        target.update("UPDATE users SET tasks_version = ? WHERE id = ?", version + 1, userId);
+
+        int rows = 0;
+        List<Object[]> parents = new ArrayList<>();
+        for (UserRows userRows : USER_ROWS) {
+            rows += copyRows(userRows, userId, source, target, toPrimary, parents);
+        }
+        // Parents are linked once all of the user's tasks exist, whatever their id order
+        target.batchUpdate("UPDATE tasks SET parent_id = ? WHERE id = ?", parents);
+        return rows;
+    }
+
+    private int copyRows(UserRows userRows, Long userId, JdbcTemplate source, JdbcTemplate target,
+            boolean toPrimary, List<Object[]> parents) {
+        boolean tasks = userRows.table().equals("tasks");
+        List<Object[]> batch = new ArrayList<>(COPY_BATCH_SIZE);
+        String[] insert = new String[1];
+        int[] count = new int[1];
+        source.query("SELECT * FROM " + userRows.table() + " WHERE " + userRows.where(), (RowCallbackHandler) rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            if (insert[0] == null) {
+                insert[0] = insertStatement(userRows.table(), metaData);
+            }
+            Object[] row = new Object[metaData.getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                String column = metaData.getColumnLabel(i + 1).toLowerCase();
+                Object value = rs.getObject(i + 1);
+                if (tasks && column.equals("parent_id")) {
+                    if (value != null) {
+                        parents.add(new Object[] {value, rs.getLong("id")});
+                    }
+                    value = null;
+                } else if (tasks && column.equals("board_id") && !toPrimary) {
+                    value = null; // boards live on the primary only
+                }
+                row[i] = value;
+            }
+            batch.add(row);
+            count[0]++;
+            if (batch.size() == COPY_BATCH_SIZE) {
+                target.batchUpdate(insert[0], batch);
+                batch.clear();
+            }
+        }, userId);
+        if (!batch.isEmpty()) {
+            target.batchUpdate(insert[0], batch);
+        }
+        return count[0];
+    }
+
+    private static void delete(Long userId, JdbcTemplate jdbcTemplate, boolean withUserRow) {
+        for (int i = USER_ROWS.size() - 1; i >= 0; i--) {
+            UserRows userRows = USER_ROWS.get(i);
+            jdbcTemplate.update("DELETE FROM " + userRows.table() + " WHERE " + userRows.where(), userId);
+        }
+        if (withUserRow) {
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    private void setHomeShard(Long userId, String shard) {
+        primary.update("UPDATE users SET shard = ? WHERE id = ?",
+                shard.equals(ShardRouter.PRIMARY) ? null : shard, userId);
+    }
+
+    private static void copyUserRow(Long userId, JdbcTemplate source, JdbcTemplate target) {
+        source.query("SELECT * FROM users WHERE id = ?", (RowCallbackHandler) rs -> {
+            Object[] row = new Object[rs.getMetaData().getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            target.update(insertStatement("users", rs.getMetaData()), row);
+        }, userId);
+    }
+
+    private static String insertStatement(String table, ResultSetMetaData metaData) throws SQLException {
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnLabel(i));
+            values.add("?");
+        }
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")";
+    }
+
+    private record UserRows(String table, String where) {
+    }
+}
@@ -0,0 +1,245 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miraisense.task_tracker_backend.exception.ServiceUnavailableException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Routes a user's tasks (and everything hanging off them: tags, activity, rollups, recurrences,
+ * outbox events) and refresh tokens to the user's shard. Users, boards and other global tables
+ * stay on the primary database, which is also a shard itself.
+ * <p>
+ * A user's home shard is recorded in {@code users.shard} on the primary (NULL for the primary):
+ * new users are placed by the {@link ConsistentHashRing}, and {@link ShardRebalancer} moves
+ * users whose shard no longer matches the ring. Work runs on a shard through
+ * {@link #callForUser} / {@link #callOn}, which must be entered before a transaction starts.
+ * While a user is moved ({@code users.moving_to} is set), routing the user's work waits for the
+ * move to finish, up to {@code app.sharding.move-wait}.
+ * <p>
+ * With sharding disabled (the default) there is a single shard and every method just runs the
+ * work, without lookups.
+ */
+public class ShardRouter {
+
+    public static final String PRIMARY = "primary";
+
+    private static final long MOVE_POLL_MILLIS = 20;
+
+    private final boolean enabled;
+    private final List<String> shards;
+    private final ConsistentHashRing ring;
+    private final JdbcTemplate directory;
+    private final Duration moveWait;
+    // Users moved recently, for work that looked up the old shard just before the move
+    private final Cache<Long, String> recentMoves = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    private ShardRouter() {
+        this.enabled = false;
+        this.shards = List.of(PRIMARY);
+        this.ring = new ConsistentHashRing(shards, 1);
+        this.directory = null;
+        this.moveWait = Duration.ZERO;
+    }
+
+    ShardRouter(ShardDataSources dataSources, int virtualNodes, Duration moveWait) {
+        this.enabled = true;
+        this.shards = dataSources.names();
+        this.ring = new ConsistentHashRing(shards, virtualNodes);
+        // The primary's pool directly: a lookup never joins a shard's transaction
+        this.directory = new JdbcTemplate(dataSources.primary());
+        this.moveWait = moveWait;
+    }
+
+    static ShardRouter singleDatabase() {
+        return new ShardRouter();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * All shards, the primary first.
+     */
+    public List<String> shards() {
+        return shards;
+    }
+
+    /**
+     * The shard the ring assigns to the user, which is where the user's data lives once placed.
+     */
+    public String placementOf(Long userId) {
+        return ring.shardFor(userId);
+    }
+
+    /**
+     * The shard the user's data is on now (one primary key lookup when sharding is enabled), once
+     * a move in progress has finished.
+     *
+     * @throws ServiceUnavailableException if the user is still being moved after {@code move-wait}
+     */
+    public String shardOf(Long userId) {
+        if (!enabled || userId == null) {
+            return PRIMARY;
+        }
+        long deadline = System.nanoTime() + moveWait.toNanos();
+        while (true) {
+            List<String[]> user = directory.query("SELECT shard, moving_to FROM users WHERE id = ?",
+                    (rs, rowNum) -> new String[] {rs.getString(1), rs.getString(2)}, userId);
+            if (user.isEmpty() || user.get(0)[1] == null) {
+                return homeShard(user.isEmpty() ? null : user.get(0)[0]);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new ServiceUnavailableException(
+                        "User " + userId + " is being moved between shards, try again");
+            }
+            try {
+                Thread.sleep(MOVE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Interrupted while user " + userId + " is being moved");
+            }
+        }
+    }
+
+    /**
+     * The shard the current thread's work goes to.
+     */
+    public String currentShard() {
+        String shard = ShardContext.current();
+        return shard != null ? shard : PRIMARY;
+    }
+
+    /**
+     * Maps a {@code users.shard} value to a shard name.
+     */
+    public String homeShard(String shard) {
+        return enabled && shard != null ? shard : PRIMARY;
+    }
+
+    public <T> T callForUser(Long userId, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        try (Scope ignored = enterForUser(userId, shardOf(userId))) {
+            return work.get();
+        }
+    }
+
+    public void runForUser(Long userId, Runnable work) {
+        callForUser(userId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T callOn(String shard, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        try (Scope ignored = enter(shard)) {
+            return work.get();
+        }
+    }
+
+    public void runOn(String shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work once per shard, with that shard current. Every shard is attempted; the first
+     * failure is rethrown afterwards.
+     */
+    public void forEachShard(Runnable work) {
+        RuntimeException failure = null;
+        for (String shard : shards) {
+            try {
+                runOn(shard, work);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Splits items of several users by the users' shards, keeping their order within a shard.
+     */
+    public <T> Map<String, List<T>> groupByShard(Collection<T> items, Function<T, Long> userId) {
+        if (!enabled) {
+            return Map.of(PRIMARY, items instanceof List<T> list ? list : new ArrayList<>(items));
+        }
+        Map<Long, String> userShards = new HashMap<>();
+        Map<String, List<T>> grouped = new LinkedHashMap<>();
+        for (T item : items) {
+            String shard = userShards.computeIfAbsent(userId.apply(item), this::shardOf);
+            grouped.computeIfAbsent(shard, s -> new ArrayList<>()).add(item);
+        }
+        return grouped;
+    }
+
+    /**
+     * Makes the shard current on this thread until the scope is closed, on the same thread. For
+     * callers that cannot wrap the work in a callback (request interceptors).
+     */
+    public Scope enter(String shard) {
+        if (!enabled) {
+            return Scope.NONE;
+        }
+        if (!shards.contains(shard)) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        String previous = ShardContext.swap(shard);
+        return () -> ShardContext.swap(previous);
+    }
+
+    /**
+     * {@link #enter} for the user's shard as looked up (e.g. with the authenticated user's row).
+     * If the user was moved by this instance since, the shard they were moved to is entered
+     * instead; work that still reaches the old shard is rejected by its fence.
+     */
+    public Scope enterForUser(Long userId, String shard) {
+        if (!enabled) {
+            return Scope.NONE;
+        }
+        String movedTo = recentMoves.getIfPresent(userId);
+        return enter(movedTo != null ? movedTo : shard);
+    }
+
+    // Called by a move once the user's home shard was switched
+    void moved(Long userId, String shard) {
+        recentMoves.put(userId, shard);
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        Scope NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+
+/**
+ * The application's {@code DataSource} when sharding is enabled: each connection comes from the
+ * shard in {@link ShardContext}, or from the primary database outside of any shard. The choice is
+ * made when a transaction (or a statement outside one) takes its connection, so the shard must be
+ * set before the transaction starts.
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    ShardRoutingDataSource(ShardDataSources shards) {
+        setTargetDataSources(new HashMap<>(shards.byName()));
+        setDefaultTargetDataSource(shards.primary());
+        // An unknown shard name is a bug or a config error, never silently the primary
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
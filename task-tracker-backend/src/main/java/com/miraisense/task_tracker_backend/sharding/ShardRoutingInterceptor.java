@@ -0,0 +1,50 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import com.miraisense.task_tracker_backend.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Runs task requests on the authenticated user's shard. The shard comes from the user row the
+ * JWT filter already loaded, so routing adds no query unless the user is being moved.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = ShardRoutingInterceptor.class.getName() + ".scope";
+
+    private final ShardRouter shardRouter;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (!shardRouter.isEnabled()) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            // Waits for the move, then reads where it left the user
+            String shard = user.getMovingTo() != null
+                    ? shardRouter.shardOf(user.getId())
+                    : shardRouter.homeShard(user.getShard());
+            request.setAttribute(SCOPE_ATTRIBUTE, shardRouter.enterForUser(user.getId(), shard));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof ShardRouter.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Without {@code app.sharding.enabled} the application uses Boot's single data source and a
+ * {@link ShardRouter} that routes nothing.
+ */
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ShardRouter shardRouter() {
+        return ShardRouter.singleDatabase();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        @Bean
+        public ShardDataSources shardDataSources(DataSourceProperties properties,
+                @Value("${app.sharding.shards:}") String shards,
+                @Value("${app.sharding.max-shards:64}") int maxShards) {
+            return new ShardDataSources(properties, shards, maxShards);
+        }
+
+        // Replaces Boot's data source; still wrapped by the statement-counting proxy
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardDataSources shardDataSources) {
+            return new ShardRoutingDataSource(shardDataSources);
+        }
+
+        @Bean
+        public ShardRouter shardRouter(ShardDataSources shardDataSources,
+                @Value("${app.sharding.virtual-nodes:128}") int virtualNodes,
+                @Value("${app.sharding.move-wait:5s}") Duration moveWait) {
+            return new ShardRouter(shardDataSources, virtualNodes, moveWait);
+        }
+
+        @Bean
+        public ShardIdentities shardIdentities(ShardDataSources shardDataSources) {
+            return new ShardIdentities(shardDataSources);
+        }
+
+        // Every shard gets the full schema, migrated before JPA validates it against the primary
+        @Bean
+        public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardDataSources shardDataSources,
+                ShardIdentities shardIdentities) {
+            return flyway -> {
+                flyway.migrate();
+                for (String shard : shardDataSources.names()) {
+                    if (!shard.equals(ShardRouter.PRIMARY)) {
+                        Flyway.configure()
+                                .configuration(flyway.getConfiguration())
+                                .dataSource(shardDataSources.get(shard))
+                                .load()
+                                .migrate();
+                    }
+                }
+                shardIdentities.alignAll();
+            };
+        }
+
+        // Hibernate would otherwise keep the first connection of a request for all its transactions
+        // (open session in view), whichever shard they are meant for
+        @Bean
+        public HibernatePropertiesCustomizer shardedConnectionHandling() {
+            return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Transactional outbox: task change events written in the same transaction as the change,
+-- relayed to downstream systems in id order per partition (a user always maps to one partition)
+CREATE TABLE task_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    partition_no INT NOT NULL,
+    user_id BIGINT NOT NULL,
+    task_id BIGINT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    -- The task after the change as JSON; NULL for deletes and bulk changes
+    payload TEXT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
+CREATE INDEX idx_task_outbox_partition ON task_outbox (partition_no, id);
+
+-- One row per partition; a relay holds the row lock (FOR UPDATE SKIP LOCKED) while dispatching it
+CREATE TABLE task_outbox_partitions (
+    partition_no INT PRIMARY KEY,
+    last_dispatched_id BIGINT NOT NULL DEFAULT 0,
+    dispatched_at DATETIME(6) NULL
+);
@@ -0,0 +1,11 @@
+-- Subtasks: a task may have a parent task of the same user
+ALTER TABLE tasks ADD COLUMN parent_id BIGINT NULL;
+
+-- Progress roll-up of direct children, maintained by the task service on every child change
+ALTER TABLE tasks ADD COLUMN child_count INT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN done_child_count INT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_tasks_parent ON tasks (parent_id);
+
+-- The service deletes subtrees deepest level first; the cascade only backs up user deletion
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_parent FOREIGN KEY (parent_id) REFERENCES tasks(id) ON DELETE CASCADE;
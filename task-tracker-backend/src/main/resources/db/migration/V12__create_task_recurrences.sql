@@ -0,0 +1,23 @@
+-- Recurring task rules; the generator turns each due occurrence into a task
+CREATE TABLE task_recurrences (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500) NULL,
+    -- Comma-separated, normalized like task tags
+    tags VARCHAR(340) NULL,
+    -- Spring cron expression or macro (@daily, @weekly, ...)
+    schedule VARCHAR(100) NOT NULL,
+    -- Next occurrence not yet generated
+    next_run_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    CONSTRAINT fk_task_recurrences_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Keyset scan of due rules in next-run order
+CREATE INDEX idx_task_recurrences_next_run ON task_recurrences (next_run_at, id);
+
+-- Generated tasks remember their occurrence; the unique key makes regeneration a no-op
+ALTER TABLE tasks ADD COLUMN recurrence_id BIGINT NULL;
+ALTER TABLE tasks ADD COLUMN occurrence_at DATETIME(6) NULL;
+CREATE UNIQUE INDEX uk_tasks_recurrence_occurrence ON tasks (recurrence_id, occurrence_at);
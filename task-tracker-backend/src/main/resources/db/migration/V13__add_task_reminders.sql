@@ -0,0 +1,5 @@
+-- Range scans of upcoming due dates for the reminder scheduler
+CREATE INDEX idx_tasks_due_date ON tasks (due_date);
+
+-- The due date a reminder was sent for; a rescheduled task gets a new reminder
+ALTER TABLE tasks ADD COLUMN reminded_for DATETIME(6) NULL;
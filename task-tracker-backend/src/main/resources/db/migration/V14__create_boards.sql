@@ -0,0 +1,26 @@
+-- Shared project boards; members see and edit the board's tasks according to their role
+CREATE TABLE boards (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    created_by BIGINT NULL,
+    created_at DATETIME(6) NOT NULL,
+    CONSTRAINT fk_boards_created_by FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE TABLE board_members (
+    board_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    -- VIEWER, EDITOR or OWNER
+    role VARCHAR(20) NOT NULL,
+    PRIMARY KEY (board_id, user_id),
+    CONSTRAINT fk_board_members_board FOREIGN KEY (board_id) REFERENCES boards(id) ON DELETE CASCADE,
+    CONSTRAINT fk_board_members_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- A user's memberships are loaded in one lookup into the permission cache
+CREATE INDEX idx_board_members_user ON board_members (user_id);
+
+-- Tasks on a board; NULL for personal tasks. Deleting a board returns its tasks to their creators
+ALTER TABLE tasks ADD COLUMN board_id BIGINT NULL;
+CREATE INDEX idx_tasks_board ON tasks (board_id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_board FOREIGN KEY (board_id) REFERENCES boards(id) ON DELETE SET NULL;
@@ -0,0 +1,3 @@
+-- Home shard of the user's tasks and refresh tokens when sharding is enabled (set on the
+-- primary database); NULL is the primary itself, as for every user created before sharding
+ALTER TABLE users ADD COLUMN shard VARCHAR(64) NULL;
@@ -0,0 +1,22 @@
+-- Cold storage for tasks completed long ago, moved out of tasks in batches by the task archiver.
+-- Rows keep their task id; archived tasks are always DONE and are read-only.
+CREATE TABLE tasks_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    due_date DATETIME(6),
+    created_at DATETIME(6),
+    -- NULL for tasks completed before completed_at was tracked
+    completed_at DATETIME(6) NULL,
+    -- Comma-separated, normalized like task tags
+    tags VARCHAR(340) NULL,
+    archived_at DATETIME(6) NOT NULL,
+    CONSTRAINT fk_tasks_archive_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_tasks_archive_user_due_date ON tasks_archive (user_id, due_date);
+
+-- The archiver's scans: tasks DONE the longest first, and legacy DONE tasks (completed_at NULL,
+-- completion never counted) by creation date
+CREATE INDEX idx_tasks_status_completed ON tasks (status, completed_at, created_at);
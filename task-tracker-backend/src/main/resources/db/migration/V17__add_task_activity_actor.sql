@@ -0,0 +1,4 @@
+-- Who made the change; user_id stays the task's owner, whose trail (and shard) the entry belongs to.
+-- Earlier entries were all made by the owner.
+ALTER TABLE task_activity ADD COLUMN actor_id BIGINT NULL;
+UPDATE task_activity SET actor_id = user_id;
@@ -0,0 +1,5 @@
+-- When a user's board memberships last changed (epoch millis), set in the same transaction.
+-- Polled by every instance to evict the user's cached board roles.
+ALTER TABLE users ADD COLUMN board_roles_changed_at BIGINT NULL;
+
+CREATE INDEX idx_users_board_roles_changed_at ON users (board_roles_changed_at);
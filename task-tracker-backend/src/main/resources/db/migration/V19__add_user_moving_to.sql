@@ -0,0 +1,4 @@
+-- The shard a user's data is being moved to, set by the rebalancer on the primary (and on the
+-- source shard) for the length of the move. Every instance waits for it to clear before routing
+-- the user's work, and writes on a fenced source fail instead of being lost.
+ALTER TABLE users ADD COLUMN moving_to VARCHAR(64) NULL;
@@ -1,3 +1,5 @@
+-- Baseline schema (previously src/dbscript/schema.sql)
+
 -- Create Users Table
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -11,7 +13,7 @@ CREATE TABLE IF NOT EXISTS tasks (
     title VARCHAR(100) NOT NULL,
     description VARCHAR(500),
     status ENUM('TODO', 'IN_PROGRESS', 'DONE') DEFAULT 'TODO',
-    due_date DATETIME,
+    due_date DATETIME(6),
     user_id BIGINT,
     CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
@@ -21,7 +23,7 @@ CREATE TABLE IF NOT EXISTS refresh_tokens (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     token VARCHAR(255) NOT NULL UNIQUE,
     user_id BIGINT NOT NULL,
-    expiry_date TIMESTAMP NOT NULL,
+    expiry_date DATETIME(6) NOT NULL,
     revoked BOOLEAN NOT NULL DEFAULT FALSE,
     CONSTRAINT fk_refresh_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
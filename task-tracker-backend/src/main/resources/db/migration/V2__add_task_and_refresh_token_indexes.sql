@@ -0,0 +1,9 @@
+-- Indexes for the hot queries:
+--   TaskRepository.findByUserId(...) ORDER BY due_date  -> tasks(user_id, due_date)
+--   RefreshTokenRepository.deleteAllExpired(...)        -> refresh_tokens(expiry_date)
+-- Plain tasks.user_id lookups (and the fk_user foreign key) are served by the
+-- leftmost column of the composite index, so no separate user_id index is added.
+
+CREATE INDEX idx_tasks_user_id_due_date ON tasks (user_id, due_date);
+
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
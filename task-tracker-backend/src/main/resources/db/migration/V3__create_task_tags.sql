@@ -0,0 +1,7 @@
+-- Free-form labels on tasks (normalized to lower case by the service layer)
+CREATE TABLE task_tags (
+    task_id BIGINT NOT NULL,
+    tag VARCHAR(30) NOT NULL,
+    PRIMARY KEY (task_id, tag),
+    CONSTRAINT fk_task_tags_task FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE
+);
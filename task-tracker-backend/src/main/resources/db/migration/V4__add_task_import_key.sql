@@ -0,0 +1,4 @@
+-- Idempotency key for bulk imports: re-sending the same upload never duplicates rows
+ALTER TABLE tasks ADD COLUMN import_key VARCHAR(64) NULL;
+
+CREATE UNIQUE INDEX uk_tasks_user_import_key ON tasks (user_id, import_key);
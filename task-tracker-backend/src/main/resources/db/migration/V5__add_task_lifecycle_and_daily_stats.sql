@@ -0,0 +1,16 @@
+-- Lifecycle timestamps (unknown for tasks created before this migration, left NULL)
+ALTER TABLE tasks ADD COLUMN created_at DATETIME(6) NULL;
+ALTER TABLE tasks ADD COLUMN completed_at DATETIME(6) NULL;
+
+-- Per-user, per-day rollup maintained incrementally by the stats aggregator
+CREATE TABLE task_daily_stats (
+    user_id BIGINT NOT NULL,
+    stats_date DATE NOT NULL,
+    created_count INT NOT NULL DEFAULT 0,
+    completed_count INT NOT NULL DEFAULT 0,
+    -- Completions whose creation time is known, and the sum of their time-to-done
+    timed_completed_count INT NOT NULL DEFAULT 0,
+    time_to_done_seconds BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, stats_date),
+    CONSTRAINT fk_task_daily_stats_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- Refresh token families: one row per login session, rotated in place.
+-- The cookie value is '<family_id>.<generation>.<random>'; only the current token is stored,
+-- and presenting an older generation of a family revokes that family.
+ALTER TABLE refresh_tokens ADD COLUMN family_id VARCHAR(64) NULL;
+ALTER TABLE refresh_tokens ADD COLUMN generation INT NOT NULL DEFAULT 0;
+
+-- Tokens issued before this migration become single-token families (their cookies stay valid)
+UPDATE refresh_tokens SET family_id = CONCAT('legacy-', id);
+
+ALTER TABLE refresh_tokens MODIFY COLUMN family_id VARCHAR(64) NOT NULL;
+
+CREATE UNIQUE INDEX uk_refresh_tokens_family_id ON refresh_tokens (family_id);
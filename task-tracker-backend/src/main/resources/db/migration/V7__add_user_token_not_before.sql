@@ -0,0 +1,5 @@
+-- Access tokens of a user issued before this epoch second are rejected (set on logout).
+-- Polled by every instance to keep its in-memory revocation list in sync.
+ALTER TABLE users ADD COLUMN token_not_before BIGINT NULL;
+
+CREATE INDEX idx_users_token_not_before ON users (token_not_before);
@@ -0,0 +1,3 @@
+-- Incremented in every transaction that changes a user's tasks; in-memory copies of the
+-- user's tasks (e.g. restored from a cache snapshot) are only trusted at the same version
+ALTER TABLE users ADD COLUMN tasks_version BIGINT NOT NULL DEFAULT 0;
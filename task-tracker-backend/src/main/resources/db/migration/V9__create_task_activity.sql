@@ -0,0 +1,14 @@
+-- Append-only audit trail of task changes, written in batches off the request path.
+-- No foreign key to tasks: a task's history outlives the task.
+CREATE TABLE task_activity (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    action VARCHAR(16) NOT NULL,
+    -- Comma-separated field names for updates, NULL for creates and deletes
+    changed_fields VARCHAR(255) NULL,
+    occurred_at DATETIME(6) NOT NULL,
+    CONSTRAINT fk_task_activity_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_task_activity_task ON task_activity (task_id, id);
@@ -0,0 +1,388 @@
+package com.miraisense.task_tracker_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miraisense.task_tracker_backend.activity.TaskActivityLog;
+import com.miraisense.task_tracker_backend.archive.TaskArchiver;
+import com.miraisense.task_tracker_backend.monitoring.RequestSqlStats;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Performance budgets of the HTTP endpoints: the exact number of SQL statements each request
+ * issues (counted by the datasource proxy, security filters included) and the bytes it allocates
+ * on the request thread. A change that adds a query, such as an N+1 through a lazy association,
+ * fails here; so does one that makes a request allocate well beyond its budget.
+ * <p>
+ * Each request is sent once to warm up caches, then measured {@value #RUNS} times. Every run
+ * must issue exactly the budgeted statements. Each call records the kilobytes its least
+ * allocating run was measured at (the highest such value seen over several full runs, about
+ * 700 KB of which is MockMvc and the security filters); the byte budget is that plus
+ * {@value #ALLOCATION_MARGIN_KB} KB for JIT and library noise, so a request that starts
+ * allocating noticeably more fails. When a change legitimately alters a count or an allocation,
+ * update the number in the same commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestBudgetTests {
+
+    private static final int RUNS = 3;
+    private static final long ALLOCATION_MARGIN_KB = 128;
+    private static final AtomicInteger USERS = new AtomicInteger();
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskActivityLog activityLog;
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private String token;
+    private long userId;
+
+    @BeforeEach
+    void registerUser() throws Exception {
+        email = "budget" + USERS.incrementAndGet() + "@example.com";
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials(email)));
+        JsonNode login = data(mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials(email))).andReturn());
+        token = "Bearer " + login.get("token").asText();
+        userId = login.get("userId").asLong();
+    }
+
+    // --- Auth ---
+
+    @Test
+    void register() throws Exception {
+        AtomicInteger n = new AtomicInteger();
+        assertBudget(() -> post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials("register" + USERS.get() + "-" + n.incrementAndGet() + "@example.com")),
+                201, 1, 2012);
+    }
+
+    @Test
+    void login() throws Exception {
+        assertBudget(() -> post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials(email)), 200, 2, 2096);
+    }
+
+    @Test
+    void refresh() throws Exception {
+        Deque<Cookie> cookies = new ArrayDeque<>();
+        for (int i = 0; i <= RUNS; i++) {
+            cookies.add(mockMvc.perform(post("/api/v1/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(credentials(email))).andReturn().getResponse().getCookie("refreshToken"));
+        }
+        assertBudget(() -> post("/api/v1/auth/refresh").cookie(cookies.pop()), 200, 2, 245);
+    }
+
+    @Test
+    void logout() throws Exception {
+        Deque<Cookie> cookies = new ArrayDeque<>();
+        for (int i = 0; i <= RUNS; i++) {
+            cookies.add(mockMvc.perform(post("/api/v1/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(credentials(email))).andReturn().getResponse().getCookie("refreshToken"));
+        }
+        assertBudget(() -> post("/api/v1/auth/logout").cookie(cookies.pop()), 200, 4, 211);
+    }
+
+    // --- Tasks ---
+
+    @Test
+    void createTask() throws Exception {
+        assertBudget(() -> authorized(post("/api/v1/tasks/" + userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Write report\",\"status\":\"TODO\",\"tags\":[\"work\",\"q3\"]}"),
+                201, 7, 817);
+    }
+
+    @Test
+    void listTasks() throws Exception {
+        createTasks(20);
+        assertBudget(() -> authorized(get("/api/v1/tasks/user/" + userId + "?size=20")), 200, 1, 734);
+    }
+
+    @Test
+    void listTasksWithFields() throws Exception {
+        createTasks(20);
+        assertBudget(() -> authorized(get("/api/v1/tasks/user/" + userId + "?size=20&fields=id,title,status")),
+                200, 1, 704);
+    }
+
+    @Test
+    void listTasksIncludingArchived() throws Exception {
+        // Half of the tasks completed a year ago and archived, merged back into the listing
+        long[] ids = createTasks(20);
+        for (int i = 0; i < ids.length; i += 2) {
+            perform(authorized(put("/api/v1/tasks/" + ids[i]))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\":\"Task " + i + "\",\"status\":\"DONE\",\"tags\":[\"work\"]}"), 200);
+        }
+        jdbcTemplate.update("UPDATE tasks SET completed_at = ? WHERE user_id = ? AND status = 'DONE'",
+                Timestamp.valueOf(LocalDateTime.now().minusYears(1)), userId);
+        archiver.archive();
+        assertBudget(() -> authorized(get("/api/v1/tasks/user/" + userId + "?size=20&includeArchived=true")),
+                200, 4, 768);
+    }
+
+    @Test
+    void filterTasks() throws Exception {
+        createTasks(20);
+        assertBudget(() -> authorized(get("/api/v1/tasks/user/" + userId + "/filter?q=tag:work&size=20")),
+                200, 3, 877);
+        // Capped at the maximum page size, not allocated up front
+        assertBudget(() -> authorized(get("/api/v1/tasks/user/" + userId + "/filter?q=tag:work&size=2147483647")),
+                200, 3, 877);
+    }
+
+    @Test
+    void getTask() throws Exception {
+        long taskId = createTasks(1)[0];
+        assertBudget(() -> authorized(get("/api/v1/tasks/" + taskId)), 200, 3, 705);
+    }
+
+    @Test
+    void getTaskWithFields() throws Exception {
+        long taskId = createTasks(1)[0];
+        assertBudget(() -> authorized(get("/api/v1/tasks/" + taskId + "?fields=title,tags")), 200, 3, 730);
+    }
+
+    @Test
+    void getSubtree() throws Exception {
+        long rootId = createTasks(1)[0];
+        for (int i = 0; i < 5; i++) {
+            createTask("{\"title\":\"Step " + i + "\",\"parentId\":" + rootId + "}");
+        }
+        assertBudget(() -> authorized(get("/api/v1/tasks/" + rootId + "/subtree")), 200, 2, 713);
+    }
+
+    @Test
+    void getActivity() throws Exception {
+        long taskId = createTasks(1)[0];
+        // The activity log writes in the background; flush so the trail is there to read
+        activityLog.flush();
+        assertBudget(() -> authorized(get("/api/v1/tasks/" + taskId + "/activity")), 200, 3, 706);
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        long taskId = createTasks(1)[0];
+        AtomicInteger n = new AtomicInteger();
+        assertBudget(() -> authorized(put("/api/v1/tasks/" + taskId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Renamed " + n.incrementAndGet() + "\",\"tags\":[\"work\"]}"),
+                200, 6, 815);
+    }
+
+    @Test
+    void deleteTask() throws Exception {
+        Deque<Long> taskIds = new ArrayDeque<>();
+        for (long id : createTasks(RUNS + 1)) {
+            taskIds.add(id);
+        }
+        assertBudget(() -> authorized(delete("/api/v1/tasks/" + taskIds.pop())), 200, 7, 791);
+    }
+
+    @Test
+    void importTasks() throws Exception {
+        StringBuilder csv = new StringBuilder("title,description,status,dueDate,tags\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append("Imported ").append(i).append(",,TODO,,work;import\n");
+        }
+        AtomicInteger n = new AtomicInteger();
+        // The file name is part of the import key, so each run imports new tasks
+        assertBudget(() -> authorized(multipart("/api/v1/tasks/" + userId + "/import")
+                .file(new MockMultipartFile("file", "tasks" + n.incrementAndGet() + ".csv", "text/csv",
+                        csv.toString().getBytes(StandardCharsets.UTF_8)))), 200, 2, 1289);
+    }
+
+    @Test
+    void analytics() throws Exception {
+        createTasks(5);
+        assertBudget(() -> authorized(get("/api/v1/tasks/user/" + userId + "/analytics")), 200, 2, 755);
+    }
+
+    @Test
+    void recurrences() throws Exception {
+        assertBudget(() -> authorized(post("/api/v1/tasks/" + userId + "/recurrences"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Standup\",\"schedule\":\"@daily\",\"tags\":[\"team\"]}"), 201, 3, 750);
+        assertBudget(() -> authorized(get("/api/v1/tasks/user/" + userId + "/recurrences")), 200, 2, 732);
+    }
+
+    @Test
+    void deleteRecurrence() throws Exception {
+        Deque<Long> recurrenceIds = new ArrayDeque<>();
+        for (int i = 0; i <= RUNS; i++) {
+            recurrenceIds.add(data(mockMvc.perform(authorized(post("/api/v1/tasks/" + userId + "/recurrences"))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\":\"Standup " + i + "\",\"schedule\":\"@daily\"}")).andReturn())
+                    .get("id").asLong());
+        }
+        assertBudget(() -> authorized(delete("/api/v1/tasks/recurrences/" + recurrenceIds.pop())), 200, 3, 702);
+    }
+
+    // --- Boards ---
+
+    @Test
+    void boards() throws Exception {
+        long boardId = createBoard("Team");
+        for (int i = 0; i < 10; i++) {
+            createTask("{\"title\":\"Shared " + i + "\",\"boardId\":" + boardId + "}");
+        }
+        assertBudget(() -> authorized(get("/api/v1/boards")), 200, 2, 717);
+        assertBudget(() -> authorized(get("/api/v1/boards/" + boardId + "/tasks?size=10")), 200, 4, 854);
+        assertBudget(() -> authorized(get("/api/v1/boards/tasks?size=10")), 200, 4, 849);
+        assertBudget(() -> authorized(get("/api/v1/boards/" + boardId + "/members")), 200, 2, 714);
+        assertBudget(() -> authorized(post("/api/v1/tasks/" + userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"On the board\",\"boardId\":" + boardId + "}"), 201, 5, 807);
+    }
+
+    @Test
+    void boardMembers() throws Exception {
+        long boardId = createBoard("Team");
+        Deque<Long> memberIds = new ArrayDeque<>();
+        for (int i = 0; i <= RUNS; i++) {
+            memberIds.add(registerMember());
+        }
+        long memberId = memberIds.peek();
+        assertBudget(() -> authorized(put("/api/v1/boards/" + boardId + "/members/" + memberId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"role\":\"EDITOR\"}"), 200, 4, 733);
+        for (long id : memberIds) {
+            perform(authorized(put("/api/v1/boards/" + boardId + "/members/" + id))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"role\":\"VIEWER\"}"), 200);
+        }
+        assertBudget(() -> authorized(delete("/api/v1/boards/" + boardId + "/members/" + memberIds.pop())),
+                200, 4, 723);
+    }
+
+    @Test
+    void deleteBoard() throws Exception {
+        Deque<Long> boardIds = new ArrayDeque<>();
+        for (int i = 0; i <= RUNS; i++) {
+            long boardId = createBoard("Team " + i);
+            createTask("{\"title\":\"Shared\",\"boardId\":" + boardId + "}");
+            boardIds.add(boardId);
+        }
+        assertBudget(() -> authorized(delete("/api/v1/boards/" + boardIds.pop())), 200, 7, 822);
+    }
+
+    private void assertBudget(Supplier<MockHttpServletRequestBuilder> request, int expectedStatus,
+            long statements, long measuredKilobytes) throws Exception {
+        perform(request.get(), expectedStatus);
+        long leastAllocated = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            MockHttpServletRequestBuilder builder = request.get();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            MvcResult result = perform(builder, expectedStatus);
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+            leastAllocated = Math.min(leastAllocated, allocated);
+
+            // MockMvc serves the request on this thread, so the per-request counter is still readable
+            assertEquals(statements, RequestSqlStats.statementCount(), () -> "SQL statements for "
+                    + result.getRequest().getMethod() + " " + result.getRequest().getRequestURI());
+        }
+        long kilobytes = leastAllocated / 1024;
+        long maxKilobytes = measuredKilobytes + ALLOCATION_MARGIN_KB;
+        assertTrue(kilobytes <= maxKilobytes, () -> "Allocated " + kilobytes + " KB, measured at " + measuredKilobytes
+                + " KB, budget " + maxKilobytes + " KB");
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(expectedStatus, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        return result;
+    }
+
+    private long[] createTasks(int count) throws Exception {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = createTask("{\"title\":\"Task " + i + "\",\"status\":\"TODO\",\"tags\":[\"work\",\"t" + i + "\"]}");
+        }
+        return ids;
+    }
+
+    private long createTask(String body) throws Exception {
+        return data(mockMvc.perform(authorized(post("/api/v1/tasks/" + userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)).andReturn()).get("id").asLong();
+    }
+
+    private long createBoard(String name) throws Exception {
+        return data(mockMvc.perform(authorized(post("/api/v1/boards"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\"}")).andReturn()).get("id").asLong();
+    }
+
+    private long registerMember() throws Exception {
+        String memberEmail = "member" + USERS.incrementAndGet() + "@example.com";
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials(memberEmail)));
+        return data(mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(credentials(memberEmail))).andReturn()).get("userId").asLong();
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", token);
+    }
+
+    private JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+
+    private static String credentials(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"secret1\"}";
+    }
+}
@@ -0,0 +1,130 @@
+package com.miraisense.task_tracker_backend.activity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MpscRingBufferTests {
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(6));
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(1));
+        assertEquals(8, new MpscRingBuffer<>(8).capacity());
+    }
+
+    @Test
+    void fullBufferRejectsOffersUntilDrained() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(drained, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+    }
+
+    @Test
+    void drainStopsAtMaxAndWhenEmpty() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(2, buffer.drainTo(drained, 3));
+        assertEquals(0, buffer.drainTo(drained, 3));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void slotsAreReusedAcrossManyLaps() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        // Uneven offer/drain counts, so head and tail wrap at different slots
+        for (int lap = 0; lap < 100; lap++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            buffer.drainTo(drained, lap % 2 == 0 ? 2 : 4);
+        }
+        buffer.drainTo(drained, 4);
+
+        assertEquals(next, drained.size());
+        for (int i = 0; i < next; i++) {
+            assertEquals(i, drained.get(i));
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    // A full buffer rejects rather than waits; try again, as a caller could
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producer.start();
+            threads.add(producer);
+        }
+        start.countDown();
+
+        // This thread is the single consumer
+        int total = producers * perProducer;
+        List<Integer> drained = new ArrayList<>(total);
+        while (drained.size() < total) {
+            if (buffer.drainTo(drained, 16) == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread producer : threads) {
+            producer.join();
+        }
+
+        // Every element exactly once, and each producer's elements in the order it offered them
+        boolean[] seen = new boolean[total];
+        int[] lastByProducer = new int[producers];
+        Arrays.fill(lastByProducer, -1);
+        for (int element : drained) {
+            assertFalse(seen[element], () -> "duplicate " + element);
+            seen[element] = true;
+            int producer = element / perProducer;
+            assertTrue(element > lastByProducer[producer], () -> "out of order " + element);
+            lastByProducer[producer] = element;
+        }
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,185 @@
+package com.miraisense.task_tracker_backend.activity;
+
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.event.TaskChangedEvent;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The activity writer against a database that fails on demand: failed batches are retried on
+ * later flushes, dropped and counted after {@value #MAX_ATTEMPTS} attempts, and a full buffer
+ * drops new entries instead of blocking the task write.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskActivityLogTests {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private FlakyJdbcTemplate database;
+    private MeterRegistry registry;
+    private TaskActivityLog activityLog;
+
+    @BeforeEach
+    void createLog() {
+        database = new FlakyJdbcTemplate();
+        registry = new SimpleMeterRegistry();
+        activityLog = new TaskActivityLog(database, shardRouter, registry, 8, 4, MAX_ATTEMPTS);
+    }
+
+    @Test
+    void entriesAreWrittenInBatchesOnFlush() {
+        for (long taskId = 1; taskId <= 6; taskId++) {
+            activityLog.onTaskChanged(created(taskId));
+        }
+        assertEquals(List.of(), database.written);
+
+        activityLog.flush();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), database.writtenTaskIds());
+        assertEquals(2, database.batches);
+        assertEquals(6, counter("task.activity.written"));
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void failedEntriesAreRetriedOnLaterFlushes() {
+        activityLog.onTaskChanged(created(1));
+        activityLog.onTaskChanged(created(2));
+        database.failures = 2;
+
+        activityLog.flush(); // fails, set aside
+        activityLog.onTaskChanged(created(3));
+        activityLog.flush(); // retry fails again; the new entry is written
+        assertEquals(List.of(3L), database.writtenTaskIds());
+
+        activityLog.flush(); // retry succeeds
+
+        assertEquals(List.of(3L, 1L, 2L), database.writtenTaskIds());
+        assertEquals(0, counter("task.activity.dropped"));
+    }
+
+    @Test
+    void entriesAreDroppedAfterMaxAttempts() {
+        activityLog.onTaskChanged(created(1));
+        activityLog.onTaskChanged(created(2));
+        database.failures = Integer.MAX_VALUE;
+
+        activityLog.flush();
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            activityLog.flush();
+            assertEquals(0, counter("task.activity.dropped"), "attempt " + attempt);
+        }
+        activityLog.flush();
+        assertEquals(2, counter("task.activity.dropped"));
+
+        database.failures = 0;
+        activityLog.flush();
+        assertEquals(List.of(), database.written);
+    }
+
+    @Test
+    void fullBufferDropsNewEntries() {
+        for (long taskId = 1; taskId <= 10; taskId++) {
+            activityLog.onTaskChanged(created(taskId));
+        }
+
+        assertEquals(8, pending());
+        assertEquals(2, counter("task.activity.dropped"));
+        activityLog.flush();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), database.writtenTaskIds());
+    }
+
+    @Test
+    void drainingPausesWhileABuffersWorthAwaitsRetry() {
+        database.failures = Integer.MAX_VALUE;
+        for (long taskId = 1; taskId <= 8; taskId++) {
+            activityLog.onTaskChanged(created(taskId));
+        }
+        activityLog.flush(); // all 8 set aside
+        activityLog.onTaskChanged(created(9));
+
+        activityLog.flush();
+
+        // Entry 9 stays buffered rather than joining the entries held for retry
+        assertEquals(1, pending());
+        database.failures = 0;
+        activityLog.flush();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), database.writtenTaskIds());
+    }
+
+    @Test
+    void updatesRecordTheChangedFields() {
+        TaskResponseDTO previous = task(1, "Draft", TaskStatus.TODO);
+        TaskResponseDTO current = task(1, "Final", TaskStatus.DONE);
+        activityLog.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.ChangeType.UPDATED, 7L, 8L, previous, current));
+
+        activityLog.flush();
+
+        TaskActivity activity = database.written.get(0);
+        assertEquals(TaskActivity.Action.UPDATED, activity.action());
+        assertEquals("title,status", activity.changedFields());
+        assertEquals(8L, activity.actorId());
+    }
+
+    private double counter(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    private double pending() {
+        return registry.get("task.activity.pending").gauge().value();
+    }
+
+    private static TaskChangedEvent created(long taskId) {
+        return new TaskChangedEvent(TaskChangedEvent.ChangeType.CREATED, 7L, 7L, null,
+                task(taskId, "Task " + taskId, TaskStatus.TODO));
+    }
+
+    private static TaskResponseDTO task(long taskId, String title, TaskStatus status) {
+        return TaskResponseDTO.builder().id(taskId).title(title).status(status).build();
+    }
+
+    // Records the entries of each batch instead of inserting them; the next `failures` batches fail
+    private static final class FlakyJdbcTemplate extends JdbcTemplate {
+
+        final List<TaskActivity> written = new ArrayList<>();
+        int batches;
+        int failures;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                ParameterizedPreparedStatementSetter<T> pss) {
+            if (failures > 0) {
+                failures--;
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            batches++;
+            written.addAll((Collection<TaskActivity>) batchArgs);
+            return new int[0][];
+        }
+
+        List<Long> writtenTaskIds() {
+            return written.stream().map(TaskActivity::taskId).toList();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.miraisense.task_tracker_backend.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskArchiverTests {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void insertUser() {
+        String email = "archived" + USERS.incrementAndGet() + "@example.com";
+        jdbcTemplate.update("INSERT INTO users (email, password) VALUES (?, 'secret')", email);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    @Test
+    void archivesTasksCompletedBeforeTheCutoff() {
+        long old = insertDoneTask(LocalDateTime.now().minusYears(1), LocalDateTime.now().minusYears(1));
+        long recent = insertDoneTask(LocalDateTime.now().minusYears(1), LocalDateTime.now().minusDays(1));
+
+        archiver.archive();
+
+        assertEquals(List.of(old), archivedIds());
+        assertNotNull(jdbcTemplate.queryForObject("SELECT completed_at FROM tasks_archive WHERE id = ?",
+                Timestamp.class, old));
+        assertEquals(List.of(recent), hotIds());
+    }
+
+    @Test
+    void legacyTasksQualifyByCreationAndKeepNoCompletionDate() {
+        long old = insertDoneTask(LocalDateTime.now().minusYears(1), null);
+        long recent = insertDoneTask(LocalDateTime.now().minusDays(1), null);
+
+        archiver.archive();
+
+        assertEquals(List.of(old), archivedIds());
+        // The completion was never counted in the daily stats, so none is made up
+        assertNull(jdbcTemplate.queryForObject("SELECT completed_at FROM tasks_archive WHERE id = ?",
+                Timestamp.class, old));
+        assertEquals(List.of(recent), hotIds());
+        assertNull(jdbcTemplate.queryForObject("SELECT completed_at FROM tasks WHERE id = ?", Timestamp.class, recent));
+    }
+
+    private long insertDoneTask(LocalDateTime createdAt, LocalDateTime completedAt) {
+        jdbcTemplate.update("INSERT INTO tasks (title, status, user_id, created_at, completed_at) "
+                        + "VALUES ('Done', 'DONE', ?, ?, ?)", userId, Timestamp.valueOf(createdAt),
+                completedAt != null ? Timestamp.valueOf(completedAt) : null);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM tasks WHERE user_id = ?", Long.class, userId);
+    }
+
+    private List<Long> archivedIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM tasks_archive WHERE user_id = ? ORDER BY id", Long.class,
+                userId);
+    }
+
+    private List<Long> hotIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM tasks WHERE user_id = ? ORDER BY id", Long.class, userId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.miraisense.task_tracker_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
+import com.miraisense.task_tracker_backend.dto.StandardResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a 100-task list response with Spring's {@code PageImpl} versus {@link PageResponseDTO}.
+ * Run with the GC profiler and compare {@code gc.alloc.rate.norm} (bytes allocated per response):
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.miraisense.task_tracker_backend.benchmark.PageEnvelopeBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageEnvelopeBenchmark {
+
+    @Param({"PAGE_IMPL", "PAGE_RESPONSE_DTO"})
+    public String envelope;
+
+    private ObjectMapper mapper;
+    private Object response;
+
+    @Setup
+    public void setUp() {
+        mapper = TaskEncodingBenchmark.mapper("JSON");
+        StandardResponseDTO<PageResponseDTO<TaskResponseDTO>> lean = TaskEncodingBenchmark.listResponse(100);
+        if (envelope.equals("PAGE_IMPL")) {
+            PageResponseDTO<TaskResponseDTO> page = lean.getData();
+            response = new StandardResponseDTO<>(
+                    new PageImpl<>(page.getContent(), PageRequest.of(0, 100, Sort.by("dueDate").descending()), 1000),
+                    lean.getMessage(), lean.getStatusCode());
+        } else {
+            response = lean;
+        }
+    }
+
+    // Written to a discarding stream so only serialization allocations are measured
+    @Benchmark
+    public void serialize() throws Exception {
+        mapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PageEnvelopeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.miraisense.task_tracker_backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
+import com.miraisense.task_tracker_backend.dto.StandardResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a 100-task list response in JSON, CBOR and Smile.
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.miraisense.task_tracker_backend.benchmark.TaskEncodingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskEncodingBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private JavaType responseType;
+    private StandardResponseDTO<PageResponseDTO<TaskResponseDTO>> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = mapper(format);
+        responseType = mapper.getTypeFactory().constructParametricType(StandardResponseDTO.class,
+                mapper.getTypeFactory().constructParametricType(PageResponseDTO.class, TaskResponseDTO.class));
+        response = listResponse(100);
+        encoded = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return mapper.readValue(encoded, responseType);
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String format : List.of("JSON", "CBOR", "SMILE")) {
+            System.out.printf("%-5s payload: %,d bytes%n", format, mapper(format).writeValueAsBytes(listResponse(100)).length);
+        }
+        new Runner(new OptionsBuilder().include(TaskEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    // Configured like the application's converters (see WebConfig)
+    static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "CBOR" -> new CBORFactory();
+            case "SMILE" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static StandardResponseDTO<PageResponseDTO<TaskResponseDTO>> listResponse(int size) {
+        List<TaskResponseDTO> tasks = new ArrayList<>(size);
+        LocalDateTime due = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            tasks.add(TaskResponseDTO.builder()
+                    .id((long) i + 1)
+                    .title("Task number " + i)
+                    .description("Follow up with the team about item " + i + " and update the tracker once the review is done.")
+                    .status(TaskStatus.values()[i % 3])
+                    .dueDate(due.plusHours(i))
+                    .tags(new TreeSet<>(Set.of("work", "sprint-" + (i % 4))))
+                    .build());
+        }
+        PageResponseDTO<TaskResponseDTO> page = new PageResponseDTO<>(tasks, 0, size, true, 1000L);
+        return StandardResponseDTO.<PageResponseDTO<TaskResponseDTO>>builder()
+                .data(page)
+                .message("Tasks retrieved successfully")
+                .statusCode(200)
+                .build();
+    }
+}
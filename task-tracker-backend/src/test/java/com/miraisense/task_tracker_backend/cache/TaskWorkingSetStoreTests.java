@@ -0,0 +1,115 @@
+package com.miraisense.task_tracker_backend.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The working set against changes it is not told about: writes made by another instance or the
+ * reactive API, simulated here by updating the database directly.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.task-working-set.refresh-after-write=1s")
+class TaskWorkingSetStoreTests {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private long userId;
+
+    @BeforeEach
+    void registerUser() throws Exception {
+        String credentials = "{\"email\":\"working" + USERS.incrementAndGet()
+                + "@example.com\",\"password\":\"secret1\"}";
+        perform(post("/api/v1/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials), 201);
+        JsonNode login = data(perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content(credentials), 200));
+        token = "Bearer " + login.get("token").asText();
+        userId = login.get("userId").asLong();
+    }
+
+    @Test
+    void localWritesDoNotPostponeTheRefresh() throws Exception {
+        long taskId = createTask("Original");
+        listTitle(taskId); // loaded
+        jdbcTemplate.update("UPDATE tasks SET title = 'Changed elsewhere' WHERE id = ?", taskId);
+        jdbcTemplate.update("UPDATE users SET tasks_version = tasks_version + 1 WHERE id = ?", userId);
+
+        // The user keeps writing here, more often than refresh-after-write
+        long deadline = System.currentTimeMillis() + 5_000;
+        String title = listTitle(taskId);
+        while (!title.equals("Changed elsewhere") && System.currentTimeMillis() < deadline) {
+            createTask("Busy");
+            Thread.sleep(200);
+            title = listTitle(taskId);
+        }
+        assertEquals("Changed elsewhere", title);
+    }
+
+    @Test
+    void localWritesAreServedImmediately() throws Exception {
+        long taskId = createTask("Original");
+        listTitle(taskId);
+        long created = createTask("Second");
+        assertEquals("Second", listTitle(created));
+    }
+
+    private String listTitle(long taskId) throws Exception {
+        JsonNode content = data(perform(authorized(get("/api/v1/tasks/user/" + userId + "?size=100")), 200))
+                .get("content");
+        for (JsonNode task : content) {
+            if (task.get("id").asLong() == taskId) {
+                return task.get("title").asText();
+            }
+        }
+        throw new AssertionError("task " + taskId + " not listed");
+    }
+
+    private long createTask(String title) throws Exception {
+        return data(perform(authorized(post("/api/v1/tasks/" + userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"" + title + "\"}"), 201)).get("id").asLong();
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", token);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(expectedStatus, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        return result;
+    }
+
+    private JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+}
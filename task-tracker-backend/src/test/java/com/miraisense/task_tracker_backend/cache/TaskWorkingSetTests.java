@@ -0,0 +1,155 @@
+package com.miraisense.task_tracker_backend.cache;
+
+import com.miraisense.task_tracker_backend.dto.TaskField;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.Task;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The working set must list exactly what the SQL listing it replaces would: every sortable
+ * field in both directions, every page and each status filter, compared against
+ * {@link TaskRepository} over the same rows. Ties are broken by id on both sides; statuses sort in
+ * the declaration order of the column's ENUM, like the working set's ordinals.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskWorkingSetTests {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+    private static final List<String> SORTABLE_FIELDS = List.of("id", "title", "status", "dueDate");
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired
+    private TaskWorkingSetLoader loader;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void insertTasks() {
+        String email = "columns" + USERS.incrementAndGet() + "@example.com";
+        jdbcTemplate.update("INSERT INTO users (email, password) VALUES (?, 'secret')", email);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+
+        // Repeated titles, statuses and due dates, and tasks without a due date, so ties and NULLs are covered
+        LocalDateTime day = LocalDateTime.of(2026, 3, 1, 9, 0);
+        String[] titles = {"review", "plan", "deploy", "plan", "write", "call", "review", "audit", "fix", "plan"};
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < titles.length; i++) {
+            LocalDateTime dueDate = i % 4 == 3 ? null : day.plusDays((i * 7) % 5);
+            jdbcTemplate.update("INSERT INTO tasks (title, status, due_date, user_id) VALUES (?, ?, ?, ?)",
+                    titles[i], statuses[(i * 5) % statuses.length].name(),
+                    dueDate != null ? Timestamp.valueOf(dueDate) : null, userId);
+        }
+    }
+
+    @Test
+    void sortsLikeTheSqlListing() {
+        TaskWorkingSet workingSet = load();
+        for (String field : SORTABLE_FIELDS) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                assertSameListing(workingSet, null, Sort.by(direction, field));
+            }
+        }
+    }
+
+    @Test
+    void filtersByStatusLikeTheSqlListing() {
+        TaskWorkingSet workingSet = load();
+        for (TaskStatus status : TaskStatus.values()) {
+            assertSameListing(workingSet, status, Sort.by(Sort.Direction.DESC, "dueDate"));
+            assertSameListing(workingSet, status, Sort.by(Sort.Direction.ASC, "title"));
+        }
+    }
+
+    @Test
+    void unsortedListsInIdOrder() {
+        Page<TaskResponseDTO> page = load().page(null, PageRequest.of(0, 100), TaskField.ALL);
+
+        assertEquals(sqlIds(null, PageRequest.of(0, 100, Sort.by("id"))), ids(page));
+    }
+
+    @Test
+    void pagesBeyondTheLastAreEmpty() {
+        Page<TaskResponseDTO> page = load().page(null, PageRequest.of(5, PAGE_SIZE, Sort.by("title")), TaskField.ALL);
+
+        assertEquals(List.of(), page.getContent());
+        assertEquals(10, page.getTotalElements());
+    }
+
+    @Test
+    void mutationsAreListedLikeTheDatabase() {
+        TaskWorkingSet workingSet = load();
+        List<Long> ids = ids(workingSet.page(null, PageRequest.of(0, 100, Sort.by("id")), TaskField.ALL));
+        long updatedId = ids.get(2);
+        long deletedId = ids.get(5);
+        jdbcTemplate.update("UPDATE tasks SET title = 'archive', status = 'DONE', due_date = NULL WHERE id = ?",
+                updatedId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", deletedId);
+        jdbcTemplate.update("INSERT INTO tasks (title, status, user_id) VALUES ('triage', 'TODO', ?)", userId);
+
+        // Apply the same changes in place, as the store does for task events
+        for (TaskResponseDTO task : load().page(null, PageRequest.of(0, 100), TaskField.ALL)) {
+            if (task.getId() == updatedId || !ids.contains(task.getId())) {
+                workingSet.upsert(task);
+            }
+        }
+        workingSet.remove(deletedId);
+
+        assertEquals(10, workingSet.size());
+        for (String field : SORTABLE_FIELDS) {
+            assertSameListing(workingSet, null, Sort.by(field));
+        }
+        assertSameListing(workingSet, TaskStatus.DONE, Sort.by(Sort.Direction.DESC, "dueDate"));
+    }
+
+    private void assertSameListing(TaskWorkingSet workingSet, TaskStatus status, Sort sort) {
+        Sort sqlSort = sort.and(Sort.by("id"));
+        long total = status == null ? taskRepository.countByUserId(userId)
+                : taskRepository.findByUserIdAndStatus(userId, status, Pageable.unpaged()).getTotalElements();
+        for (int page = 0; page * PAGE_SIZE <= total; page++) {
+            Page<TaskResponseDTO> listed =
+                    workingSet.page(status, PageRequest.of(page, PAGE_SIZE, sort), TaskField.ALL);
+            String description = status + " " + sort + " page " + page;
+            assertEquals(sqlIds(status, PageRequest.of(page, PAGE_SIZE, sqlSort)), ids(listed), description);
+            assertEquals(total, listed.getTotalElements(), description);
+        }
+    }
+
+    private List<Long> sqlIds(TaskStatus status, Pageable pageable) {
+        Page<Task> tasks = status == null ? taskRepository.findByUserId(userId, pageable)
+                : taskRepository.findByUserIdAndStatus(userId, status, pageable);
+        return tasks.map(Task::getId).getContent();
+    }
+
+    private static List<Long> ids(Page<TaskResponseDTO> page) {
+        return page.map(TaskResponseDTO::getId).getContent();
+    }
+
+    private TaskWorkingSet load() {
+        return new TaskWorkingSet(loader.loadWorkingSet(userId).tasks(), 0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.miraisense.task_tracker_backend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTests {
+
+    private static final int CAPACITY = 50_000;
+
+    @Test
+    void everyAddedStringIsFound() {
+        BloomFilter filter = new BloomFilter(CAPACITY, 0.01);
+        for (int i = 0; i < CAPACITY; i++) {
+            filter.put(email(i));
+        }
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(filter.mightContain(email(i)), email(i));
+        }
+    }
+
+    @Test
+    void stringsAddedPastCapacityAreStillFound() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(email(i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(email(i)), email(i));
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(CAPACITY, 0.01);
+        for (int i = 0; i < CAPACITY; i++) {
+            filter.put(email(i));
+        }
+        long falsePositives = IntStream.range(CAPACITY, 2 * CAPACITY)
+                .filter(i -> filter.mightContain(email(i)))
+                .count();
+        // 1% configured; the bound leaves room for the hash's variance
+        assertTrue(falsePositives < CAPACITY * 0.02, () -> "false positives: " + falsePositives);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(CAPACITY, 0.01);
+
+        assertFalse(filter.mightContain(email(0)));
+        assertFalse(filter.mightContain(""));
+        assertEquals(0, filter.added());
+    }
+
+    @Test
+    void repeatedPutsAreNotCounted() {
+        BloomFilter filter = new BloomFilter(CAPACITY, 0.01);
+        for (int i = 0; i < 3; i++) {
+            filter.put(email(1));
+            filter.put(email(2));
+        }
+
+        assertEquals(2, filter.added());
+    }
+
+    @Test
+    void concurrentPutsLoseNoBits() throws Exception {
+        BloomFilter filter = new BloomFilter(CAPACITY, 0.01);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                // Interleaved, so threads keep setting bits in the same words
+                for (int i = offset; i < CAPACITY; i += threads) {
+                    filter.put(email(i));
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(filter.mightContain(email(i)), email(i));
+        }
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@example.com";
+    }
+}
@@ -0,0 +1,85 @@
+package com.miraisense.task_tracker_backend.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The filter against the users table: users registered here are found at once, users inserted
+ * by another instance (written straight to the database here) once a sync has run, and a miss
+ * stays final until then.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.email-filter.sync-interval-ms=" + RegisteredEmailIndexTests.SYNC_INTERVAL_MS)
+class RegisteredEmailIndexTests {
+
+    static final long SYNC_INTERVAL_MS = 500;
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private RegisteredEmailIndex index;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void usersRegisteredHereAreFoundAtOnce() throws Exception {
+        String email = nextEmail();
+        assertEquals(201, mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"secret1\"}"))
+                .andReturn().getResponse().getStatus());
+
+        assertTrue(index.mightExist(email));
+        assertTrue(index.mightExist(email.toUpperCase()));
+        assertTrue(index.mightExist("  " + email + " "));
+    }
+
+    @Test
+    void neverRegisteredEmailsAreAbsent() {
+        assertFalse(index.mightExist(nextEmail()));
+    }
+
+    @Test
+    void usersRegisteredElsewhereAreFoundAfterTheNextSync() throws Exception {
+        // The miss syncs, so the next interval starts now
+        Thread.sleep(SYNC_INTERVAL_MS + 100);
+        assertFalse(index.mightExist(nextEmail()));
+
+        String email = nextEmail();
+        jdbcTemplate.update("INSERT INTO users (email, password) VALUES (?, 'secret')", email);
+        assertFalse(index.mightExist(email), "a miss is final until the next sync");
+
+        Thread.sleep(SYNC_INTERVAL_MS + 100);
+        assertTrue(index.mightExist(email));
+    }
+
+    @Test
+    void emailsTheDatabaseMayCompareDifferentlyAreNotFiltered() {
+        assertTrue(index.mightExist("jürgen" + USERS.incrementAndGet() + "@example.com"));
+        assertTrue(index.mightExist(null));
+    }
+
+    private static String nextEmail() {
+        return "indexed" + USERS.incrementAndGet() + "@example.com";
+    }
+}
@@ -0,0 +1,152 @@
+package com.miraisense.task_tracker_backend.index;
+
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskFilterTests {
+
+    private UserTaskBitmaps bitmaps;
+
+    @BeforeEach
+    void addTasks() {
+        bitmaps = new UserTaskBitmaps();
+        bitmaps.add(1, TaskStatus.TODO, List.of("work"));
+        bitmaps.add(2, TaskStatus.DONE, List.of("work", "urgent"));
+        bitmaps.add(3, TaskStatus.TODO, List.of("home"));
+        bitmaps.add(4, TaskStatus.IN_PROGRESS, List.of("urgent"));
+        bitmaps.add(5, TaskStatus.DONE, List.of());
+    }
+
+    // --- Parsing ---
+
+    @Test
+    void andBindsTighterThanOr() {
+        TaskFilter work = new TaskFilter.Tag("work");
+        TaskFilter home = new TaskFilter.Tag("home");
+        TaskFilter todo = new TaskFilter.Status(TaskStatus.TODO);
+
+        assertEquals(new TaskFilter.Or(work, new TaskFilter.And(home, todo)),
+                TaskFilter.parse("tag:work OR tag:home AND status:TODO"));
+        assertEquals(new TaskFilter.Or(new TaskFilter.And(work, home), todo),
+                TaskFilter.parse("tag:work AND tag:home OR status:TODO"));
+    }
+
+    @Test
+    void notBindsTighterThanAnd() {
+        assertEquals(new TaskFilter.And(new TaskFilter.Not(new TaskFilter.Tag("work")), new TaskFilter.Tag("home")),
+                TaskFilter.parse("NOT tag:work AND tag:home"));
+    }
+
+    @Test
+    void parenthesesOverridePrecedence() {
+        assertEquals(new TaskFilter.And(
+                        new TaskFilter.Or(new TaskFilter.Tag("work"), new TaskFilter.Tag("home")),
+                        new TaskFilter.Status(TaskStatus.TODO)),
+                TaskFilter.parse("(tag:work OR tag:home) AND status:TODO"));
+    }
+
+    @Test
+    void operatorsAreLeftAssociative() {
+        TaskFilter a = new TaskFilter.Tag("a");
+        TaskFilter b = new TaskFilter.Tag("b");
+        TaskFilter c = new TaskFilter.Tag("c");
+
+        assertEquals(new TaskFilter.Or(new TaskFilter.Or(a, b), c), TaskFilter.parse("tag:a OR tag:b OR tag:c"));
+        assertEquals(new TaskFilter.And(new TaskFilter.And(a, b), c), TaskFilter.parse("tag:a AND tag:b AND tag:c"));
+    }
+
+    @Test
+    void keywordsFieldsAndValuesAreCaseInsensitive() {
+        assertEquals(new TaskFilter.And(new TaskFilter.Not(new TaskFilter.Tag("work")),
+                        new TaskFilter.Status(TaskStatus.IN_PROGRESS)),
+                TaskFilter.parse("not TAG:Work and Status:in_progress"));
+    }
+
+    @Test
+    void invalidExpressionsAreRejected() {
+        assertRejected(null, "Filter expression is required");
+        assertRejected("   ", "Filter expression is required");
+        assertRejected("tag:" + "x".repeat(500), "cannot exceed 500 characters");
+        assertRejected("tag:work AND", "ended unexpectedly");
+        assertRejected("NOT", "ended unexpectedly");
+        assertRejected("(tag:work OR tag:home", "Missing ')'");
+        assertRejected("tag:work)", "Unexpected token in filter: ')'");
+        assertRejected("tag:work tag:home", "Unexpected token in filter: 'tag:home'");
+        assertRejected("work", "Invalid filter term 'work'");
+        assertRejected("tag:", "Invalid filter term 'tag:'");
+        assertRejected(":work", "Invalid filter term ':work'");
+        assertRejected("owner:me", "Unknown filter field 'owner'");
+        assertRejected("status:BLOCKED", "Unknown task status 'BLOCKED'");
+    }
+
+    // --- Evaluation ---
+
+    @Test
+    void termsSelectTheirBitmap() {
+        assertMatches("tag:work", 1, 2);
+        assertMatches("status:DONE", 2, 5);
+        assertMatches("tag:missing");
+    }
+
+    @Test
+    void andIntersects() {
+        assertMatches("tag:work AND tag:urgent", 2);
+        assertMatches("tag:urgent AND status:IN_PROGRESS", 4);
+        assertMatches("tag:home AND tag:work");
+    }
+
+    @Test
+    void orUnites() {
+        assertMatches("tag:home OR tag:urgent", 2, 3, 4);
+        assertMatches("tag:missing OR status:DONE", 2, 5);
+    }
+
+    @Test
+    void notComplementsWithinTheUsersTasks() {
+        assertMatches("NOT tag:work", 3, 4, 5);
+        assertMatches("NOT tag:missing", 1, 2, 3, 4, 5);
+        assertMatches("NOT NOT tag:home", 3);
+        assertMatches("status:TODO AND NOT tag:home", 1);
+    }
+
+    @Test
+    void precedenceAppliesToResults() {
+        assertMatches("tag:home OR tag:work AND status:DONE", 2, 3);
+        assertMatches("(tag:home OR tag:work) AND status:DONE", 2);
+    }
+
+    @Test
+    void removedTasksNoLongerMatch() {
+        bitmaps.remove(2);
+
+        assertMatches("tag:urgent", 4);
+        assertMatches("NOT tag:work", 3, 4, 5);
+    }
+
+    @Test
+    void evaluationLeavesTheIndexUnchanged() {
+        TaskFilter.parse("tag:work AND tag:urgent").evaluate(bitmaps);
+        TaskFilter.parse("NOT tag:work OR tag:home").evaluate(bitmaps);
+
+        assertMatches("tag:work", 1, 2);
+        assertMatches("tag:urgent", 2, 4);
+    }
+
+    private void assertMatches(String expression, long... taskIds) {
+        assertArrayEquals(taskIds, TaskFilter.parse(expression).evaluate(bitmaps).toArray(), expression);
+    }
+
+    private static void assertRejected(String expression, String message) {
+        InvalidRequestException e = assertThrows(InvalidRequestException.class, () -> TaskFilter.parse(expression));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+}
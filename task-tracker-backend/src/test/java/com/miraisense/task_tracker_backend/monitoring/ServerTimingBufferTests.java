@@ -0,0 +1,78 @@
+package com.miraisense.task_tracker_backend.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingBufferTests {
+
+    private static final int MAX_BUFFERED_BYTES = 16;
+
+    @BeforeEach
+    void startTimings() {
+        RequestTimings.start();
+    }
+
+    @AfterEach
+    void stopTimings() {
+        RequestTimings.stop();
+    }
+
+    @Test
+    void smallBodyIsBufferedAndReportsSerialization() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        ServerTimingBuffer.write(message, MAX_BUFFERED_BYTES, target -> {
+            target.getBody().write(bytes("{\"id\":1}"));
+            // Nothing reaches the response before the header is set
+            assertEquals(0, message.getBodyAsBytes().length);
+        });
+
+        assertEquals("{\"id\":1}", message.getBodyAsString());
+        assertEquals(8, message.getHeaders().getContentLength());
+        assertTrue(message.getHeaders().getFirst(RequestTimings.HEADER).contains("ser;dur="));
+    }
+
+    @Test
+    void largeBodyIsStreamedWithoutTheSerializationEntry() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        String body = "{\"title\":\"" + "x".repeat(40) + "\"}";
+
+        ServerTimingBuffer.write(message, MAX_BUFFERED_BYTES, target -> {
+            target.getBody().write(bytes(body.substring(0, 10)));
+            target.getBody().write(bytes(body.substring(10, 30)));
+            // Past the limit: what was buffered and the rest go straight to the response
+            assertEquals(body.substring(0, 30), message.getBodyAsString());
+            target.getBody().write(bytes(body.substring(30)));
+        });
+
+        assertEquals(body, message.getBodyAsString());
+        assertEquals(-1, message.getHeaders().getContentLength());
+        String timing = message.getHeaders().getFirst(RequestTimings.HEADER);
+        assertTrue(timing.contains("total;dur="), timing);
+        assertFalse(timing.contains("ser;"), timing);
+    }
+
+    @Test
+    void bufferIsReusedAfterAStreamedBody() throws Exception {
+        ServerTimingBuffer.write(new MockHttpOutputMessage(), MAX_BUFFERED_BYTES,
+                target -> target.getBody().write(bytes("x".repeat(100))));
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        ServerTimingBuffer.write(message, MAX_BUFFERED_BYTES, target -> target.getBody().write(bytes("[]")));
+
+        assertEquals("[]", message.getBodyAsString());
+        assertEquals(2, message.getHeaders().getContentLength());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
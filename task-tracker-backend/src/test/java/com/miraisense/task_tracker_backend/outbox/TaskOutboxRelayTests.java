@@ -0,0 +1,240 @@
+package com.miraisense.task_tracker_backend.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Relays built here over {@value #PARTITIONS} partitions. Users are placed in partitions 16 and
+ * up, which the application's own relay (16 partitions) never touches, so its scheduled polls
+ * cannot take these events.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskOutboxRelayTests {
+
+    private static final int PARTITIONS = 32;
+    private static final int BATCH_SIZE = 3;
+    // Each test uses new users: a multiple of PARTITIONS plus 16 or 17
+    private static final AtomicLong USERS = new AtomicLong(1_000_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TaskOutbox outbox;
+    private RecordingSink sink;
+    private long alice;
+    private long bob;
+    private long carol;
+
+    @BeforeEach
+    void createRelay() {
+        outbox = new TaskOutbox(jdbcTemplate, objectMapper, PARTITIONS);
+        sink = new RecordingSink();
+        long base = USERS.addAndGet(4L * PARTITIONS);
+        alice = base + 16;
+        bob = base + PARTITIONS + 16; // same partition as alice
+        carol = base + 17;
+        assertEquals(outbox.partitionOf(alice), outbox.partitionOf(bob));
+    }
+
+    @Test
+    void eachUsersEventsAreDeliveredInOrderAcrossBatches() {
+        for (long seq = 1; seq <= 7; seq++) {
+            append(alice, seq);
+            append(bob, seq);
+            append(carol, seq);
+        }
+
+        relay(sink).poll();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), sink.sequenceOf(alice));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), sink.sequenceOf(bob));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), sink.sequenceOf(carol));
+        assertEquals(0, remaining());
+    }
+
+    @Test
+    void concurrentRelaysKeepEachUsersOrder() throws Exception {
+        for (long seq = 1; seq <= 30; seq++) {
+            append(alice, seq);
+            append(bob, seq);
+            append(carol, seq);
+        }
+        // Slow deliveries, so the relays overlap on the same partitions
+        sink.onDeliver = batch -> sleep(5);
+        List<Thread> instances = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 30_000;
+        for (int i = 0; i < 3; i++) {
+            TaskOutboxRelay relay = relay(sink);
+            Thread instance = new Thread(() -> {
+                while (remaining() > 0 && System.currentTimeMillis() < deadline) {
+                    relay.poll();
+                }
+            });
+            instance.start();
+            instances.add(instance);
+        }
+        for (Thread instance : instances) {
+            instance.join();
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long seq = 1; seq <= 30; seq++) {
+            expected.add(seq);
+        }
+        assertEquals(expected, sink.sequenceOf(alice));
+        assertEquals(expected, sink.sequenceOf(bob));
+        assertEquals(expected, sink.sequenceOf(carol));
+    }
+
+    @Test
+    void onlyDeliveredEventsAreDeleted() throws Exception {
+        append(alice, 1);
+        // A write that takes its id now but commits only while the relay delivers the next batch
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread writer = new Thread(() -> transactionTemplate.executeWithoutResult(tx -> {
+            append(alice, 2);
+            inserted.countDown();
+            await(commit);
+        }));
+        writer.start();
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+        append(alice, 3);
+        sink.onDeliver = batch -> {
+            if (commit.getCount() > 0) {
+                commit.countDown();
+                join(writer);
+            }
+        };
+
+        TaskOutboxRelay relay = relay(sink);
+        relay.poll();
+        assertEquals(List.of(1L, 3L), sink.sequenceOf(alice));
+        relay.poll();
+
+        // Event 2 had a lower id than the first batch's last one, but was not in it
+        assertEquals(List.of(1L, 3L, 2L), sink.sequenceOf(alice));
+        assertEquals(0, remaining());
+    }
+
+    @Test
+    void failedBatchesAreKeptAndRedeliveredInOrder() {
+        for (long seq = 1; seq <= 4; seq++) {
+            append(alice, seq);
+        }
+        RecordingSink failing = new RecordingSink();
+        failing.onDeliver = batch -> {
+            throw new IllegalStateException("sink unavailable");
+        };
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        relay(failing, registry).poll();
+
+        assertTrue(registry.get("task.outbox.failures").counter().count() >= 1);
+        assertEquals(4, remaining());
+        relay(sink).poll();
+        assertEquals(List.of(1L, 2L, 3L, 4L), sink.sequenceOf(alice));
+        assertEquals(0, remaining());
+    }
+
+    private TaskOutboxRelay relay(TaskEventSink target) {
+        return relay(target, new SimpleMeterRegistry());
+    }
+
+    // Ready to poll, as after application startup
+    private TaskOutboxRelay relay(TaskEventSink target, MeterRegistry registry) {
+        TaskOutboxRelay relay = new TaskOutboxRelay(jdbcTemplate, namedJdbcTemplate, transactionTemplate, shardRouter,
+                outbox, target, registry, BATCH_SIZE, 20);
+        relay.seedPartitions();
+        return relay;
+    }
+
+    // The task id carries the user's sequence number, to check the delivery order
+    private void append(long userId, long seq) {
+        jdbcTemplate.update("INSERT INTO task_outbox (partition_no, user_id, task_id, event_type, created_at) "
+                        + "VALUES (?, ?, ?, 'UPDATED', ?)", outbox.partitionOf(userId), userId, seq,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private int remaining() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_outbox WHERE user_id IN (?, ?, ?)",
+                Integer.class, alice, bob, carol);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RecordingSink implements TaskEventSink {
+
+        final List<TaskOutboxEvent> delivered = new ArrayList<>();
+        volatile Consumer<List<TaskOutboxEvent>> onDeliver = batch -> { };
+
+        @Override
+        public void deliver(List<TaskOutboxEvent> events) {
+            onDeliver.accept(events);
+            synchronized (this) {
+                delivered.addAll(events);
+            }
+        }
+
+        synchronized List<Long> sequenceOf(long userId) {
+            return delivered.stream().filter(event -> event.userId() == userId).map(TaskOutboxEvent::taskId).toList();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miraisense.task_tracker_backend.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Reminders end to end: tasks are written through the API, the scheduler's own ticks fire them
+ * and {@link InMemoryReminderNotifier} records what was sent. Lead time and tick are short so a
+ * reminder fires within seconds.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.reminders.lead-time=2s",
+        "app.reminders.tick-ms=100"
+})
+class ReminderSchedulerTests {
+
+    private static final Duration LEAD_TIME = Duration.ofSeconds(2);
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InMemoryReminderNotifier notifier;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private String token;
+    private long userId;
+
+    @BeforeEach
+    void registerUser() throws Exception {
+        String credentials = "{\"email\":\"reminded" + USERS.incrementAndGet()
+                + "@example.com\",\"password\":\"secret1\"}";
+        perform(post("/api/v1/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials), 201);
+        JsonNode login = data(perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content(credentials), 200));
+        token = "Bearer " + login.get("token").asText();
+        userId = login.get("userId").asLong();
+    }
+
+    @Test
+    void firesLeadTimeBeforeTheDueDate() throws Exception {
+        LocalDateTime dueDate = dueIn(4);
+        long taskId = createTask("Due soon", dueDate);
+
+        List<TaskReminder> reminders = awaitReminders(taskId, dueDate);
+        LocalDateTime firedAt = LocalDateTime.now();
+        assertEquals(List.of(new TaskReminder(taskId, userId, "Due soon", dueDate)), reminders);
+        assertFalse(firedAt.isBefore(dueDate.minus(LEAD_TIME)), () -> "fired at " + firedAt);
+    }
+
+    @Test
+    void rescheduledTaskIsRemindedForItsNewDueDate() throws Exception {
+        LocalDateTime dueDate = dueIn(5);
+        long taskId = createTask("Moved", dueDate);
+        LocalDateTime movedTo = dueDate.plusSeconds(3);
+        perform(authorized(put("/api/v1/tasks/" + taskId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(taskBody("Moved", movedTo)), 200);
+
+        sleepUntil(dueDate.minus(LEAD_TIME).plus(Duration.ofMillis(500)));
+        assertTrue(sentFor(taskId).isEmpty(), "reminded for the old due date");
+        assertEquals(List.of(new TaskReminder(taskId, userId, "Moved", movedTo)), awaitReminders(taskId, movedTo));
+    }
+
+    @Test
+    void deletedAndCompletedTasksAreNotReminded() throws Exception {
+        LocalDateTime dueDate = dueIn(5);
+        long deletedId = createTask("Deleted", dueDate);
+        long completedId = createTask("Completed", dueDate);
+        perform(authorized(delete("/api/v1/tasks/" + deletedId)), 200);
+        perform(authorized(put("/api/v1/tasks/" + completedId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Completed\",\"status\":\"DONE\",\"dueDate\":\"" + dueDate + "\"}"), 200);
+
+        sleepUntil(dueDate.minus(LEAD_TIME).plusSeconds(1));
+        assertTrue(sentFor(deletedId).isEmpty());
+        assertTrue(sentFor(completedId).isEmpty());
+    }
+
+    @Test
+    void aReminderIsSentOnceAcrossInstances() throws Exception {
+        LocalDateTime dueDate = dueIn(5);
+        long taskId = createTask("Claimed once", dueDate);
+        // A second instance sharing the database, which loads the same task into its own wheel
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ReminderScheduler other = new ReminderScheduler(jdbcTemplate, shardRouter, notifier, registry,
+                LEAD_TIME, Duration.ofHours(1), 100);
+        other.loadWindow();
+        assertTrue(registry.get("reminders.scheduled").gauge().value() >= 1);
+
+        LocalDateTime until = dueDate.minus(LEAD_TIME).plusSeconds(1);
+        while (LocalDateTime.now().isBefore(until)) {
+            other.tick();
+            Thread.sleep(50);
+        }
+        assertEquals(1, sentFor(taskId).size());
+    }
+
+    private List<TaskReminder> awaitReminders(long taskId, LocalDateTime dueDate) throws InterruptedException {
+        LocalDateTime deadline = dueDate.minus(LEAD_TIME).plusSeconds(2);
+        while (sentFor(taskId).isEmpty() && LocalDateTime.now().isBefore(deadline)) {
+            Thread.sleep(50);
+        }
+        return sentFor(taskId);
+    }
+
+    private List<TaskReminder> sentFor(long taskId) {
+        return notifier.sent().stream().filter(reminder -> reminder.taskId() == taskId).toList();
+    }
+
+    private static void sleepUntil(LocalDateTime time) throws InterruptedException {
+        long millis = Duration.between(LocalDateTime.now(), time).toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    // Whole seconds; callers leave over a second before the reminder fires, to change the task
+    private static LocalDateTime dueIn(int seconds) {
+        return LocalDateTime.now().plusSeconds(seconds).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private long createTask(String title, LocalDateTime dueDate) throws Exception {
+        return data(perform(authorized(post("/api/v1/tasks/" + userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(taskBody(title, dueDate)), 201)).get("id").asLong();
+    }
+
+    private static String taskBody(String title, LocalDateTime dueDate) {
+        return "{\"title\":\"" + title + "\",\"dueDate\":\"" + dueDate + "\"}";
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", token);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(expectedStatus, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        return result;
+    }
+
+    private JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+}
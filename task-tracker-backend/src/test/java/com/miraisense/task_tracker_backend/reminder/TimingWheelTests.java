@@ -0,0 +1,82 @@
+package com.miraisense.task_tracker_backend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTests {
+
+    private static final long TICK = 100;
+
+    @Test
+    void firesOnTheDeadlineTick() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule(1L, "soon", 500);
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(499, (key, value) -> fired.add(key));
+        assertTrue(fired.isEmpty());
+        wheel.advance(500, (key, value) -> fired.add(key));
+        assertEquals(List.of(1L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesFromHigherLevels() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(TICK, 0);
+        // One slot of level 0, 1, 2 and 3 away, plus one past the wheel's range
+        long[] deadlines = {TICK * 10, TICK * 100, TICK * 5_000, TICK * 300_000, TICK * 20_000_000};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule((long) i, "entry " + i, deadlines[i]);
+        }
+        for (int i = 0; i < deadlines.length; i++) {
+            List<Long> fired = new ArrayList<>();
+            wheel.advance(deadlines[i] - TICK, (key, value) -> fired.add(key));
+            assertTrue(fired.isEmpty(), () -> "early: " + fired);
+            wheel.advance(deadlines[i], (key, value) -> fired.add(key));
+            assertEquals(List.of((long) i), fired);
+        }
+    }
+
+    @Test
+    void rescheduleReplacesTheDeadline() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule(1L, "first", 500);
+        wheel.schedule(1L, "moved", 10_000);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(9_900, (key, value) -> fired.add(value));
+        assertTrue(fired.isEmpty());
+        wheel.advance(10_000, (key, value) -> fired.add(value));
+        assertEquals(List.of("moved"), fired);
+    }
+
+    @Test
+    void cancelledEntriesDoNotFire() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(TICK, 0);
+        wheel.schedule(1L, "cancelled", 500);
+        wheel.schedule(2L, "kept", 500);
+
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        assertFalse(wheel.contains(1L));
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(1_000, (key, value) -> fired.add(key));
+        assertEquals(List.of(2L), fired);
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        TimingWheel<Long, String> wheel = new TimingWheel<>(TICK, 1_000);
+        wheel.schedule(1L, "late", 200);
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(1_000, (key, value) -> fired.add(key));
+        assertEquals(List.of(1L), fired);
+    }
+}
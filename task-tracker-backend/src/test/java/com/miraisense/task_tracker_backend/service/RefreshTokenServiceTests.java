@@ -0,0 +1,173 @@
+package com.miraisense.task_tracker_backend.service;
+
+import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Refresh-token families: rotation within a family, replay of an earlier generation revoking the
+ * whole family, and concurrent rotations of the same token letting exactly one through.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceTests {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private String email;
+
+    @BeforeEach
+    void insertUser() {
+        email = "session" + USERS.incrementAndGet() + "@example.com";
+        jdbcTemplate.update("INSERT INTO users (email, password) VALUES (?, 'secret')", email);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    @Test
+    void rotationAdvancesTheFamilyInPlace() {
+        String first = refreshTokenService.createRefreshToken(userId).getToken();
+
+        RefreshTokenService.RotatedRefreshToken second = refreshTokenService.verifyAndRotate(first);
+        RefreshTokenService.RotatedRefreshToken third = refreshTokenService.verifyAndRotate(second.token());
+
+        assertEquals(userId, second.userId());
+        assertEquals(email, second.email());
+        assertEquals(familyOf(first), familyOf(third.token()));
+        assertNotEquals(first, second.token());
+        assertTrue(third.token().startsWith(familyOf(first) + ".2."), third.token());
+        assertEquals(1, rows(familyOf(first)));
+        assertEquals(userId, refreshTokenService.userIdOf(third.token()));
+    }
+
+    @Test
+    void replayingAnEarlierGenerationRevokesTheFamily() {
+        String stolen = refreshTokenService.createRefreshToken(userId).getToken();
+        String current = refreshTokenService.verifyAndRotate(stolen).token();
+
+        AuthenticationException replay = assertThrows(AuthenticationException.class,
+                () -> refreshTokenService.verifyAndRotate(stolen));
+
+        assertTrue(replay.getMessage().contains("revoked"), replay.getMessage());
+        assertTrue(revoked(familyOf(stolen)));
+        // The legitimate holder's token is invalidated with the family
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.verifyAndRotate(current));
+    }
+
+    @Test
+    void otherFamiliesOfTheUserSurviveAReplay() {
+        String stolen = refreshTokenService.createRefreshToken(userId).getToken();
+        String otherDevice = refreshTokenService.createRefreshToken(userId).getToken();
+        refreshTokenService.verifyAndRotate(stolen);
+
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.verifyAndRotate(stolen));
+
+        assertFalse(revoked(familyOf(otherDevice)));
+        assertEquals(userId, refreshTokenService.verifyAndRotate(otherDevice).userId());
+    }
+
+    @Test
+    void tokensTheFamilyNeverIssuedAreRejectedWithoutRevokingIt() {
+        String token = refreshTokenService.createRefreshToken(userId).getToken();
+        String forged = familyOf(token) + ".7.forged";
+
+        AuthenticationException e = assertThrows(AuthenticationException.class,
+                () -> refreshTokenService.verifyAndRotate(forged));
+
+        assertEquals("Invalid refresh token", e.getMessage());
+        assertFalse(revoked(familyOf(token)));
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.verifyAndRotate("not-a-token"));
+    }
+
+    @Test
+    void expiredFamiliesAreDeleted() {
+        String token = refreshTokenService.createRefreshToken(userId).getToken();
+        jdbcTemplate.update("UPDATE refresh_tokens SET expiry_date = ? WHERE family_id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), familyOf(token));
+
+        AuthenticationException e = assertThrows(AuthenticationException.class,
+                () -> refreshTokenService.verifyAndRotate(token));
+
+        assertTrue(e.getMessage().contains("expired"), e.getMessage());
+        assertEquals(0, rows(familyOf(token)));
+    }
+
+    @Test
+    void concurrentRotationsOfOneTokenLetExactlyOneThrough() throws Exception {
+        String token = refreshTokenService.createRefreshToken(userId).getToken();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<RefreshTokenService.RotatedRefreshToken>> attempts = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<RefreshTokenService.RotatedRefreshToken> rotate = () -> {
+                    start.await();
+                    return refreshTokenService.verifyAndRotate(token);
+                };
+                attempts.add(executor.submit(rotate));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<RefreshTokenService.RotatedRefreshToken> attempt : attempts) {
+                try {
+                    attempt.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof AuthenticationException, e.getCause().toString());
+                }
+            }
+
+            assertEquals(1, succeeded);
+            // The losers presented a token that was no longer current: a replay, so the family is revoked
+            assertTrue(revoked(familyOf(token)));
+            assertEquals(1, rows(familyOf(token)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int rows(String familyId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE family_id = ?", Integer.class,
+                familyId);
+    }
+
+    private boolean revoked(String familyId) {
+        return jdbcTemplate.queryForObject("SELECT revoked FROM refresh_tokens WHERE family_id = ?", Boolean.class,
+                familyId);
+    }
+
+    private static String familyOf(String token) {
+        return token.substring(0, token.indexOf('.'));
+    }
+}
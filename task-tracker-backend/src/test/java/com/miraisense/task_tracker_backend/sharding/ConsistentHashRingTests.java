@@ -0,0 +1,58 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTests {
+
+    private static final int USERS = 100_000;
+
+    @Test
+    void spreadsUsersEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("primary", "shard-1", "shard-2", "shard-3"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.shardFor(userId), 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        counts.forEach((shard, count) -> assertTrue(Math.abs(count - USERS / 4) < USERS / 4 * 0.2,
+                () -> shard + " holds " + count + " of " + USERS + " users"));
+    }
+
+    @Test
+    void addingAShardOnlyMovesUsersToIt() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("primary", "shard-1", "shard-2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("primary", "shard-1", "shard-2", "shard-3"), 128);
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            String from = before.shardFor(userId);
+            String to = after.shardFor(userId);
+            if (!from.equals(to)) {
+                assertEquals("shard-3", to);
+                moved++;
+            }
+        }
+        // About a quarter of the users, not a reshuffle
+        int total = moved;
+        assertTrue(total > USERS / 4 * 0.8 && total < USERS / 4 * 1.2, () -> "moved " + total);
+    }
+
+    @Test
+    void nextIdStaysInTheShardsResidueClass() {
+        assertEquals(1, ShardIdentities.nextId(0, 1, 64));
+        assertEquals(65, ShardIdentities.nextId(1, 1, 64));
+        assertEquals(2, ShardIdentities.nextId(0, 2, 64));
+        assertEquals(130, ShardIdentities.nextId(100, 2, 64));
+        assertEquals(128, ShardIdentities.nextId(127, 64, 64));
+        for (long after = 0; after < 300; after++) {
+            long next = ShardIdentities.nextId(after, 3, 64);
+            assertTrue(next > after && next - after <= 64 && next % 64 == 3, "after " + after + ": " + next);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.miraisense.task_tracker_backend.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Sharding against three embedded databases: the primary and two shards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sharding.enabled=true",
+        "app.sharding.shards=shard-a=jdbc:h2:mem:sharded_a;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1,"
+                + "shard-b=jdbc:h2:mem:sharded_b;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.sharding.max-shards=8"
+})
+class ShardingTests {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private ShardRebalancer rebalancer;
+
+    @Test
+    void usersDataIsStoredOnTheirRingShard() throws Exception {
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            TestUser user = registerAndLogin();
+            String shard = router.placementOf(user.id());
+            used.add(shard);
+            assertEquals(shard, router.shardOf(user.id()));
+
+            long taskId = createTask(user, "{\"title\":\"Routed\"}");
+            // Ids are unique across shards: each shard generates its own residue class
+            assertEquals(router.shards().indexOf(shard) + 1, taskId % 8);
+            for (String other : router.shards()) {
+                int expected = other.equals(shard) ? 1 : 0;
+                assertEquals(expected, count(other, "tasks", user.id()), "tasks on " + other);
+                assertEquals(expected, count(other, "refresh_tokens", user.id()), "refresh tokens on " + other);
+            }
+
+            perform(authorized(user, get("/api/v1/tasks/" + taskId)), 200);
+            perform(post("/api/v1/auth/refresh").cookie(user.refreshToken()), 200);
+        }
+        assertTrue(used.size() > 1, () -> "all users on " + used);
+    }
+
+    @Test
+    void movedUserKeepsTasksAndTokens() throws Exception {
+        TestUser user = registerAndLogin();
+        long parentId = createTask(user, "{\"title\":\"Parent\",\"tags\":[\"work\"]}");
+        long childId = createTask(user, "{\"title\":\"Child\",\"parentId\":" + parentId + "}");
+        String from = router.shardOf(user.id());
+        String to = router.shards().stream().filter(shard -> !shard.equals(from)).findFirst().orElseThrow();
+
+        rebalancer.moveUser(user.id(), to);
+
+        assertEquals(to, router.shardOf(user.id()));
+        assertEquals(0, count(from, "tasks", user.id()));
+        assertEquals(0, count(from, "refresh_tokens", user.id()));
+        assertEquals(2, count(to, "tasks", user.id()));
+        assertEquals(1, count(to, "refresh_tokens", user.id()));
+
+        JsonNode child = data(perform(authorized(user, get("/api/v1/tasks/" + childId)), 200));
+        assertEquals("Child", child.get("title").asText());
+        assertEquals(parentId, router.callOn(to, () -> jdbcTemplate.queryForObject(
+                "SELECT parent_id FROM tasks WHERE id = ?", Long.class, childId)));
+        JsonNode filtered = data(perform(authorized(user,
+                get("/api/v1/tasks/user/" + user.id() + "/filter?q=tag:work")), 200));
+        assertEquals(parentId, filtered.get("content").get(0).get("id").asLong());
+        assertEquals(1, filtered.get("content").size());
+        perform(post("/api/v1/auth/refresh").cookie(user.refreshToken()), 200);
+
+        createTask(user, "{\"title\":\"After the move\"}");
+        assertEquals(3, count(to, "tasks", user.id()));
+    }
+
+    @Test
+    void writesToAFencedShardFail() throws Exception {
+        TestUser user = registerAndLogin();
+        String shard = router.shardOf(user.id());
+        // As the rebalancer leaves the source during a move
+        router.runOn(shard, () -> jdbcTemplate.update("UPDATE users SET moving_to = 'elsewhere' WHERE id = ?",
+                user.id()));
+
+        perform(authorized(user, post("/api/v1/tasks/" + user.id()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Lost?\"}"), 503);
+        perform(post("/api/v1/auth/refresh").cookie(user.refreshToken()), 503);
+        assertEquals(0, count(shard, "tasks", user.id()));
+
+        router.runOn(shard, () -> jdbcTemplate.update("UPDATE users SET moving_to = NULL WHERE id = ?", user.id()));
+        createTask(user, "{\"title\":\"Kept\"}");
+        assertEquals(1, count(shard, "tasks", user.id()));
+    }
+
+    @Test
+    void boardsAreNotAvailable() throws Exception {
+        TestUser user = registerAndLogin();
+        perform(authorized(user, post("/api/v1/tasks/" + user.id()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"On a board\",\"boardId\":1}"), 400);
+    }
+
+    private long count(String shard, String table, long userId) {
+        return router.callOn(shard, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE user_id = ?", Long.class, userId));
+    }
+
+    private TestUser registerAndLogin() throws Exception {
+        String credentials = "{\"email\":\"sharded" + USERS.incrementAndGet() + "@example.com\",\"password\":\"secret1\"}";
+        perform(post("/api/v1/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials), 201);
+        MvcResult login = perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content(credentials), 200);
+        JsonNode data = data(login);
+        return new TestUser(data.get("userId").asLong(), "Bearer " + data.get("token").asText(),
+                login.getResponse().getCookie("refreshToken"));
+    }
+
+    private long createTask(TestUser user, String body) throws Exception {
+        return data(perform(authorized(user, post("/api/v1/tasks/" + user.id()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body), 201)).get("id").asLong();
+    }
+
+    private MockHttpServletRequestBuilder authorized(TestUser user, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", user.token());
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(expectedStatus, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        return result;
+    }
+
+    private JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+
+    private record TestUser(long id, String token, Cookie refreshToken) {
+    }
+}
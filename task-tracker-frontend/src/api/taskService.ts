@@ -10,20 +10,20 @@ export const taskService = {
     return data.data;
   },
 
-  // Fetch ALL tasks by iterating through every page
+  // Fetch ALL tasks by iterating through every page (no total count needed)
   getAllTasks: async (userId: number): Promise<Task[]> => {
     const allTasks: Task[] = [];
     let page = 0;
-    let totalPages = 1;
+    let hasNext = true;
 
-    while (page < totalPages) {
+    while (hasNext) {
       const { data } = await api.get<StandardResponse<PageResponse<Task>>>(
         `/tasks/user/${userId}`,
-        { params: { page, size: 100 } },
+        { params: { page, size: 100, includeTotal: false } },
       );
       const pageData = data.data;
       allTasks.push(...pageData.content);
-      totalPages = pageData.totalPages;
+      hasNext = pageData.hasNext;
       page++;
     }
 
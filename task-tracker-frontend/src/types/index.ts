@@ -29,16 +29,15 @@ export type StandardResponse<T> = {
   statusCode: number;
 };
 
-// Spring Boot Page response shape
+// Page envelope returned by list endpoints (PageResponseDTO)
 export type PageResponse<T> = {
   content: T[];
-  totalElements: number;
-  totalPages: number;
+  page: number; // current page (0-based)
   size: number;
-  number: number; // current page (0-based)
-  first: boolean;
-  last: boolean;
-  empty: boolean;
+  hasNext: boolean;
+  // Omitted when requested with includeTotal=false
+  totalElements?: number;
+  totalPages?: number;
 };
 
 // For creating/updating tasks
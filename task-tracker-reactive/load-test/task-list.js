@@ -0,0 +1,38 @@
+// k6 load test for the task list endpoint. Run the same script against both stacks
+// (same database, same token) and compare p99 latency and throughput:
+//
+//   k6 run -e BASE_URL=http://localhost:8090 -e TOKEN=... -e USER_ID=1 load-test/task-list.js   # Spring MVC
+//   k6 run -e BASE_URL=http://localhost:8091 -e TOKEN=... -e USER_ID=1 load-test/task-list.js   # WebFlux
+//
+// TOKEN is an access token from POST /api/v1/auth/login on task-tracker-backend.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8091';
+const USER_ID = __ENV.USER_ID || '1';
+
+export const options = {
+    scenarios: {
+        // Open model: a fixed arrival rate, so a slower server shows up as queueing rather than fewer requests
+        task_list: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 2000),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const params = {
+    headers: { Authorization: `Bearer ${__ENV.TOKEN}` },
+};
+
+export default function () {
+    const page = Math.floor(Math.random() * 5);
+    const res = http.get(
+        `${BASE_URL}/api/v1/tasks/user/${USER_ID}?page=${page}&size=20&includeTotal=false`, params);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,13 @@
+package com.miraisense.task_tracker_reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class TaskTrackerReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(TaskTrackerReactiveApplication.class, args);
+	}
+
+}
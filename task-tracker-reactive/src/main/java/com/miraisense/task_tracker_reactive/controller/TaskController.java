@@ -0,0 +1,139 @@
+package com.miraisense.task_tracker_reactive.controller;
+
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
+import com.miraisense.task_tracker_backend.dto.StandardResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskField;
+import com.miraisense.task_tracker_backend.dto.TaskRequestDTO;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_reactive.security.AuthenticatedUser;
+import com.miraisense.task_tracker_reactive.service.TaskService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+// Same routes, parameters and response bodies as task-tracker-backend's TaskController
+@RestController
+@RequestMapping("/api/v1/tasks")
+@RequiredArgsConstructor
+public class TaskController {
+
+        private static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "status", "dueDate");
+
+        private final TaskService taskService;
+
+        @PostMapping("/{userId}")
+        public Mono<ResponseEntity<StandardResponseDTO<TaskResponseDTO>>> createTask(
+                        @PathVariable Long userId,
+                        @Valid @RequestBody TaskRequestDTO taskRequestDTO,
+                        @AuthenticationPrincipal AuthenticatedUser principal) {
+                // Verify the authenticated user matches the path userId
+                if (!principal.id().equals(userId)) {
+                        return Mono.just(forbidden("You can only create tasks for your own account"));
+                }
+                return taskService.createTask(taskRequestDTO, userId)
+                                .map(taskResponseDTO -> new ResponseEntity<>(
+                                                StandardResponseDTO.<TaskResponseDTO>builder()
+                                                                .data(taskResponseDTO)
+                                                                .message("Task created successfully")
+                                                                .statusCode(HttpStatus.CREATED.value())
+                                                                .build(),
+                                                HttpStatus.CREATED));
+        }
+
+        @GetMapping("/user/{userId}")
+        public Mono<ResponseEntity<StandardResponseDTO<PageResponseDTO<TaskResponseDTO>>>> getAllTasksByUserId(
+                        @PathVariable Long userId,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "6") int size,
+                        @RequestParam(required = false) TaskStatus status,
+                        @RequestParam(defaultValue = "dueDate") String sortBy,
+                        @RequestParam(defaultValue = "desc") String direction,
+                        @RequestParam(required = false) String fields,
+                        @RequestParam(defaultValue = "true") boolean includeTotal,
+                        @AuthenticationPrincipal AuthenticatedUser principal) {
+
+                // Verify the authenticated user matches the path userId
+                if (!principal.id().equals(userId)) {
+                        return Mono.just(forbidden("You can only view your own tasks"));
+                }
+                if (!SORTABLE_FIELDS.contains(sortBy)) {
+                        throw new InvalidRequestException("Cannot sort tasks by '" + sortBy + "'");
+                }
+
+                // Default: sort by dueDate descending so newest tasks appear first
+                Pageable pageable = PageRequest.of(page, size, Sort.by(parseDirection(direction), sortBy));
+
+                return taskService.getAllTasksByUserId(userId, status, pageable, TaskField.parse(fields), includeTotal)
+                                .map(tasksPage -> ResponseEntity.ok(
+                                                StandardResponseDTO.<PageResponseDTO<TaskResponseDTO>>builder()
+                                                                .data(tasksPage)
+                                                                .message("Tasks retrieved successfully")
+                                                                .statusCode(HttpStatus.OK.value())
+                                                                .build()));
+        }
+
+        @GetMapping("/{taskId}")
+        public Mono<ResponseEntity<StandardResponseDTO<TaskResponseDTO>>> getTaskById(
+                        @PathVariable Long taskId,
+                        @RequestParam(required = false) String fields,
+                        @AuthenticationPrincipal AuthenticatedUser principal) {
+                return taskService.getTaskById(taskId, principal.id(), TaskField.parse(fields))
+                                .map(taskResponseDTO -> ResponseEntity.ok(
+                                                StandardResponseDTO.<TaskResponseDTO>builder()
+                                                                .data(taskResponseDTO)
+                                                                .message("Task retrieved successfully")
+                                                                .statusCode(HttpStatus.OK.value())
+                                                                .build()));
+        }
+
+        @PutMapping("/{taskId}")
+        public Mono<ResponseEntity<StandardResponseDTO<TaskResponseDTO>>> updateTask(
+                        @PathVariable Long taskId,
+                        @Valid @RequestBody TaskRequestDTO taskRequestDTO,
+                        @AuthenticationPrincipal AuthenticatedUser principal) {
+                return taskService.updateTask(taskId, taskRequestDTO, principal.id())
+                                .map(taskResponseDTO -> ResponseEntity.ok(
+                                                StandardResponseDTO.<TaskResponseDTO>builder()
+                                                                .data(taskResponseDTO)
+                                                                .message("Task updated successfully")
+                                                                .statusCode(HttpStatus.OK.value())
+                                                                .build()));
+        }
+
+        @DeleteMapping("/{taskId}")
+        public Mono<ResponseEntity<StandardResponseDTO<Void>>> deleteTask(
+                        @PathVariable Long taskId,
+                        @AuthenticationPrincipal AuthenticatedUser principal) {
+                return taskService.deleteTask(taskId, principal.id())
+                                .thenReturn(ResponseEntity.ok(
+                                                StandardResponseDTO.<Void>builder()
+                                                                .message("Task deleted successfully")
+                                                                .statusCode(HttpStatus.OK.value())
+                                                                .build()));
+        }
+
+        private <T> ResponseEntity<StandardResponseDTO<T>> forbidden(String message) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.<T>builder()
+                                                .message(message)
+                                                .statusCode(HttpStatus.FORBIDDEN.value())
+                                                .build(),
+                                HttpStatus.FORBIDDEN);
+        }
+
+        private Sort.Direction parseDirection(String direction) {
+                return Sort.Direction.fromOptionalString(direction)
+                                .orElseThrow(() -> new InvalidRequestException("Sort direction must be 'asc' or 'desc'"));
+        }
+}
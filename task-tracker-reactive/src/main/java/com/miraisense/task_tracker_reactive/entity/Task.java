@@ -0,0 +1,28 @@
+package com.miraisense.task_tracker_reactive.entity;
+
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+// Row of the 'tasks' table owned by task-tracker-backend; tags live in 'task_tags'
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("tasks")
+public class Task {
+
+    @Id
+    private Long id;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private LocalDateTime dueDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private Long userId;
+}
@@ -0,0 +1,20 @@
+package com.miraisense.task_tracker_reactive.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Read-only view of 'users': accounts are registered through task-tracker-backend
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("users")
+public class User {
+
+    @Id
+    private Long id;
+    private String email;
+    // Access tokens issued before this epoch second were revoked by logging out on the backend
+    private Long tokenNotBefore;
+}
@@ -0,0 +1,95 @@
+package com.miraisense.task_tracker_reactive.exception;
+
+import com.miraisense.task_tracker_backend.dto.StandardResponseDTO;
+import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import com.miraisense.task_tracker_backend.exception.InvalidRequestException;
+import com.miraisense.task_tracker_backend.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Same status codes and bodies as task-tracker-backend's GlobalExceptionHandler
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+        @ExceptionHandler(ResourceNotFoundException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleResourceNotFoundException(
+                        ResourceNotFoundException ex) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message(ex.getMessage())
+                                                .statusCode(HttpStatus.NOT_FOUND.value())
+                                                .build(),
+                                HttpStatus.NOT_FOUND);
+        }
+
+        @ExceptionHandler(InvalidRequestException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleInvalidRequestException(InvalidRequestException ex) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message(ex.getMessage())
+                                                .statusCode(HttpStatus.BAD_REQUEST.value())
+                                                .build(),
+                                HttpStatus.BAD_REQUEST);
+        }
+
+        @ExceptionHandler(AuthenticationException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleAuthenticationException(AuthenticationException ex) {
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message(ex.getMessage())
+                                                .statusCode(HttpStatus.UNAUTHORIZED.value())
+                                                .build(),
+                                HttpStatus.UNAUTHORIZED);
+        }
+
+        @ExceptionHandler(WebExchangeBindException.class)
+        public ResponseEntity<StandardResponseDTO<Map<String, String>>> handleValidationExceptions(
+                        WebExchangeBindException ex) {
+                Map<String, String> errors = new HashMap<>();
+                ex.getBindingResult().getFieldErrors()
+                                .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+
+                return new ResponseEntity<>(
+                                StandardResponseDTO.<Map<String, String>>builder()
+                                                .data(errors)
+                                                .message("Validation failed")
+                                                .statusCode(HttpStatus.BAD_REQUEST.value())
+                                                .build(),
+                                HttpStatus.BAD_REQUEST);
+        }
+
+        // Unparseable path/query values and request bodies (the MVC type-mismatch case)
+        @ExceptionHandler(ServerWebInputException.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleServerWebInputException(ServerWebInputException ex) {
+                String message = ex.getMethodParameter() != null && ex.getMethodParameter().getParameterName() != null
+                                ? "Invalid value for parameter '" + ex.getMethodParameter().getParameterName() + "'"
+                                : "Malformed request";
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message(message)
+                                                .statusCode(HttpStatus.BAD_REQUEST.value())
+                                                .build(),
+                                HttpStatus.BAD_REQUEST);
+        }
+
+        @ExceptionHandler(Exception.class)
+        public ResponseEntity<StandardResponseDTO<Object>> handleGenericException(Exception ex) {
+                log.error("Unhandled exception", ex);
+                return new ResponseEntity<>(
+                                StandardResponseDTO.builder()
+                                                .message("An unexpected error occurred. Please try again later.")
+                                                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                                                .build(),
+                                HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+}
@@ -0,0 +1,65 @@
+package com.miraisense.task_tracker_reactive.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes the same {@code task_outbox} rows as the backend's TaskOutbox, in the writing
+ * transaction, so the backend's relay delivers changes made here too. Must be called after
+ * {@link UserRepository#incrementTasksVersion}: the user's row lock keeps the user's outbox ids
+ * in commit order.
+ */
+@Repository
+public class TaskOutboxRepository {
+
+    public enum EventType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private static final String INSERT = "INSERT INTO task_outbox "
+            + "(partition_no, user_id, task_id, event_type, payload, created_at) "
+            + "VALUES (:partition, :userId, :taskId, :type, :payload, :createdAt)";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final int partitions;
+
+    public TaskOutboxRepository(DatabaseClient databaseClient,
+            ObjectMapper objectMapper,
+            @Value("${app.outbox.partitions:16}") int partitions) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.partitions = partitions;
+    }
+
+    /**
+     * @param task the task after the change; {@code null} for {@link EventType#DELETED}
+     */
+    public Mono<Void> append(Long userId, Long taskId, EventType type, TaskResponseDTO task) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(INSERT)
+                .bind("partition", Math.floorMod(Long.hashCode(userId), partitions))
+                .bind("userId", userId)
+                .bind("taskId", taskId)
+                .bind("type", type.name())
+                .bind("createdAt", LocalDateTime.now());
+        if (task != null) {
+            try {
+                insert = insert.bind("payload", objectMapper.writeValueAsString(task));
+            } catch (JsonProcessingException e) {
+                return Mono.error(new IllegalStateException("Could not serialize task " + taskId, e));
+            }
+        } else {
+            insert = insert.bindNull("payload", String.class);
+        }
+        return insert.fetch().rowsUpdated().then();
+    }
+}
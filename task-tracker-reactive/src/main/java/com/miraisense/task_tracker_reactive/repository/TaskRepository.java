@@ -0,0 +1,7 @@
+package com.miraisense.task_tracker_reactive.repository;
+
+import com.miraisense.task_tracker_reactive.entity.Task;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface TaskRepository extends ReactiveCrudRepository<Task, Long> {
+}
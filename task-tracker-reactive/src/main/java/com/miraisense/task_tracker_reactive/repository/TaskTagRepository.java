@@ -0,0 +1,58 @@
+package com.miraisense.task_tracker_reactive.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 'task_tags' is a plain collection table, so it is read and written with SQL rather than mapped
+@Repository
+@RequiredArgsConstructor
+public class TaskTagRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Tags of all given tasks in one query; tasks without tags are absent from the map.
+     */
+    public Mono<Map<Long, Set<String>>> findTagsByTaskIds(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql("SELECT task_id, tag FROM task_tags WHERE task_id IN (:ids)")
+                .bind("ids", taskIds)
+                .map((row, metadata) -> Map.entry(row.get("task_id", Long.class), row.get("tag", String.class)))
+                .all()
+                .collect(HashMap::new, (tags, entry) ->
+                        tags.computeIfAbsent(entry.getKey(), id -> new TreeSet<>()).add(entry.getValue()));
+    }
+
+    public Mono<Set<String>> findTagsByTaskId(Long taskId) {
+        return databaseClient.sql("SELECT tag FROM task_tags WHERE task_id = :taskId")
+                .bind("taskId", taskId)
+                .map((row, metadata) -> row.get("tag", String.class))
+                .all()
+                .collect(TreeSet::new, Set::add);
+    }
+
+    public Mono<Void> replaceTags(Long taskId, Set<String> tags) {
+        Mono<Long> delete = databaseClient.sql("DELETE FROM task_tags WHERE task_id = :taskId")
+                .bind("taskId", taskId)
+                .fetch()
+                .rowsUpdated();
+        Flux<Long> inserts = Flux.fromIterable(tags)
+                .concatMap(tag -> databaseClient.sql("INSERT INTO task_tags (task_id, tag) VALUES (:taskId, :tag)")
+                        .bind("taskId", taskId)
+                        .bind("tag", tag)
+                        .fetch()
+                        .rowsUpdated());
+        return delete.thenMany(inserts).then();
+    }
+}
@@ -0,0 +1,18 @@
+package com.miraisense.task_tracker_reactive.repository;
+
+import com.miraisense.task_tracker_reactive.entity.User;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+    Mono<User> findByEmail(String email);
+
+    /**
+     * Bumps {@code users.tasks_version}, which the backend uses to validate its cached task lists.
+     */
+    @Modifying
+    @Query("UPDATE users SET tasks_version = tasks_version + 1 WHERE id = :userId")
+    Mono<Integer> incrementTasksVersion(Long userId);
+}
@@ -0,0 +1,7 @@
+package com.miraisense.task_tracker_reactive.security;
+
+/**
+ * Principal of a request authenticated by a task-tracker-backend access token.
+ */
+public record AuthenticatedUser(Long id, String email) {
+}
@@ -0,0 +1,50 @@
+package com.miraisense.task_tracker_reactive.security;
+
+import com.miraisense.task_tracker_backend.security.JwtService;
+import com.miraisense.task_tracker_reactive.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Verifies the bearer token with the backend's {@link JwtService} (signature and expiry) and
+ * resolves its subject to a user id. Token parsing is CPU-only, so it runs on the event loop.
+ * <p>
+ * Tokens revoked by logging out on the backend are rejected: the user lookup also reads
+ * {@code users.token_not_before}, the epoch the backend's revocation list is synced from, so the
+ * check is always current and costs no extra query.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = (String) authentication.getCredentials();
+        String email;
+        Instant issuedAt;
+        try {
+            email = jwtService.extractUsername(token);
+            issuedAt = jwtService.extractIssuedAt(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Mono.error(new BadCredentialsException("Invalid access token"));
+        }
+        return userRepository.findByEmail(email)
+                .filter(user -> user.getTokenNotBefore() == null
+                        || issuedAt.getEpochSecond() >= user.getTokenNotBefore())
+                .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid access token")))
+                .map(user -> UsernamePasswordAuthenticationToken.authenticated(
+                        new AuthenticatedUser(user.getId(), user.getEmail()), token, List.of()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.miraisense.task_tracker_reactive.service;
+
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskRequestDTO;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+public interface TaskService {
+    Mono<TaskResponseDTO> createTask(TaskRequestDTO taskRequestDTO, Long userId);
+    Mono<PageResponseDTO<TaskResponseDTO>> getAllTasksByUserId(Long userId, TaskStatus status, Pageable pageable,
+            int fields, boolean includeTotal);
+    Mono<TaskResponseDTO> getTaskById(Long id, Long authenticatedUserId, int fields);
+    Mono<TaskResponseDTO> updateTask(Long id, TaskRequestDTO taskRequestDTO, Long authenticatedUserId);
+    Mono<Void> deleteTask(Long taskId, Long authenticatedUserId);
+}
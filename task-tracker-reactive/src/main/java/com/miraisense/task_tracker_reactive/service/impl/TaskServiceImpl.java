@@ -0,0 +1,211 @@
+package com.miraisense.task_tracker_reactive.service.impl;
+
+import com.miraisense.task_tracker_backend.dto.PageResponseDTO;
+import com.miraisense.task_tracker_backend.dto.TaskField;
+import com.miraisense.task_tracker_backend.dto.TaskRequestDTO;
+import com.miraisense.task_tracker_backend.dto.TaskResponseDTO;
+import com.miraisense.task_tracker_backend.entity.TaskStatus;
+import com.miraisense.task_tracker_backend.exception.AuthenticationException;
+import com.miraisense.task_tracker_backend.exception.ResourceNotFoundException;
+import com.miraisense.task_tracker_reactive.entity.Task;
+import com.miraisense.task_tracker_reactive.repository.TaskOutboxRepository;
+import com.miraisense.task_tracker_reactive.repository.TaskOutboxRepository.EventType;
+import com.miraisense.task_tracker_reactive.repository.TaskRepository;
+import com.miraisense.task_tracker_reactive.repository.TaskTagRepository;
+import com.miraisense.task_tracker_reactive.repository.UserRepository;
+import com.miraisense.task_tracker_reactive.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Same rules as the backend's TaskServiceImpl (ownership checks, tag normalization, lifecycle
+ * timestamps), written against R2DBC so no request thread blocks on the database. Writes bump
+ * {@code users.tasks_version} and append a {@code task_outbox} event in the same transaction, so
+ * the backend's working-set snapshots never restore a task list this module has changed, and
+ * downstream consumers see its changes like the backend's.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskServiceImpl implements TaskService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTagRepository taskTagRepository;
+    private final UserRepository userRepository;
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    @Transactional
+    public Mono<TaskResponseDTO> createTask(TaskRequestDTO taskRequestDTO, Long userId) {
+        TaskStatus status = taskRequestDTO.getStatus() != null ? taskRequestDTO.getStatus() : TaskStatus.TODO;
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> tags = normalizeTags(taskRequestDTO.getTags());
+        Task task = Task.builder()
+                .title(taskRequestDTO.getTitle())
+                .description(taskRequestDTO.getDescription())
+                .status(status)
+                .dueDate(taskRequestDTO.getDueDate())
+                .createdAt(now)
+                .completedAt(status == TaskStatus.DONE ? now : null)
+                .userId(userId)
+                .build();
+
+        return userRepository.existsById(userId)
+                .flatMap(exists -> exists ? taskRepository.save(task)
+                        : Mono.error(new ResourceNotFoundException("User not found with id: " + userId)))
+                .flatMap(saved -> {
+                    TaskResponseDTO created = mapToResponseDTO(saved, tags, TaskField.ALL);
+                    return taskTagRepository.replaceTags(saved.getId(), tags)
+                            .then(userRepository.incrementTasksVersion(userId))
+                            .then(taskOutboxRepository.append(userId, saved.getId(), EventType.CREATED, created))
+                            .thenReturn(created);
+                })
+                .doOnNext(created -> log.info("Task created: '{}' for userId: {}", created.getTitle(), userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<PageResponseDTO<TaskResponseDTO>> getAllTasksByUserId(Long userId, TaskStatus status,
+            Pageable pageable, int fields, boolean includeTotal) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (status != null) {
+            criteria = criteria.and("status").is(status.name());
+        }
+        // Ties are broken by id so that pages are stable (same order as the backend)
+        Sort sort = pageable.getSort().getOrderFor("id") != null ? pageable.getSort()
+                : pageable.getSort().and(Sort.by("id"));
+
+        // One extra row tells whether there is a next page without counting
+        Mono<List<Task>> rows = template.select(Task.class)
+                .matching(Query.query(criteria).sort(sort)
+                        .offset(pageable.getOffset())
+                        .limit(pageable.getPageSize() + 1))
+                .all()
+                .collectList();
+        Mono<Long> total = includeTotal ? template.count(Query.query(criteria), Task.class) : Mono.just(-1L);
+
+        return Mono.zip(rows, total).flatMap(result -> {
+            List<Task> tasks = result.getT1();
+            boolean hasNext = tasks.size() > pageable.getPageSize();
+            List<Task> content = hasNext ? tasks.subList(0, pageable.getPageSize()) : tasks;
+            Long totalElements = includeTotal ? result.getT2() : null;
+            return loadTags(content, fields).map(tags -> new PageResponseDTO<>(
+                    content.stream()
+                            .map(task -> mapToResponseDTO(task, tags.getOrDefault(task.getId(), Set.of()), fields))
+                            .toList(),
+                    pageable.getPageNumber(), pageable.getPageSize(), hasNext, totalElements));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<TaskResponseDTO> getTaskById(Long id, Long authenticatedUserId, int fields) {
+        return findOwnedTask(id, authenticatedUserId, "Task not found with id: " + id)
+                .flatMap(task -> (TaskField.TAGS.isIn(fields)
+                        ? taskTagRepository.findTagsByTaskId(id) : Mono.just(Set.<String>of()))
+                        .map(tags -> mapToResponseDTO(task, tags, fields)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<TaskResponseDTO> updateTask(Long id, TaskRequestDTO taskRequestDTO, Long authenticatedUserId) {
+        return findOwnedTask(id, authenticatedUserId, "Task not found with id: " + id)
+                .flatMap(task -> {
+                    task.setTitle(taskRequestDTO.getTitle());
+                    task.setDescription(taskRequestDTO.getDescription());
+                    if (taskRequestDTO.getStatus() != null) {
+                        transitionStatus(task, taskRequestDTO.getStatus());
+                    }
+                    task.setDueDate(taskRequestDTO.getDueDate());
+                    return taskRepository.save(task)
+                            .flatMap(saved -> userRepository.incrementTasksVersion(authenticatedUserId).thenReturn(saved));
+                })
+                .flatMap(saved -> {
+                    if (taskRequestDTO.getTags() == null) {
+                        return taskTagRepository.findTagsByTaskId(id)
+                                .map(tags -> mapToResponseDTO(saved, tags, TaskField.ALL));
+                    }
+                    Set<String> tags = normalizeTags(taskRequestDTO.getTags());
+                    return taskTagRepository.replaceTags(id, tags)
+                            .thenReturn(mapToResponseDTO(saved, tags, TaskField.ALL));
+                })
+                // After the version bump above, which orders the user's outbox events
+                .flatMap(updated -> taskOutboxRepository.append(authenticatedUserId, id, EventType.UPDATED, updated)
+                        .thenReturn(updated))
+                .doOnNext(updated -> log.info("Task updated: id={} by userId: {}", id, authenticatedUserId));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteTask(Long taskId, Long authenticatedUserId) {
+        // task_tags rows go with the task (ON DELETE CASCADE)
+        return findOwnedTask(taskId, authenticatedUserId, "Cannot delete. Task not found with id: " + taskId)
+                .flatMap(taskRepository::delete)
+                .then(userRepository.incrementTasksVersion(authenticatedUserId))
+                .then(taskOutboxRepository.append(authenticatedUserId, taskId, EventType.DELETED, null))
+                .doOnSuccess(ignored -> log.info("Task deleted: id={} by userId: {}", taskId, authenticatedUserId));
+    }
+
+    private Mono<Task> findOwnedTask(Long id, Long authenticatedUserId, String notFoundMessage) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException(notFoundMessage)))
+                .flatMap(task -> task.getUserId().equals(authenticatedUserId) ? Mono.just(task)
+                        : Mono.error(new AuthenticationException("You do not have permission to access this task")));
+    }
+
+    private Mono<Map<Long, Set<String>>> loadTags(List<Task> tasks, int fields) {
+        if (!TaskField.TAGS.isIn(fields)) {
+            return Mono.just(Map.of());
+        }
+        return taskTagRepository.findTagsByTaskIds(tasks.stream().map(Task::getId).toList());
+    }
+
+    private void transitionStatus(Task task, TaskStatus status) {
+        TaskStatus from = task.getStatus();
+        task.setStatus(status);
+        if (status == TaskStatus.DONE && from != TaskStatus.DONE) {
+            task.setCompletedAt(LocalDateTime.now());
+        } else if (status != TaskStatus.DONE && from == TaskStatus.DONE) {
+            task.setCompletedAt(null);
+        }
+    }
+
+    private Set<String> normalizeTags(Set<String> tags) {
+        Set<String> normalized = new HashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                normalized.add(tag.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return normalized;
+    }
+
+    private TaskResponseDTO mapToResponseDTO(Task task, Set<String> tags, int fields) {
+        return TaskResponseDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .dueDate(task.getDueDate())
+                .tags(new TreeSet<>(tags))
+                .fields(fields)
+                .build();
+    }
+}
@@ -0,0 +1,226 @@
+package com.miraisense.task_tracker_reactive;
+
+import com.miraisense.task_tracker_backend.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class TaskControllerTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private Long userId;
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		databaseClient.sql("DELETE FROM users").then().block();
+		userId = createUser("alice@example.com");
+		createUser("bob@example.com");
+		token = jwtService.generateToken("alice@example.com");
+	}
+
+	@Test
+	void createdTaskCanBeReadUpdatedAndDeleted() {
+		Long id = createTask(Map.of("title", "Write report", "tags", new String[] {"Work"}));
+
+		webTestClient.get().uri("/api/v1/tasks/{taskId}?fields=title", id)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.data.title").isEqualTo("Write report")
+				.jsonPath("$.data.tags").doesNotExist();
+
+		webTestClient.put().uri("/api/v1/tasks/{taskId}", id)
+				.headers(headers -> headers.setBearerAuth(token))
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(Map.of("title", "Write report", "status", "DONE"))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.data.status").isEqualTo("DONE")
+				.jsonPath("$.data.tags[0]").isEqualTo("work");
+
+		webTestClient.delete().uri("/api/v1/tasks/{taskId}", id)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isOk();
+
+		webTestClient.get().uri("/api/v1/tasks/{taskId}", id)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void writesAreRecordedInTheOutbox() {
+		Long id = createTask("Outboxed");
+		webTestClient.put().uri("/api/v1/tasks/{taskId}", id)
+				.headers(headers -> headers.setBearerAuth(token))
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(Map.of("title", "Outboxed", "status", "DONE"))
+				.exchange()
+				.expectStatus().isOk();
+		webTestClient.delete().uri("/api/v1/tasks/{taskId}", id)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isOk();
+
+		List<Map<String, Object>> events = databaseClient.sql(
+						"SELECT partition_no, task_id, event_type, payload FROM task_outbox WHERE user_id = :userId ORDER BY id")
+				.bind("userId", userId)
+				.fetch()
+				.all()
+				.collectList()
+				.block();
+		assertEquals(List.of("CREATED", "UPDATED", "DELETED"),
+				events.stream().map(event -> event.get("event_type")).toList());
+		// Same partition as the backend's TaskOutbox.partitionOf, with the default 16 partitions
+		events.forEach(event -> {
+			assertEquals(Math.floorMod(Long.hashCode(userId), 16), ((Number) event.get("partition_no")).intValue());
+			assertEquals(id, ((Number) event.get("task_id")).longValue());
+		});
+		assertTrue(((String) events.get(1).get("payload")).contains("\"status\":\"DONE\""));
+		assertNull(events.get(2).get("payload"));
+	}
+
+	@Test
+	void listIsPagedWithOptionalTotal() {
+		for (int i = 0; i < 3; i++) {
+			createTask("Task " + i);
+		}
+
+		webTestClient.get().uri("/api/v1/tasks/user/{userId}?size=2&sortBy=title&direction=asc", userId)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.data.content.length()").isEqualTo(2)
+				.jsonPath("$.data.content[0].title").isEqualTo("Task 0")
+				.jsonPath("$.data.hasNext").isEqualTo(true)
+				.jsonPath("$.data.totalElements").isEqualTo(3);
+
+		webTestClient.get().uri("/api/v1/tasks/user/{userId}?page=1&size=2&sortBy=title&direction=asc&includeTotal=false",
+						userId)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.data.content.length()").isEqualTo(1)
+				.jsonPath("$.data.hasNext").isEqualTo(false)
+				.jsonPath("$.data.totalElements").doesNotExist();
+	}
+
+	@Test
+	void requestsWithoutValidTokenAreRejected() {
+		webTestClient.get().uri("/api/v1/tasks/user/{userId}", userId)
+				.exchange()
+				.expectStatus().isUnauthorized();
+
+		webTestClient.get().uri("/api/v1/tasks/user/{userId}", userId)
+				.headers(headers -> headers.setBearerAuth("not-a-jwt"))
+				.exchange()
+				.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void tokensRevokedByLogoutAreRejected() {
+		// As the backend's logout records it: tokens issued before the next second are revoked
+		databaseClient.sql("UPDATE users SET token_not_before = :epoch WHERE id = :userId")
+				.bind("epoch", Instant.now().getEpochSecond() + 1)
+				.bind("userId", userId)
+				.then()
+				.block();
+
+		webTestClient.get().uri("/api/v1/tasks/user/{userId}", userId)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void otherUsersTasksAreForbidden() {
+		Long taskId = createTask("Private");
+		String bobToken = jwtService.generateToken("bob@example.com");
+
+		webTestClient.get().uri("/api/v1/tasks/user/{userId}", userId)
+				.headers(headers -> headers.setBearerAuth(bobToken))
+				.exchange()
+				.expectStatus().isForbidden();
+
+		webTestClient.get().uri("/api/v1/tasks/{taskId}", taskId)
+				.headers(headers -> headers.setBearerAuth(bobToken))
+				.exchange()
+				.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void invalidRequestsAreRejected() {
+		webTestClient.post().uri("/api/v1/tasks/{userId}", userId)
+				.headers(headers -> headers.setBearerAuth(token))
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(Map.of("title", ""))
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("Validation failed")
+				.jsonPath("$.data.title").isEqualTo("Title is required");
+
+		webTestClient.get().uri("/api/v1/tasks/user/{userId}?sortBy=password", userId)
+				.headers(headers -> headers.setBearerAuth(token))
+				.exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	private Long createUser(String email) {
+		return databaseClient.sql("INSERT INTO users (email, password) VALUES (:email, 'x')")
+				.bind("email", email)
+				.filter(statement -> statement.returnGeneratedValues("id"))
+				.map(row -> row.get("id", Long.class))
+				.one()
+				.block();
+	}
+
+	private Long createTask(String title) {
+		return createTask(Map.of("title", title));
+	}
+
+	private Long createTask(Map<String, Object> request) {
+		Map<?, ?> body = webTestClient.post().uri("/api/v1/tasks/{userId}", userId)
+				.headers(headers -> headers.setBearerAuth(token))
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(request)
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(Map.class)
+				.returnResult()
+				.getResponseBody();
+		Map<?, ?> data = (Map<?, ?>) body.get("data");
+		return ((Number) data.get("id")).longValue();
+	}
+}
@@ -0,0 +1,3 @@
+-- Test-only: r2dbc-h2 cannot bind a string parameter to an H2 ENUM column (MySQL can),
+-- so the H2 schema stores the status as plain text
+ALTER TABLE tasks ALTER COLUMN status VARCHAR(20) DEFAULT 'TODO';